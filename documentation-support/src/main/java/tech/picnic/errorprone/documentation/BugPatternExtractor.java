@@ -38,6 +38,11 @@ public final class BugPatternExtractor implements Extractor<BugPatternDocumentat
     return "bugpattern";
   }
 
+  @Override
+  public int version() {
+    return 1;
+  }
+
   @Override
   public Optional<BugPatternDocumentation> tryExtract(ClassTree tree, VisitorState state) {
     ClassSymbol symbol = ASTHelpers.getSymbol(tree);
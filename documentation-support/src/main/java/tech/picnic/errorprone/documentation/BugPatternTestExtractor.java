@@ -49,6 +49,11 @@ public final class BugPatternTestExtractor implements Extractor<TestCases> {
     return "bugpattern-test";
   }
 
+  @Override
+  public int version() {
+    return 1;
+  }
+
   @Override
   public Optional<TestCases> tryExtract(ClassTree tree, VisitorState state) {
     BugPatternTestCollector collector = new BugPatternTestCollector();
@@ -1,14 +1,20 @@
 package tech.picnic.errorprone.documentation;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.function.Predicate.not;
 
 import com.google.auto.service.AutoService;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.sun.source.util.JavacTask;
 import com.sun.source.util.Plugin;
 import com.sun.tools.javac.api.BasicJavacTask;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,8 +26,16 @@ import java.util.regex.Pattern;
 @AutoService(Plugin.class)
 public final class DocumentationGenerator implements Plugin {
   @VisibleForTesting static final String OUTPUT_DIRECTORY_FLAG = "-XoutputDirectory";
+  @VisibleForTesting static final String OUTPUT_FORMAT_FLAG = "-XoutputFormat";
+  @VisibleForTesting static final String INCREMENTAL_FLAG = "-Xincremental";
+  private static final String USAGE =
+      "Precisely one path must be provided, optionally followed by an output format and the '"
+          + INCREMENTAL_FLAG
+          + "' flag";
   private static final Pattern OUTPUT_DIRECTORY_FLAG_PATTERN =
       Pattern.compile(Pattern.quote(OUTPUT_DIRECTORY_FLAG) + "=(.*)");
+  private static final Pattern OUTPUT_FORMAT_FLAG_PATTERN =
+      Pattern.compile(Pattern.quote(OUTPUT_FORMAT_FLAG) + "=(.*)");
 
   /** Instantiates a new {@link DocumentationGenerator} instance. */
   public DocumentationGenerator() {}
@@ -33,24 +47,61 @@ public final class DocumentationGenerator implements Plugin {
 
   @Override
   public void init(JavacTask javacTask, String... args) {
-    checkArgument(args.length == 1, "Precisely one path must be provided");
+    checkArgument(args.length > 0, USAGE);
+
+    List<String> options = Arrays.asList(args).subList(1, args.length);
+    boolean incremental = options.contains(INCREMENTAL_FLAG);
+    ImmutableList<String> outputFormats =
+        options.stream().filter(not(INCREMENTAL_FLAG::equals)).collect(toImmutableList());
+    checkArgument(
+        outputFormats.size() <= 1 && outputFormats.size() + (incremental ? 1 : 0) == options.size(),
+        USAGE);
 
     javacTask.addTaskListener(
         new DocumentationGeneratorTaskListener(
-            ((BasicJavacTask) javacTask).getContext(), getOutputPath(args[0])));
+            ((BasicJavacTask) javacTask).getContext(),
+            getOutputPath(args[0]),
+            outputFormats.isEmpty() ? OutputFormat.JSON : getOutputFormat(outputFormats.get(0)),
+            incremental));
   }
 
   @VisibleForTesting
   static Path getOutputPath(String pathArg) {
-    Matcher matcher = OUTPUT_DIRECTORY_FLAG_PATTERN.matcher(pathArg);
-    checkArgument(
-        matcher.matches(), "'%s' must be of the form '%s=<value>'", pathArg, OUTPUT_DIRECTORY_FLAG);
-
-    String path = matcher.group(1);
+    String path = getFlagValue(pathArg, OUTPUT_DIRECTORY_FLAG_PATTERN, OUTPUT_DIRECTORY_FLAG);
     try {
       return Path.of(path);
     } catch (InvalidPathException e) {
       throw new IllegalArgumentException(String.format("Invalid path '%s'", path), e);
     }
   }
+
+  @VisibleForTesting
+  static OutputFormat getOutputFormat(String formatArg) {
+    String format = getFlagValue(formatArg, OUTPUT_FORMAT_FLAG_PATTERN, OUTPUT_FORMAT_FLAG);
+    try {
+      return OutputFormat.valueOf(format.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(String.format("Invalid output format '%s'", format), e);
+    }
+  }
+
+  private static String getFlagValue(String arg, Pattern flagPattern, String flag) {
+    Matcher matcher = flagPattern.matcher(arg);
+    checkArgument(matcher.matches(), "'%s' must be of the form '%s=<value>'", arg, flag);
+    return matcher.group(1);
+  }
+
+  /** The supported ways in which extracted data can be written to disk. */
+  enum OutputFormat {
+    /** Writes a separate JSON file for each extractor and class from which data is extracted. */
+    JSON,
+    /**
+     * Writes the data extracted by each extractor to a single file of newline-delimited JSON
+     * records.
+     *
+     * <p>This format is more efficient for large code bases, as it avoids the creation of many
+     * small files.
+     */
+    NDJSON
+  }
 }
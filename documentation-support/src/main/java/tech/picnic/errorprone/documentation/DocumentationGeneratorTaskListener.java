@@ -1,5 +1,7 @@
 package tech.picnic.errorprone.documentation;
 
+import com.google.auto.value.AutoValue;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.VisitorState;
 import com.sun.source.tree.ClassTree;
@@ -15,8 +17,12 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.ServiceLoader;
 import javax.tools.JavaFileObject;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.documentation.DocumentationGenerator.OutputFormat;
 
 /**
  * A {@link TaskListener} that identifies and extracts relevant content for documentation generation
@@ -33,10 +39,17 @@ final class DocumentationGeneratorTaskListener implements TaskListener {
 
   private final Context context;
   private final Path docsPath;
+  private final OutputFormat outputFormat;
+  private final boolean incremental;
+  private @Nullable ExtractionFingerprints fingerprints;
+  private final Map<String, Json.LineWriter> lineWriters = new HashMap<>();
 
-  DocumentationGeneratorTaskListener(Context context, Path path) {
+  DocumentationGeneratorTaskListener(
+      Context context, Path path, OutputFormat outputFormat, boolean incremental) {
     this.context = context;
     this.docsPath = path;
+    this.outputFormat = outputFormat;
+    this.incremental = incremental;
   }
 
   @Override
@@ -48,6 +61,12 @@ final class DocumentationGeneratorTaskListener implements TaskListener {
 
   @Override
   public void finished(TaskEvent taskEvent) {
+    if (taskEvent.getKind() == Kind.COMPILATION) {
+      saveFingerprints();
+      closeLineWriters();
+      return;
+    }
+
     if (taskEvent.getKind() != Kind.ANALYZE) {
       return;
     }
@@ -63,13 +82,16 @@ final class DocumentationGeneratorTaskListener implements TaskListener {
         VisitorState.createForUtilityPurposes(context)
             .withPath(new TreePath(new TreePath(compilationUnit), classTree));
 
+    URI source = sourceFile.toUri();
+    String className = getSimpleClassName(source);
     for (Extractor<?> extractor : EXTRACTORS) {
+      if (incremental && isUpToDate(extractor, sourceFile, className)) {
+        continue;
+      }
+
       extractor
           .tryExtract(classTree, state)
-          .ifPresent(
-              data ->
-                  writeToFile(
-                      extractor.identifier(), getSimpleClassName(sourceFile.toUri()), data));
+          .ifPresent(data -> write(extractor.identifier(), className, data));
     }
   }
 
@@ -82,11 +104,105 @@ final class DocumentationGeneratorTaskListener implements TaskListener {
     }
   }
 
-  private <T> void writeToFile(String identifier, String className, T data) {
-    Json.write(docsPath.resolve(String.format("%s-%s.json", identifier, className)), data);
+  private ExtractionFingerprints getFingerprints() {
+    if (fingerprints == null) {
+      fingerprints = ExtractionFingerprints.load(docsPath);
+    }
+    return fingerprints;
+  }
+
+  private void saveFingerprints() {
+    if (fingerprints != null) {
+      fingerprints.save();
+      fingerprints = null;
+    }
+  }
+
+  /**
+   * Tells whether the data previously extracted by the given extractor from the given source file
+   * is still present and up-to-date, such that extraction may be skipped.
+   *
+   * <p>Output is not tracked per class, so for sources from which the extractor previously
+   * extracted nothing, extraction is repeated.
+   */
+  private boolean isUpToDate(Extractor<?> extractor, JavaFileObject sourceFile, String className) {
+    return getFingerprints()
+            .register(
+                extractor, outputFormat.name(), sourceFile.toUri(), () -> getContent(sourceFile))
+        && Files.exists(getOutputPath(extractor.identifier(), className));
+  }
+
+  private Path getOutputPath(String identifier, String className) {
+    return outputFormat == OutputFormat.NDJSON
+        ? docsPath.resolve(getNdjsonFileName(identifier))
+        : docsPath.resolve(String.format("%s-%s.json", identifier, className));
+  }
+
+  private static CharSequence getContent(JavaFileObject sourceFile) {
+    try {
+      return sourceFile.getCharContent(/* ignoreEncodingErrors= */ true);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          String.format("Error while reading source file '%s'", sourceFile.toUri()), e);
+    }
+  }
+
+  private <T> void write(String identifier, String className, T data) {
+    if (outputFormat == OutputFormat.NDJSON) {
+      getLineWriter(identifier)
+          .write(
+              new AutoValue_DocumentationGeneratorTaskListener_Extraction<>(
+                  identifier, className, data));
+    } else {
+      Json.write(getOutputPath(identifier, className), data);
+    }
+  }
+
+  /**
+   * Returns the {@link Json.LineWriter} to which the data extracted by the given extractor is
+   * written, opening the associated file once the extractor first produces data during the current
+   * compilation.
+   *
+   * <p>Each extractor writes to a separate file, such that multiple compilations that target the
+   * same output directory, such as those of a module's main and test sources, do not discard each
+   * other's output. In non-incremental mode the file is truncated when first opened, such that it
+   * describes only the classes compiled last. In incremental mode the file is appended to instead,
+   * as unchanged classes are not extracted again. The file may then contain multiple records for
+   * the same class; consumers must retain only the last record for any given {@link
+   * Extraction#className()}.
+   */
+  private Json.LineWriter getLineWriter(String identifier) {
+    return lineWriters.computeIfAbsent(
+        identifier,
+        id ->
+            Json.openLineWriter(
+                docsPath.resolve(getNdjsonFileName(id)), /* append= */ incremental));
+  }
+
+  private void closeLineWriters() {
+    lineWriters.values().forEach(Json.LineWriter::close);
+    lineWriters.clear();
+  }
+
+  @VisibleForTesting
+  static String getNdjsonFileName(String identifier) {
+    return identifier + ".ndjson";
   }
 
   private static String getSimpleClassName(URI path) {
     return Paths.get(path).getFileName().toString().replace(".java", "");
   }
+
+  /**
+   * A single newline-delimited JSON record, describing the data extracted by a given {@link
+   * Extractor} from a given class.
+   */
+  @AutoValue
+  abstract static class Extraction<T> {
+    abstract String identifier();
+
+    abstract String className();
+
+    abstract T data();
+  }
 }
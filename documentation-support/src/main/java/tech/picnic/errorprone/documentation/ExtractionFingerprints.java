@@ -0,0 +1,106 @@
+package tech.picnic.errorprone.documentation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.google.auto.value.AutoValue;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.hash.Hashing;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of the inputs from which data was previously extracted, such that extraction can be
+ * skipped if neither a source file nor the extractor that processes it has changed since.
+ *
+ * <p>Fingerprints are persisted to a file in the output directory, so that they are retained across
+ * compilations.
+ */
+// XXX: The extracted data may also depend on other source files, for example when an annotation
+// attribute references a constant defined elsewhere. Changes to such dependencies are not
+// detected.
+final class ExtractionFingerprints {
+  @VisibleForTesting static final String FILE_NAME = "fingerprints.json";
+
+  private final Path path;
+  private final ImmutableSortedMap<String, String> previous;
+  private final Map<String, String> current = new HashMap<>();
+  private final Map<URI, String> contentHashes = new HashMap<>();
+
+  private ExtractionFingerprints(Path path, ImmutableSortedMap<String, String> previous) {
+    this.path = path;
+    this.previous = previous;
+  }
+
+  /**
+   * Loads the fingerprints previously persisted to the given directory, if any.
+   *
+   * @param directory The directory in which extracted data is stored.
+   * @return A non-{@code null} {@link ExtractionFingerprints} instance.
+   */
+  static ExtractionFingerprints load(Path directory) {
+    Path path = directory.resolve(FILE_NAME);
+    return new ExtractionFingerprints(
+        path,
+        Files.exists(path)
+            ? Json.read(path, Fingerprints.class).fingerprints()
+            : ImmutableSortedMap.of());
+  }
+
+  /**
+   * Registers the fingerprint of the given input to the given extractor, and tells whether the same
+   * input was already processed by a previous compilation.
+   *
+   * <p>The result of this method is not affected by earlier invocations during the current
+   * compilation, such that a source file that declares multiple top-level classes is handled
+   * consistently. The content of any given source file is read and hashed at most once.
+   *
+   * @param extractor The extractor about to process the given source.
+   * @param variant An additional discriminator that affects the extractor's output, such as the
+   *     output format.
+   * @param source The URI of the source file to be processed.
+   * @param content A supplier of the content of the source file to be processed.
+   * @return {@code true} iff extraction may be skipped.
+   */
+  boolean register(
+      Extractor<?> extractor,
+      String variant,
+      URI source,
+      Supplier<? extends CharSequence> content) {
+    String key = String.join(":", extractor.identifier(), source.toString());
+    String contentHash =
+        contentHashes.computeIfAbsent(
+            source,
+            s -> Hashing.sha256().hashString(content.get(), StandardCharsets.UTF_8).toString());
+    String fingerprint =
+        String.join(":", String.valueOf(extractor.version()), variant, contentHash);
+    current.put(key, fingerprint);
+    return fingerprint.equals(previous.get(key));
+  }
+
+  /**
+   * Persists the fingerprints of all inputs processed so far, alongside those of any previously
+   * processed inputs not encountered during the current compilation.
+   */
+  void save() {
+    Map<String, String> fingerprints = new HashMap<>(previous);
+    fingerprints.putAll(current);
+    Json.write(
+        path,
+        new AutoValue_ExtractionFingerprints_Fingerprints(ImmutableSortedMap.copyOf(fingerprints)));
+  }
+
+  @AutoValue
+  abstract static class Fingerprints {
+    @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+    static Fingerprints create(ImmutableSortedMap<String, String> fingerprints) {
+      return new AutoValue_ExtractionFingerprints_Fingerprints(fingerprints);
+    }
+
+    abstract ImmutableSortedMap<String, String> fingerprints();
+  }
+}
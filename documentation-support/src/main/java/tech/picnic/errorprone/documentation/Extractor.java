@@ -20,6 +20,16 @@ interface Extractor<T> {
    */
   String identifier();
 
+  /**
+   * Returns the version of this extractor.
+   *
+   * <p>This version must be incremented whenever a change to this extractor may cause it to extract
+   * different data from the same input, as it invalidates previously extracted data.
+   *
+   * @return A non-negative integer.
+   */
+  int version();
+
   /**
    * Attempts to extract an instance of type {@link T} using the provided arguments.
    *
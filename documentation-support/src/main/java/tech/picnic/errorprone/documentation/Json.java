@@ -1,13 +1,22 @@
 package tech.picnic.errorprone.documentation;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
 import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import com.google.errorprone.annotations.FormatMethod;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -38,8 +47,54 @@ final class Json {
     }
   }
 
+  /**
+   * Opens the given file for the buffered writing of newline-delimited JSON values.
+   *
+   * @param path The file to write to; it is created if it does not yet exist.
+   * @param append Whether to retain the file's existing content, rather than to truncate it.
+   * @return A {@link LineWriter} that must be closed once all values have been written.
+   */
+  static LineWriter openLineWriter(Path path, boolean append) {
+    try {
+      return new LineWriter(
+          path,
+          Files.newBufferedWriter(path, UTF_8, CREATE, WRITE, append ? APPEND : TRUNCATE_EXISTING));
+    } catch (IOException e) {
+      throw failure(e, "Failure opening '%s'", path);
+    }
+  }
+
   @FormatMethod
   private static UncheckedIOException failure(IOException cause, String format, Object... args) {
     return new UncheckedIOException(String.format(format, args), cause);
   }
+
+  /** A writer that writes JSON values to a file, one value per line. */
+  static final class LineWriter implements Closeable {
+    private final Path path;
+    private final Writer writer;
+
+    private LineWriter(Path path, Writer writer) {
+      this.path = path;
+      this.writer = writer;
+    }
+
+    <T> void write(T object) {
+      try {
+        writer.write(OBJECT_MAPPER.writeValueAsString(object));
+        writer.write('\n');
+      } catch (IOException e) {
+        throw failure(e, "Failure writing to '%s'", path);
+      }
+    }
+
+    @Override
+    public void close() {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        throw failure(e, "Failure closing '%s'", path);
+      }
+    }
+  }
 }
@@ -75,15 +75,55 @@ final class DocumentationGeneratorTaskListenerTest {
     assertThat(outputDirectory).isEmptyDirectory();
   }
 
+  @Test
+  void incrementalExtraction(@TempDir Path outputDirectory) throws IOException {
+    String actualOutputDirectory = outputDirectory.toAbsolutePath() + " -Xincremental";
+    Path outputFile =
+        outputDirectory.resolve(
+            "documentation-generator-task-listener-test-DocumentationGeneratorTaskListenerTestClass.json");
+
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClass.java",
+        "class DocumentationGeneratorTaskListenerTestClass {}");
+    assertThat(outputDirectory)
+        .isDirectoryContaining("glob:**/" + ExtractionFingerprints.FILE_NAME);
+    Files.writeString(outputFile, "unchanged");
+
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClass.java",
+        "class DocumentationGeneratorTaskListenerTestClass {}");
+    assertThat(outputFile).content(UTF_8).isEqualTo("unchanged");
+
+    Files.delete(outputFile);
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClass.java",
+        "class DocumentationGeneratorTaskListenerTestClass {}");
+    assertThat(outputFile).content(UTF_8).isNotEqualTo("unchanged");
+    Files.writeString(outputFile, "unchanged");
+
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClass.java",
+        "class DocumentationGeneratorTaskListenerTestClass {",
+        "  void m() {}",
+        "}");
+    assertThat(outputFile).content(UTF_8).isNotEqualTo("unchanged");
+  }
+
   @Test
   void excessArguments(@TempDir Path outputDirectory) {
-    String actualOutputDirectory = outputDirectory.toAbsolutePath() + " extra-arg";
+    String actualOutputDirectory =
+        outputDirectory.toAbsolutePath() + " -XoutputFormat=json extra-arg";
     assertThatThrownBy(
             () ->
                 Compilation.compileWithDocumentationGenerator(
                     actualOutputDirectory, "A.java", "package pkg;"))
         .isInstanceOf(IllegalArgumentException.class)
-        .hasMessage("Precisely one path must be provided");
+        .hasMessage(
+            "Precisely one path must be provided, optionally followed by an output format and the '-Xincremental' flag");
   }
 
   @Test
@@ -102,6 +142,82 @@ final class DocumentationGeneratorTaskListenerTest {
             "{\"className\":\"DocumentationGeneratorTaskListenerTestClass\",\"path\":[\"CLASS: DocumentationGeneratorTaskListenerTestClass\",\"COMPILATION_UNIT\"]}");
   }
 
+  @Test
+  void extractionWithExplicitJsonOutputFormat(@TempDir Path outputDirectory) {
+    Compilation.compileWithDocumentationGenerator(
+        outputDirectory.toAbsolutePath() + " -XoutputFormat=json",
+        "DocumentationGeneratorTaskListenerTestClass.java",
+        "class DocumentationGeneratorTaskListenerTestClass {}");
+
+    assertThat(outputDirectory)
+        .isDirectoryContaining(
+            "glob:**/documentation-generator-task-listener-test-DocumentationGeneratorTaskListenerTestClass.json");
+  }
+
+  @Test
+  void extractionWithNdjsonOutputFormat(@TempDir Path outputDirectory) {
+    String actualOutputDirectory = outputDirectory.toAbsolutePath() + " -XoutputFormat=ndjson";
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClassA.java",
+        "class DocumentationGeneratorTaskListenerTestClassA {}");
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClassB.java",
+        "class DocumentationGeneratorTaskListenerTestClassB {}");
+
+    assertThat(outputDirectory).isDirectoryContaining("glob:**/*.ndjson");
+    assertThat(outputDirectory.resolve(getNdjsonFileName()))
+        .content(UTF_8)
+        .isEqualTo(
+            "{\"identifier\":\"documentation-generator-task-listener-test\",\"className\":\"DocumentationGeneratorTaskListenerTestClassB\",\"data\":{\"className\":\"DocumentationGeneratorTaskListenerTestClassB\",\"path\":[\"CLASS: DocumentationGeneratorTaskListenerTestClassB\",\"COMPILATION_UNIT\"]}}\n");
+  }
+
+  @Test
+  void extractionWithNdjsonOutputFormatRetainsDataOfOtherCompilations(
+      @TempDir Path outputDirectory) {
+    String actualOutputDirectory = outputDirectory.toAbsolutePath() + " -XoutputFormat=ndjson";
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClass.java",
+        "class DocumentationGeneratorTaskListenerTestClass {}");
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory, "UnrelatedClass.java", "class UnrelatedClass {}");
+
+    assertThat(outputDirectory.resolve(getNdjsonFileName()))
+        .content(UTF_8)
+        .isEqualTo(
+            "{\"identifier\":\"documentation-generator-task-listener-test\",\"className\":\"DocumentationGeneratorTaskListenerTestClass\",\"data\":{\"className\":\"DocumentationGeneratorTaskListenerTestClass\",\"path\":[\"CLASS: DocumentationGeneratorTaskListenerTestClass\",\"COMPILATION_UNIT\"]}}\n");
+  }
+
+  @Test
+  void incrementalExtractionWithNdjsonOutputFormat(@TempDir Path outputDirectory) {
+    String actualOutputDirectory =
+        outputDirectory.toAbsolutePath() + " -XoutputFormat=ndjson -Xincremental";
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClassA.java",
+        "class DocumentationGeneratorTaskListenerTestClassA {}");
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClassB.java",
+        "class DocumentationGeneratorTaskListenerTestClassB {}");
+    Compilation.compileWithDocumentationGenerator(
+        actualOutputDirectory,
+        "DocumentationGeneratorTaskListenerTestClassA.java",
+        "class DocumentationGeneratorTaskListenerTestClassA {}");
+
+    assertThat(outputDirectory.resolve(getNdjsonFileName()))
+        .content(UTF_8)
+        .isEqualTo(
+            "{\"identifier\":\"documentation-generator-task-listener-test\",\"className\":\"DocumentationGeneratorTaskListenerTestClassA\",\"data\":{\"className\":\"DocumentationGeneratorTaskListenerTestClassA\",\"path\":[\"CLASS: DocumentationGeneratorTaskListenerTestClassA\",\"COMPILATION_UNIT\"]}}\n"
+                + "{\"identifier\":\"documentation-generator-task-listener-test\",\"className\":\"DocumentationGeneratorTaskListenerTestClassB\",\"data\":{\"className\":\"DocumentationGeneratorTaskListenerTestClassB\",\"path\":[\"CLASS: DocumentationGeneratorTaskListenerTestClassB\",\"COMPILATION_UNIT\"]}}\n");
+  }
+
+  private static String getNdjsonFileName() {
+    return DocumentationGeneratorTaskListener.getNdjsonFileName(new TestExtractor().identifier());
+  }
+
   @Immutable
   @AutoService(Extractor.class)
   @SuppressWarnings("rawtypes" /* See https://github.com/google/auto/issues/870. */)
@@ -111,6 +227,11 @@ final class DocumentationGeneratorTaskListenerTest {
       return "documentation-generator-task-listener-test";
     }
 
+    @Override
+    public int version() {
+      return 1;
+    }
+
     @Override
     public Optional<ExtractionParameters> tryExtract(ClassTree tree, VisitorState state) {
       return Optional.of(tree.getSimpleName().toString())
@@ -0,0 +1,107 @@
+package tech.picnic.errorprone.documentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Immutable;
+import com.sun.source.tree.ClassTree;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class ExtractionFingerprintsTest {
+  private static final URI SOURCE_A = URI.create("file:///A.java");
+  private static final URI SOURCE_B = URI.create("file:///B.java");
+
+  @Test
+  void register(@TempDir Path directory) {
+    ExtractionFingerprints fingerprints = ExtractionFingerprints.load(directory);
+
+    assertThat(fingerprints.register(new TestExtractor(1), "JSON", SOURCE_A, () -> "class A {}"))
+        .isFalse();
+    assertThat(fingerprints.register(new TestExtractor(1), "JSON", SOURCE_A, () -> "class A {}"))
+        .isFalse();
+    assertThat(directory).isEmptyDirectory();
+  }
+
+  @Test
+  void saveAndLoad(@TempDir Path directory) {
+    ExtractionFingerprints fingerprints = ExtractionFingerprints.load(directory);
+    assertThat(fingerprints.register(new TestExtractor(1), "JSON", SOURCE_A, () -> "class A {}"))
+        .isFalse();
+    assertThat(fingerprints.register(new TestExtractor(1), "JSON", SOURCE_B, () -> "class B {}"))
+        .isFalse();
+    fingerprints.save();
+
+    ExtractionFingerprints reloaded = ExtractionFingerprints.load(directory);
+    assertThat(reloaded.register(new TestExtractor(1), "JSON", SOURCE_A, () -> "class A {}"))
+        .isTrue();
+    assertThat(reloaded.register(new TestExtractor(1), "JSON", SOURCE_B, () -> "class B { }"))
+        .isFalse();
+    assertThat(reloaded.register(new TestExtractor(2), "JSON", SOURCE_A, () -> "class A {}"))
+        .isFalse();
+    assertThat(reloaded.register(new TestExtractor(1), "NDJSON", SOURCE_A, () -> "class A {}"))
+        .isFalse();
+  }
+
+  @Test
+  void saveRetainsUnregisteredSources(@TempDir Path directory) {
+    ExtractionFingerprints fingerprints = ExtractionFingerprints.load(directory);
+    assertThat(fingerprints.register(new TestExtractor(1), "JSON", SOURCE_A, () -> "class A {}"))
+        .isFalse();
+    fingerprints.save();
+
+    ExtractionFingerprints other = ExtractionFingerprints.load(directory);
+    assertThat(other.register(new TestExtractor(1), "JSON", SOURCE_B, () -> "class B {}"))
+        .isFalse();
+    other.save();
+
+    assertThat(
+            ExtractionFingerprints.load(directory)
+                .register(new TestExtractor(1), "JSON", SOURCE_A, () -> "class A {}"))
+        .isTrue();
+  }
+
+  @Test
+  void registerHashesEachSourceOnce(@TempDir Path directory) {
+    ExtractionFingerprints fingerprints = ExtractionFingerprints.load(directory);
+    AtomicInteger reads = new AtomicInteger();
+    Supplier<String> content =
+        () -> {
+          reads.incrementAndGet();
+          return "class A {}";
+        };
+
+    assertThat(fingerprints.register(new TestExtractor(1), "JSON", SOURCE_A, content)).isFalse();
+    assertThat(fingerprints.register(new TestExtractor(2), "JSON", SOURCE_A, content)).isFalse();
+    assertThat(reads).hasValue(1);
+  }
+
+  @Immutable
+  private static final class TestExtractor implements Extractor<String> {
+    private final int version;
+
+    TestExtractor(int version) {
+      this.version = version;
+    }
+
+    @Override
+    public String identifier() {
+      return "extraction-fingerprints-test";
+    }
+
+    @Override
+    public int version() {
+      return version;
+    }
+
+    @Override
+    public Optional<String> tryExtract(ClassTree tree, VisitorState state) {
+      return Optional.empty();
+    }
+  }
+}
@@ -35,6 +35,41 @@ final class JsonTest {
         .hasCauseInstanceOf(FileNotFoundException.class);
   }
 
+  @Test
+  void lineWriter(@TempDir Path directory) throws IOException {
+    Path file = directory.resolve("test.ndjson");
+    Files.writeString(file, TEST_JSON + '\n', UTF_8);
+
+    try (Json.LineWriter writer = Json.openLineWriter(file, /* append= */ true)) {
+      writer.write(TEST_OBJECT);
+      writer.write(TEST_OBJECT);
+    }
+
+    assertThat(file)
+        .content(UTF_8)
+        .isEqualTo(TEST_JSON + '\n' + TEST_JSON + '\n' + TEST_JSON + '\n');
+  }
+
+  @Test
+  void lineWriterTruncation(@TempDir Path directory) throws IOException {
+    Path file = directory.resolve("test.ndjson");
+    Files.writeString(file, TEST_JSON + TEST_JSON + TEST_JSON + '\n', UTF_8);
+
+    try (Json.LineWriter writer = Json.openLineWriter(file, /* append= */ false)) {
+      writer.write(TEST_OBJECT);
+    }
+
+    assertThat(file).content(UTF_8).isEqualTo(TEST_JSON + '\n');
+  }
+
+  @Test
+  void lineWriterFailure(@TempDir Path directory) {
+    assertThatThrownBy(() -> Json.openLineWriter(directory, /* append= */ true))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessageContaining("Failure opening '%s'", directory)
+        .hasCauseInstanceOf(IOException.class);
+  }
+
   @Test
   void read(@TempDir Path directory) throws IOException {
     Path file = directory.resolve("test.json");
@@ -0,0 +1,205 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static java.util.stream.Collectors.joining;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompoundAssignmentTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewArrayTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Type;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.ConflictDetection;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+
+/**
+ * A {@link BugChecker} that flags {@link Object#hashCode()} implementations that compute a hash
+ * code using {@link Objects#hash(Object...)} or {@link java.util.Arrays#hashCode(Object[])}.
+ *
+ * <p>Each invocation of these methods allocates an array and boxes any primitive values passed to
+ * it. The suggested fix instead combines the hash codes of the individual values using the exact
+ * same algorithm, such that the computed hash code does not change.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid array allocation and boxing in `hashCode()` implementations by combining the hash "
+            + "codes of individual values explicitly",
+    link = BUG_PATTERNS_BASE_URL + "AllocationFreeHashCode",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class AllocationFreeHashCode extends BugChecker
+    implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Matcher<ExpressionTree> OBJECTS_HASH =
+      staticMethod().onClass(Objects.class.getCanonicalName()).named("hash");
+  private static final Matcher<ExpressionTree> ARRAYS_HASH_CODE =
+      staticMethod().onClass("java.util.Arrays").named("hashCode");
+
+  /** Instantiates a new {@link AllocationFreeHashCode} instance. */
+  public AllocationFreeHashCode() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (!isInHashCodeMethod(state)) {
+      return Description.NO_MATCH;
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    return getHashCodeExpressions(tree, fix, state)
+        .filter(hashCodes -> !hashCodes.isEmpty())
+        .map(
+            hashCodes ->
+                escalateInHotPath(buildDescription(tree), this, WARNING, state)
+                    .addFix(combineHashCodes(tree, hashCodes, fix, state))
+                    .build())
+        .orElse(Description.NO_MATCH);
+  }
+
+  private static boolean isInHashCodeMethod(VisitorState state) {
+    Tree enclosing =
+        state.findEnclosing(LambdaExpressionTree.class, MethodTree.class, ClassTree.class);
+    return enclosing instanceof MethodTree
+        && ((MethodTree) enclosing).getName().contentEquals("hashCode")
+        && ((MethodTree) enclosing).getParameters().isEmpty();
+  }
+
+  /**
+   * Returns expressions that compute the hash codes of the values whose hash codes are combined by
+   * the given expression, if applicable.
+   */
+  private static Optional<ImmutableList<String>> getHashCodeExpressions(
+      MethodInvocationTree tree, SuggestedFix.Builder fix, VisitorState state) {
+    List<? extends ExpressionTree> arguments = tree.getArguments();
+    if (OBJECTS_HASH.matches(tree, state)) {
+      if (arguments.size() == 1 && isReferenceArray(ASTHelpers.getType(arguments.get(0)), state)) {
+        /* A single array argument is passed as-is, rather than being wrapped in a new array. */
+        return Optional.empty();
+      }
+
+      return Optional.of(
+          arguments.stream()
+              .map(value -> hashCode(value, ASTHelpers.getType(value), fix, state))
+              .collect(toImmutableList()));
+    }
+
+    if (ARRAYS_HASH_CODE.matches(tree, state)) {
+      ExpressionTree argument = ASTHelpers.stripParentheses(arguments.get(0));
+      Type arrayType = ASTHelpers.getType(argument);
+      if (argument instanceof NewArrayTree
+          && ((NewArrayTree) argument).getInitializers() != null
+          && arrayType != null) {
+        /*
+         * The elements of primitive arrays are hashed according to the array's component type,
+         * while the elements of other arrays are boxed according to their own type, if necessary.
+         */
+        Type componentType = state.getTypes().elemtype(arrayType);
+        return Optional.of(
+            ((NewArrayTree) argument)
+                .getInitializers().stream()
+                    .map(
+                        value ->
+                            hashCode(
+                                value,
+                                componentType.isPrimitive()
+                                    ? componentType
+                                    : ASTHelpers.getType(value),
+                                fix,
+                                state))
+                    .collect(toImmutableList()));
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * Suggests to combine the given hash codes in the same manner as {@link
+   * java.util.Arrays#hashCode(Object[])}. If the given expression is returned by a statement that
+   * is directly part of a block, then the hash code is computed using a local variable; otherwise a
+   * single expression is produced.
+   */
+  private static SuggestedFix combineHashCodes(
+      MethodInvocationTree tree,
+      ImmutableList<String> hashCodes,
+      SuggestedFix.Builder fix,
+      VisitorState state) {
+    TreePath parentPath = state.getPath().getParentPath();
+    Tree parent = parentPath.getLeaf();
+    if (parent instanceof ReturnTree && parentPath.getParentPath().getLeaf() instanceof BlockTree) {
+      String hash = ConflictDetection.findUnusedVariableName("hash", state);
+      return fix.replace(
+              parent,
+              hashCodes.stream()
+                  .map(hashCode -> String.format("%s = 31 * %s + %s;", hash, hash, hashCode))
+                  .collect(
+                      joining(
+                          "\n", String.format("int %s = 1;\n", hash), "\nreturn " + hash + ';')))
+          .build();
+    }
+
+    @Var String expression = "31 + " + hashCodes.get(0);
+    for (String hashCode : hashCodes.subList(1, hashCodes.size())) {
+      expression = String.format("31 * (%s) + %s", expression, hashCode);
+    }
+    return fix.replace(tree, requiresParentheses(parent) ? '(' + expression + ')' : expression)
+        .build();
+  }
+
+  private static boolean requiresParentheses(Tree parent) {
+    return parent instanceof ExpressionTree
+        && !(parent instanceof AssignmentTree
+            || parent instanceof CompoundAssignmentTree
+            || parent instanceof MethodInvocationTree
+            || parent instanceof ParenthesizedTree);
+  }
+
+  private static String hashCode(
+      ExpressionTree value, @Nullable Type type, SuggestedFix.Builder fix, VisitorState state) {
+    String source = SourceCode.treeToString(value, state);
+    if (type != null && type.isPrimitive()) {
+      return String.format(
+          "%s.hashCode(%s)", state.getTypes().boxedClass(type).getSimpleName(), source);
+    }
+
+    return String.format(
+        "%s.hashCode(%s)",
+        SuggestedFixes.qualifyType(state, fix, Objects.class.getCanonicalName()), source);
+  }
+
+  private static boolean isReferenceArray(@Nullable Type type, VisitorState state) {
+    return type instanceof Type.ArrayType && !state.getTypes().elemtype(type).isPrimitive();
+  }
+}
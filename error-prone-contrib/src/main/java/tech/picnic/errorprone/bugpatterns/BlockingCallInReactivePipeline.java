@@ -0,0 +1,191 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.CONCURRENCY;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MemberReferenceTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.LambdaExpressionTree.BodyKind;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import javax.inject.Inject;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.BlockingMethods;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+
+/**
+ * A {@link BugChecker} that flags blocking method invocations inside functions passed to {@link
+ * reactor.core.publisher.Flux} and {@link reactor.core.publisher.Mono} operators.
+ *
+ * <p>Such functions are generally executed on the thread that emits the associated element; in a
+ * non-blocking application this is commonly an event loop thread, which must not be blocked.
+ * Blocking work should instead be offloaded to a scheduler intended for this purpose, such as
+ * {@link reactor.core.scheduler.Schedulers#boundedElastic()}.
+ *
+ * <p>Additional blocking methods can be specified using the {@code
+ * BlockingCallInReactivePipeline:ExtraBlockingMethods} flag.
+ */
+// XXX: Also flag blocking calls inside functions passed to `subscribe`.
+// XXX: This check does not recognize operators that already run on a blocking-friendly scheduler
+// due to an upstream `publishOn` or `subscribeOn` operation.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid blocking calls inside Reactor operators; offload blocking work using "
+            + "`Mono.fromCallable(...).subscribeOn(Schedulers.boundedElastic())`",
+    link = BUG_PATTERNS_BASE_URL + "BlockingCallInReactivePipeline",
+    linkType = CUSTOM,
+    severity = WARNING,
+    tags = {CONCURRENCY, PERFORMANCE})
+@SuppressWarnings("java:S2160" /* Super class equality definition suffices. */)
+public final class BlockingCallInReactivePipeline extends BugChecker
+    implements MemberReferenceTreeMatcher, MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String EXTRA_BLOCKING_METHODS_FLAG =
+      "BlockingCallInReactivePipeline:ExtraBlockingMethods";
+  private static final Matcher<ExpressionTree> REACTOR_OPERATOR =
+      instanceMethod()
+          .onDescendantOfAny("reactor.core.publisher.Flux", "reactor.core.publisher.Mono")
+          .namedAnyOf(
+              "concatMap",
+              "doFinally",
+              "doOnComplete",
+              "doOnError",
+              "doOnNext",
+              "doOnSuccess",
+              "doOnTerminate",
+              "filter",
+              "flatMap",
+              "flatMapIterable",
+              "flatMapMany",
+              "flatMapSequential",
+              "handle",
+              "map",
+              "mapNotNull",
+              "switchMap");
+  private static final Matcher<ExpressionTree> MONO_MAP =
+      instanceMethod().onDescendantOf("reactor.core.publisher.Mono").named("map");
+  private static final Matcher<ExpressionTree> FLUX_MAP =
+      instanceMethod().onDescendantOf("reactor.core.publisher.Flux").named("map");
+
+  private final Matcher<ExpressionTree> blockingMethodMatcher;
+
+  /** Instantiates a default {@link BlockingCallInReactivePipeline} instance. */
+  public BlockingCallInReactivePipeline() {
+    this(ErrorProneFlags.empty());
+  }
+
+  /**
+   * Instantiates a customized {@link BlockingCallInReactivePipeline} instance.
+   *
+   * @param flags Any provided command line flags.
+   */
+  @Inject
+  BlockingCallInReactivePipeline(ErrorProneFlags flags) {
+    blockingMethodMatcher = BlockingMethods.createMatcher(flags, EXTRA_BLOCKING_METHODS_FLAG);
+  }
+
+  @Override
+  public Description matchMemberReference(MemberReferenceTree tree, VisitorState state) {
+    if (!blockingMethodMatcher.matches(tree, state)
+        || !isReactorOperatorArgument(state.getPath(), state)) {
+      return Description.NO_MATCH;
+    }
+
+    return describeMatch(tree);
+  }
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (!blockingMethodMatcher.matches(tree, state)) {
+      return Description.NO_MATCH;
+    }
+
+    TreePath lambda = findEnclosingLambda(state);
+    if (lambda == null || !isReactorOperatorArgument(lambda, state)) {
+      return Description.NO_MATCH;
+    }
+
+    LambdaExpressionTree lambdaExpression = (LambdaExpressionTree) lambda.getLeaf();
+    if (lambdaExpression.getBodyKind() != BodyKind.EXPRESSION
+        || !lambdaExpression.getBody().equals(tree)) {
+      return describeMatch(tree);
+    }
+
+    MethodInvocationTree operator = (MethodInvocationTree) lambda.getParentPath().getLeaf();
+    return describeMatch(tree, suggestOffloading(tree, operator, state));
+  }
+
+  /**
+   * Returns the path to the lambda expression that most closely encloses the current node, unless a
+   * method or class declaration is encountered first.
+   */
+  private static @Nullable TreePath findEnclosingLambda(VisitorState state) {
+    @Var TreePath path = state.getPath().getParentPath();
+    while (path != null
+        && !(path.getLeaf() instanceof ClassTree)
+        && !(path.getLeaf() instanceof MethodTree)) {
+      if (path.getLeaf() instanceof LambdaExpressionTree) {
+        return path;
+      }
+      path = path.getParentPath();
+    }
+
+    return null;
+  }
+
+  private static boolean isReactorOperatorArgument(TreePath path, VisitorState state) {
+    Tree parent = path.getParentPath().getLeaf();
+    return parent instanceof MethodInvocationTree
+        && ((MethodInvocationTree) parent).getArguments().contains(path.getLeaf())
+        && REACTOR_OPERATOR.matches((MethodInvocationTree) parent, state);
+  }
+
+  /**
+   * Suggests to replace a {@code map} operation that performs a single blocking call with an
+   * operation that performs said call on a dedicated scheduler.
+   *
+   * <p>Note that {@link reactor.core.publisher.Flux#map} operations are replaced with {@link
+   * reactor.core.publisher.Flux#concatMap}, such that element order and the absence of concurrency
+   * are retained.
+   */
+  private static SuggestedFix suggestOffloading(
+      MethodInvocationTree tree, MethodInvocationTree operator, VisitorState state) {
+    if (!MONO_MAP.matches(operator, state) && !FLUX_MAP.matches(operator, state)) {
+      return SuggestedFix.emptyFix();
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String mono = SuggestedFixes.qualifyType(state, fix, "reactor.core.publisher.Mono");
+    String schedulers = SuggestedFixes.qualifyType(state, fix, "reactor.core.scheduler.Schedulers");
+    return fix.replace(
+            tree,
+            String.format(
+                "%s.fromCallable(() -> %s).subscribeOn(%s.boundedElastic())",
+                mono, SourceCode.treeToString(tree, state), schedulers))
+        .merge(
+            SuggestedFixes.renameMethodInvocation(
+                operator, MONO_MAP.matches(operator, state) ? "flatMap" : "concatMap", state))
+        .build();
+  }
+}
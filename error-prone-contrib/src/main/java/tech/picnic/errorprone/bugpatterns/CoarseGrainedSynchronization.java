@@ -0,0 +1,455 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.suppliers.Suppliers;
+import com.google.errorprone.util.ASTHelpers;
+import com.google.errorprone.util.ASTHelpers.TargetType;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.SynchronizedTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import java.util.Optional;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+
+/**
+ * A {@link BugChecker} that flags coarse-grained synchronization that needlessly serializes
+ * threads.
+ *
+ * <p>This check flags:
+ *
+ * <ul>
+ *   <li>{@link StringBuffer}, {@link java.util.Hashtable}, {@link java.util.Vector} and {@code
+ *       Collections#synchronized*} instances that do not escape the method in which they are
+ *       created, for which synchronization is pointless;
+ *   <li>fields initialized with the aforementioned collection types, which serialize all concurrent
+ *       access, while a concurrent collection would not;
+ *   <li>{@code synchronized} methods that merely access a {@link java.util.Map} field, such as
+ *       cache lookups. If the map is concurrent, dropping the {@code synchronized} modifier is
+ *       suggested, unless other {@code synchronized} code in the same class accesses the map.
+ * </ul>
+ *
+ * <p>Whether an object escapes its declaring method is determined using {@link
+ * MoreASTHelpers#isNonEscapingLocalVariable(TreePath, VisitorState)}.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary = "Avoid coarse-grained synchronization, as it needlessly serializes threads",
+    link = BUG_PATTERNS_BASE_URL + "CoarseGrainedSynchronization",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class CoarseGrainedSynchronization extends BugChecker
+    implements MethodInvocationTreeMatcher, MethodTreeMatcher, NewClassTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String CONCURRENT_HASH_MAP = "java.util.concurrent.ConcurrentHashMap";
+  private static final String STRING_BUFFER = "java.lang.StringBuffer";
+  private static final String VECTOR = "java.util.Vector";
+  private static final Supplier<Type> CONCURRENT_MAP =
+      Suppliers.typeFromString("java.util.concurrent.ConcurrentMap");
+  private static final Supplier<Type> MAP = Suppliers.typeFromString("java.util.Map");
+  private static final ImmutableMap<String, String> UNSYNCHRONIZED_ALTERNATIVES =
+      ImmutableMap.of(
+          STRING_BUFFER,
+          "java.lang.StringBuilder",
+          "java.util.Hashtable",
+          "java.util.HashMap",
+          VECTOR,
+          "java.util.ArrayList");
+  private static final ImmutableMap<String, String> CONCURRENT_ALTERNATIVES =
+      ImmutableMap.<String, String>builder()
+          .put("Hashtable", "`ConcurrentHashMap`")
+          .put("Vector", "`CopyOnWriteArrayList` (for read-mostly usage)")
+          .put("synchronizedList", "`CopyOnWriteArrayList` (for read-mostly usage)")
+          .put("synchronizedMap", "`ConcurrentHashMap`")
+          .put("synchronizedNavigableMap", "`ConcurrentSkipListMap`")
+          .put("synchronizedNavigableSet", "`ConcurrentSkipListSet`")
+          .put("synchronizedSet", "`ConcurrentHashMap#newKeySet()`")
+          .put("synchronizedSortedMap", "`ConcurrentSkipListMap`")
+          .put("synchronizedSortedSet", "`ConcurrentSkipListSet`")
+          .buildOrThrow();
+  private static final ImmutableSet<String> CONCURRENT_MAP_TARGET_TYPES =
+      ImmutableSet.of("java.util.Map", "java.util.concurrent.ConcurrentMap");
+  private static final Matcher<ExpressionTree> SYNCHRONIZED_WRAPPER =
+      staticMethod()
+          .onClass("java.util.Collections")
+          .namedAnyOf(
+              "synchronizedCollection",
+              "synchronizedList",
+              "synchronizedMap",
+              "synchronizedNavigableMap",
+              "synchronizedNavigableSet",
+              "synchronizedSet",
+              "synchronizedSortedMap",
+              "synchronizedSortedSet");
+
+  /** Instantiates a new {@link CoarseGrainedSynchronization} instance. */
+  public CoarseGrainedSynchronization() {}
+
+  @Override
+  public Description matchNewClass(NewClassTree tree, VisitorState state) {
+    Type type = ASTHelpers.getType(tree);
+    if (type == null || tree.getClassBody() != null) {
+      return Description.NO_MATCH;
+    }
+
+    String typeName = type.tsym.getQualifiedName().toString();
+    String alternative = UNSYNCHRONIZED_ALTERNATIVES.get(typeName);
+    if (alternative == null) {
+      return Description.NO_MATCH;
+    }
+
+    String simpleName = type.tsym.getSimpleName().toString();
+    Optional<TreePath> variable = findInitializedVariable(tree, state);
+    if (variable.isPresent()
+        && MoreASTHelpers.isNonEscapingLocalVariable(variable.orElseThrow(), state)) {
+      Description.Builder description =
+          describeConfined(
+              tree,
+              simpleName,
+              '`' + alternative.substring(alternative.lastIndexOf('.') + 1) + '`',
+              state);
+      replaceConfinedConstruction(
+              tree, (VariableTree) variable.orElseThrow().getLeaf(), typeName, alternative, state)
+          .ifPresent(description::addFix);
+      return description.build();
+    }
+
+    Description.Builder description = describeShared(tree, simpleName, variable, state);
+    if (description == null) {
+      return Description.NO_MATCH;
+    }
+
+    if (typeName.equals("java.util.Hashtable")
+        && isConcurrentMapTarget(state)
+        && variable.filter(v -> isUsedAsLock(v, state)).isEmpty()) {
+      SuggestedFix.Builder fix = SuggestedFix.builder();
+      replaceBaseType(tree.getIdentifier(), CONCURRENT_HASH_MAP, fix, state);
+      description.addFix(fix.build());
+    }
+
+    return description.build();
+  }
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (!SYNCHRONIZED_WRAPPER.matches(tree, state)
+        || !(ASTHelpers.stripParentheses(tree.getArguments().get(0)) instanceof NewClassTree)) {
+      /*
+       * Unless the wrapped collection is created in-place, other code may access it directly,
+       * relying on the wrapper's synchronization.
+       */
+      return Description.NO_MATCH;
+    }
+
+    String methodName = ASTHelpers.getSymbol(tree).getSimpleName().toString();
+    Optional<TreePath> variable = findInitializedVariable(tree, state);
+    if (variable.isPresent()
+        && MoreASTHelpers.isNonEscapingLocalVariable(variable.orElseThrow(), state)) {
+      return describeConfined(tree, "Collections#" + methodName, "the wrapped collection", state)
+          .addFix(
+              SuggestedFix.replace(
+                  tree, SourceCode.treeToString(tree.getArguments().get(0), state)))
+          .build();
+    }
+
+    Description.Builder description =
+        describeShared(tree, "Collections#" + methodName, variable, state);
+    return description == null ? Description.NO_MATCH : description.build();
+  }
+
+  @Override
+  public Description matchMethod(MethodTree tree, VisitorState state) {
+    BlockTree body = tree.getBody();
+    if (!tree.getModifiers().getFlags().contains(Modifier.SYNCHRONIZED)
+        || body == null
+        || body.getStatements().size() != 1) {
+      return Description.NO_MATCH;
+    }
+
+    return getAccessedMapField(body.getStatements().get(0), state)
+        .map(field -> describeSynchronizedMapAccess(tree, field, state))
+        .orElse(Description.NO_MATCH);
+  }
+
+  private Description describeSynchronizedMapAccess(
+      MethodTree tree, Symbol field, VisitorState state) {
+    Description.Builder description =
+        escalateInHotPath(buildDescription(tree), this, WARNING, state);
+    if (!isConcurrentMap(field, state)) {
+      return description
+          .setMessage(
+              "This `synchronized` method serializes all callers; consider storing the map in a "
+                  + "`ConcurrentHashMap` and dropping the `synchronized` modifier")
+          .build();
+    }
+
+    description.setMessage(
+        "This method only accesses a `ConcurrentMap`, which is thread-safe by itself; "
+            + "synchronizing on the enclosing object needlessly serializes callers");
+    if (!isAccessedInOtherSynchronizedRegion(field, tree, state)) {
+      /*
+       * Other `synchronized` code may perform compound operations on the map that rely on this
+       * method not executing concurrently, so the modifier is dropped only if there is no such code.
+       */
+      SuggestedFixes.removeModifiers(tree, state, Modifier.SYNCHRONIZED)
+          .ifPresent(description::addFix);
+    }
+    return description.build();
+  }
+
+  private Description.Builder describeConfined(
+      Tree tree, String legacy, String alternative, VisitorState state) {
+    return escalateInHotPath(buildDescription(tree), this, WARNING, state)
+        .setMessage(
+            String.format(
+                "`%s` synchronizes every operation, which is pointless for an object that does not "
+                    + "escape the enclosing method; use %s instead",
+                legacy, alternative));
+  }
+
+  /**
+   * Describes the creation of a synchronized object that is assigned to a field, and may thus be
+   * shared between threads.
+   */
+  private Description.@Nullable Builder describeShared(
+      Tree tree, String legacy, Optional<TreePath> variable, VisitorState state) {
+    String alternative = CONCURRENT_ALTERNATIVES.get(legacy.substring(legacy.indexOf('#') + 1));
+    if (alternative == null
+        || variable
+            .filter(v -> ASTHelpers.getSymbol(v.getLeaf()).getKind() == ElementKind.FIELD)
+            .isEmpty()) {
+      /*
+       * Other synchronized objects may be required by the code to which they are passed, so we
+       * don't flag those.
+       */
+      return null;
+    }
+
+    return escalateInHotPath(buildDescription(tree), this, WARNING, state)
+        .setMessage(
+            String.format(
+                "`%s` serializes all concurrent access; consider using %s instead",
+                legacy, alternative));
+  }
+
+  /**
+   * Suggests to replace the given construction of a synchronized type with its unsynchronized
+   * alternative, provided that this does not affect code beyond the variable declaration.
+   */
+  private static Optional<SuggestedFix> replaceConfinedConstruction(
+      NewClassTree tree,
+      VariableTree declaration,
+      String typeName,
+      String alternative,
+      VisitorState state) {
+    if (typeName.equals(VECTOR) && tree.getArguments().size() > 1) {
+      /* `ArrayList` does not support a custom capacity increment. */
+      return Optional.empty();
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    if (ASTHelpers.hasImplicitType(declaration, state)) {
+      if (!typeName.equals(STRING_BUFFER)) {
+        return Optional.empty();
+      }
+    } else {
+      Type declaredType = ASTHelpers.getType(declaration.getType());
+      if (declaredType == null) {
+        return Optional.empty();
+      }
+
+      if (declaredType.tsym.getQualifiedName().contentEquals(typeName)) {
+        /* Only `StringBuilder` offers the exact same API as the type it replaces. */
+        if (!typeName.equals(STRING_BUFFER)) {
+          return Optional.empty();
+        }
+        replaceBaseType(declaration.getType(), alternative, fix, state);
+      } else if (!ASTHelpers.isSubtype(state.getTypeFromString(alternative), declaredType, state)) {
+        return Optional.empty();
+      }
+    }
+
+    replaceBaseType(tree.getIdentifier(), alternative, fix, state);
+    return Optional.of(fix.build());
+  }
+
+  private static Optional<TreePath> findInitializedVariable(
+      ExpressionTree tree, VisitorState state) {
+    TreePath parent = state.getPath().getParentPath();
+    return parent.getLeaf() instanceof VariableTree
+            && tree.equals(((VariableTree) parent.getLeaf()).getInitializer())
+        ? Optional.of(parent)
+        : Optional.empty();
+  }
+
+  private static boolean isConcurrentMapTarget(VisitorState state) {
+    TargetType targetType = ASTHelpers.targetType(state);
+    return targetType != null
+        && CONCURRENT_MAP_TARGET_TYPES.contains(
+            targetType.type().tsym.getQualifiedName().toString());
+  }
+
+  /**
+   * Tells whether the given variable is used as the lock of a {@code synchronized} statement, in
+   * which case callers may rely on the variable's (intrinsic) lock for compound operations.
+   */
+  private static boolean isUsedAsLock(TreePath variable, VisitorState state) {
+    Symbol symbol = ASTHelpers.getSymbol(variable.getLeaf());
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitSynchronized(SynchronizedTree node, @Nullable Void unused) {
+            return symbol.equals(
+                    ASTHelpers.getSymbol(ASTHelpers.stripParentheses(node.getExpression())))
+                || Boolean.TRUE.equals(super.visitSynchronized(node, null));
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(state.getPath().getCompilationUnit(), null));
+  }
+
+  /**
+   * Tells whether the given field is referenced by a {@code synchronized} method other than the
+   * given one, or by a {@code synchronized} statement, inside the enclosing class.
+   */
+  private static boolean isAccessedInOtherSynchronizedRegion(
+      Symbol field, MethodTree method, VisitorState state) {
+    ClassTree clazz = state.findEnclosing(ClassTree.class);
+    return clazz == null
+        || Boolean.TRUE.equals(
+            new TreeScanner<Boolean, @Nullable Void>() {
+              @Override
+              public Boolean visitMethod(MethodTree node, @Nullable Void unused) {
+                return (!node.equals(method)
+                        && node.getModifiers().getFlags().contains(Modifier.SYNCHRONIZED)
+                        && references(node.getBody(), field))
+                    || Boolean.TRUE.equals(super.visitMethod(node, null));
+              }
+
+              @Override
+              public Boolean visitSynchronized(SynchronizedTree node, @Nullable Void unused) {
+                return references(node.getBlock(), field)
+                    || Boolean.TRUE.equals(super.visitSynchronized(node, null));
+              }
+
+              @Override
+              public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+                return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+              }
+            }.scan(clazz, null));
+  }
+
+  private static boolean references(@Nullable Tree tree, Symbol symbol) {
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node));
+          }
+
+          @Override
+          public Boolean visitMemberSelect(MemberSelectTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node))
+                || Boolean.TRUE.equals(super.visitMemberSelect(node, null));
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
+
+  /**
+   * Returns the {@link java.util.Map} field on which the given statement invokes a method, if it
+   * consists of nothing else.
+   */
+  private static Optional<Symbol> getAccessedMapField(StatementTree statement, VisitorState state) {
+    if (!(statement instanceof ReturnTree)
+        || !(((ReturnTree) statement).getExpression() instanceof MethodInvocationTree)) {
+      return Optional.empty();
+    }
+
+    ExpressionTree receiver = ASTHelpers.getReceiver(((ReturnTree) statement).getExpression());
+    Symbol symbol = receiver == null ? null : ASTHelpers.getSymbol(receiver);
+    return symbol != null
+            && symbol.getKind() == ElementKind.FIELD
+            && ASTHelpers.isSubtype(symbol.type, MAP.get(state), state)
+        ? Optional.of(symbol)
+        : Optional.empty();
+  }
+
+  /**
+   * Tells whether the given field is known to reference a {@link
+   * java.util.concurrent.ConcurrentMap}, either because of its declared type or because it is a
+   * {@code final} field initialized with such a map.
+   */
+  private static boolean isConcurrentMap(Symbol field, VisitorState state) {
+    if (ASTHelpers.isSubtype(field.type, CONCURRENT_MAP.get(state), state)) {
+      return true;
+    }
+
+    ClassTree clazz = state.findEnclosing(ClassTree.class);
+    return clazz != null
+        && field.getModifiers().contains(Modifier.FINAL)
+        && clazz.getMembers().stream()
+            .filter(VariableTree.class::isInstance)
+            .map(VariableTree.class::cast)
+            .filter(member -> field.equals(ASTHelpers.getSymbol(member)))
+            .map(VariableTree::getInitializer)
+            .anyMatch(
+                initializer ->
+                    initializer != null
+                        && ASTHelpers.isSubtype(
+                            ASTHelpers.getType(initializer), CONCURRENT_MAP.get(state), state));
+  }
+
+  private static void replaceBaseType(
+      Tree type, String replacement, SuggestedFix.Builder fix, VisitorState state) {
+    Tree baseType =
+        type instanceof ParameterizedTypeTree ? ((ParameterizedTypeTree) type).getType() : type;
+    fix.replace(baseType, SuggestedFixes.qualifyType(state, fix, replacement));
+  }
+}
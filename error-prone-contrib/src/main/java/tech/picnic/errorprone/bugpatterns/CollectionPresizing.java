@@ -0,0 +1,236 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.constructor;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static com.google.errorprone.predicates.TypePredicates.isExactTypeAny;
+import static java.util.stream.Collectors.joining;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.BlockTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.suppliers.Suppliers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import java.util.List;
+import java.util.Optional;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+import tech.picnic.errorprone.bugpatterns.util.ThirdPartyLibrary;
+
+/**
+ * A {@link BugChecker} that flags collections that are created without an expected size, and that
+ * are subsequently populated by a loop that adds exactly one element per element of a collection or
+ * array of known size.
+ *
+ * <p>Such collections must repeatedly grow their backing array or hash table while being populated.
+ * This is avoided by specifying the expected number of elements up front.
+ */
+// XXX: Also support basic `for` loops with a known number of iterations, as well as `forEach`
+// invocations.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Specify the expected size of a collection that is populated from a source of known size",
+    link = BUG_PATTERNS_BASE_URL + "CollectionPresizing",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class CollectionPresizing extends BugChecker implements BlockTreeMatcher {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Mapping from hash-based collection types to the Guava factory methods that create instances of
+   * said types for a given expected number of elements.
+   */
+  private static final ImmutableMap<String, String> EXPECTED_SIZE_FACTORIES =
+      ImmutableMap.of(
+          "java.util.HashMap", "com.google.common.collect.Maps.newHashMapWithExpectedSize",
+          "java.util.HashSet", "com.google.common.collect.Sets.newHashSetWithExpectedSize",
+          "java.util.LinkedHashMap",
+              "com.google.common.collect.Maps.newLinkedHashMapWithExpectedSize",
+          "java.util.LinkedHashSet",
+              "com.google.common.collect.Sets.newLinkedHashSetWithExpectedSize");
+
+  private static final Supplier<Type> COLLECTION = Suppliers.typeFromString("java.util.Collection");
+  private static final Matcher<ExpressionTree> ARRAY_LIST_CONSTRUCTOR =
+      constructor().forClass("java.util.ArrayList").withNoParameters();
+  private static final Matcher<ExpressionTree> HASH_COLLECTION_CONSTRUCTOR =
+      constructor().forClass(isExactTypeAny(EXPECTED_SIZE_FACTORIES.keySet())).withNoParameters();
+  private static final Matcher<ExpressionTree> IMMUTABLE_COLLECTION_BUILDER =
+      staticMethod()
+          .onClassAny(
+              "com.google.common.collect.ImmutableBiMap",
+              "com.google.common.collect.ImmutableList",
+              "com.google.common.collect.ImmutableMap",
+              "com.google.common.collect.ImmutableSet")
+          .named("builder")
+          .withNoParameters();
+  private static final Matcher<ExpressionTree> ADD_OR_PUT =
+      anyOf(
+          instanceMethod().onDescendantOf("java.util.Collection").named("add"),
+          instanceMethod().onDescendantOf("java.util.Map").named("put"),
+          instanceMethod()
+              .onDescendantOf("com.google.common.collect.ImmutableCollection.Builder")
+              .named("add"),
+          instanceMethod()
+              .onDescendantOf("com.google.common.collect.ImmutableMap.Builder")
+              .named("put"));
+
+  /** Instantiates a new {@link CollectionPresizing} instance. */
+  public CollectionPresizing() {}
+
+  @Override
+  public Description matchBlock(BlockTree tree, VisitorState state) {
+    List<? extends StatementTree> statements = tree.getStatements();
+    for (int i = 0; i < statements.size() - 1; i++) {
+      if (statements.get(i) instanceof VariableTree
+          && statements.get(i + 1) instanceof EnhancedForLoopTree) {
+        VariableTree declaration = (VariableTree) statements.get(i);
+        EnhancedForLoopTree loop = (EnhancedForLoopTree) statements.get(i + 1);
+        ExpressionTree initializer = declaration.getInitializer();
+        if (initializer != null && isPopulatedByLoop(declaration, loop, state)) {
+          getSizeExpression(loop.getExpression(), state)
+              .flatMap(size -> suggestPresizing(declaration, initializer, size, state))
+              .ifPresent(
+                  fix ->
+                      state.reportMatch(
+                          escalateInHotPath(buildDescription(initializer), this, WARNING, state)
+                              .addFix(fix)
+                              .build()));
+        }
+      }
+    }
+
+    return Description.NO_MATCH;
+  }
+
+  /**
+   * Tells whether the given loop adds exactly one element to the declared collection per iteration,
+   * and performs no other operations.
+   */
+  private static boolean isPopulatedByLoop(
+      VariableTree declaration, EnhancedForLoopTree loop, VisitorState state) {
+    StatementTree body = loop.getStatement();
+    StatementTree statement =
+        body instanceof BlockTree && ((BlockTree) body).getStatements().size() == 1
+            ? ((BlockTree) body).getStatements().get(0)
+            : body;
+    if (!(statement instanceof ExpressionStatementTree)) {
+      return false;
+    }
+
+    ExpressionTree expression = ((ExpressionStatementTree) statement).getExpression();
+    if (!ADD_OR_PUT.matches(expression, state)) {
+      return false;
+    }
+
+    ExpressionTree receiver = ASTHelpers.getReceiver(expression);
+    return receiver != null
+        && ASTHelpers.getSymbol(declaration).equals(ASTHelpers.getSymbol(receiver));
+  }
+
+  /**
+   * Returns an expression that evaluates to the number of elements of the given collection or
+   * array, provided that said expression can be evaluated without side effects.
+   */
+  private static Optional<String> getSizeExpression(ExpressionTree source, VisitorState state) {
+    Symbol symbol = ASTHelpers.getSymbol(source);
+    if (!(source instanceof IdentifierTree || source instanceof MemberSelectTree)
+        || !(symbol instanceof VarSymbol)) {
+      return Optional.empty();
+    }
+
+    Type type = ASTHelpers.getType(source);
+    String sourceCode = SourceCode.treeToString(source, state);
+    if (state.getTypes().isArray(type)) {
+      return Optional.of(sourceCode + ".length");
+    }
+
+    return ASTHelpers.isSubtype(type, COLLECTION.get(state), state)
+        ? Optional.of(sourceCode + ".size()")
+        : Optional.empty();
+  }
+
+  private static Optional<SuggestedFix> suggestPresizing(
+      VariableTree declaration, ExpressionTree initializer, String size, VisitorState state) {
+    if (ARRAY_LIST_CONSTRUCTOR.matches(initializer, state)) {
+      return Optional.of(
+          SuggestedFix.replace(
+              initializer,
+              String.format(
+                  "new %s(%s)",
+                  SourceCode.treeToString(((NewClassTree) initializer).getIdentifier(), state),
+                  size)));
+    }
+
+    if (HASH_COLLECTION_CONSTRUCTOR.matches(initializer, state)) {
+      String factory =
+          EXPECTED_SIZE_FACTORIES.get(
+              ASTHelpers.getSymbol(initializer).owner.getQualifiedName().toString());
+      /*
+       * The Guava factory methods infer the collection's type arguments from the variable's
+       * declared type, so they are not suggested for variables declared using `var`.
+       */
+      if (factory == null
+          || !ThirdPartyLibrary.GUAVA.isIntroductionAllowed(state)
+          || ASTHelpers.hasImplicitType(declaration, state)) {
+        return Optional.empty();
+      }
+
+      SuggestedFix.Builder fix = SuggestedFix.builder();
+      int separator = factory.lastIndexOf('.');
+      String type = SuggestedFixes.qualifyType(state, fix, factory.substring(0, separator));
+      return Optional.of(
+          fix.replace(
+                  initializer,
+                  String.format("%s.%s(%s)", type, factory.substring(separator + 1), size))
+              .build());
+    }
+
+    if (IMMUTABLE_COLLECTION_BUILDER.matches(initializer, state)) {
+      MethodInvocationTree invocation = (MethodInvocationTree) initializer;
+      SuggestedFix.Builder fix = SuggestedFix.builder();
+      String type = SuggestedFixes.qualifyType(state, fix, ASTHelpers.getSymbol(invocation).owner);
+      String typeArguments =
+          invocation.getTypeArguments().isEmpty()
+              ? ""
+              : invocation.getTypeArguments().stream()
+                  .map(arg -> SourceCode.treeToString(arg, state))
+                  .collect(joining(", ", "<", ">"));
+      return Optional.of(
+          fix.replace(
+                  invocation,
+                  String.format("%s.%sbuilderWithExpectedSize(%s)", type, typeArguments, size))
+              .build());
+    }
+
+    return Optional.empty();
+  }
+}
@@ -1,10 +1,12 @@
 package tech.picnic.errorprone.bugpatterns;
 
 import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.BugPattern.StandardTags.FRAGILE_CODE;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
 
 import com.google.auto.service.AutoService;
 import com.google.common.collect.ImmutableList;
@@ -33,6 +35,9 @@ import tech.picnic.errorprone.bugpatterns.util.ThirdPartyLibrary;
  *
  * <p>Replacing such collectors with alternatives that produce immutable collections is preferred.
  * Do note that Guava's immutable collections are null-hostile.
+ *
+ * <p>Inside code marked as a hot path, findings are reported as errors, as the mutable collections
+ * produced by these collectors may be copied defensively downstream.
  */
 @AutoService(BugChecker.class)
 @BugPattern(
@@ -97,7 +102,7 @@ public final class CollectorMutability extends BugChecker implements MethodInvoc
             Collectors.class.getCanonicalName() + ".toCollection", mutableFix, state);
     String mutableCollection = SuggestedFixes.qualifyType(state, mutableFix, mutableReplacement);
 
-    return buildDescription(tree)
+    return escalateInHotPath(buildDescription(tree), this, ERROR, state)
         .addFix(replaceMethodInvocation(tree, immutableReplacement, state))
         .addFix(
             mutableFix
@@ -116,7 +121,7 @@ public final class CollectorMutability extends BugChecker implements MethodInvoc
     String hashMap =
         SuggestedFixes.qualifyType(state, mutableFix, HashMap.class.getCanonicalName());
 
-    return buildDescription(tree)
+    return escalateInHotPath(buildDescription(tree), this, ERROR, state)
         .addFix(
             replaceMethodInvocation(
                 tree, ImmutableMap.class.getCanonicalName() + ".toImmutableMap", state))
@@ -0,0 +1,213 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.CONCURRENCY;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.suppliers.Suppliers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import java.util.List;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.BlockingMethods;
+
+/**
+ * A {@link BugChecker} that flags asynchronous {@link java.util.concurrent.CompletableFuture}
+ * operations that perform blocking work on the default executor.
+ *
+ * <p>Methods such as {@link java.util.concurrent.CompletableFuture#supplyAsync(java.util.function.
+ * Supplier)} and {@link java.util.concurrent.CompletionStage#thenApplyAsync(java.util.function.
+ * Function)} execute the given function on {@link java.util.concurrent.ForkJoinPool#commonPool()},
+ * unless an explicit {@link java.util.concurrent.Executor} is passed. The common pool is shared by
+ * the entire JVM, including parallel streams, and has a small number of threads; blocking work
+ * executed on it thus delays unrelated tasks. Such work should instead be submitted to a dedicated
+ * executor.
+ *
+ * <p>If the enclosing class declares a single field of type {@link java.util.concurrent.Executor},
+ * a fix is suggested that passes this executor explicitly. Additional blocking methods can be
+ * specified using the {@code CompletableFutureDefaultExecutor:ExtraBlockingMethods} flag.
+ */
+// XXX: Also inspect the bodies of methods referenced using a method reference.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid blocking calls inside functions executed on the common `ForkJoinPool`; pass an "
+            + "explicit `Executor` instead",
+    link = BUG_PATTERNS_BASE_URL + "CompletableFutureDefaultExecutor",
+    linkType = CUSTOM,
+    severity = WARNING,
+    tags = {CONCURRENCY, PERFORMANCE})
+@SuppressWarnings("java:S2160" /* Super class equality definition suffices. */)
+public final class CompletableFutureDefaultExecutor extends BugChecker
+    implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String EXTRA_BLOCKING_METHODS_FLAG =
+      "CompletableFutureDefaultExecutor:ExtraBlockingMethods";
+  private static final Supplier<Type> EXECUTOR =
+      Suppliers.typeFromString("java.util.concurrent.Executor");
+  private static final Pattern ASYNC_METHOD_NAME = Pattern.compile(".+Async");
+  private static final Matcher<ExpressionTree> ASYNC_OPERATION =
+      anyOf(
+          staticMethod()
+              .onClass("java.util.concurrent.CompletableFuture")
+              .namedAnyOf("runAsync", "supplyAsync"),
+          instanceMethod()
+              .onDescendantOf("java.util.concurrent.CompletionStage")
+              .withNameMatching(ASYNC_METHOD_NAME),
+          instanceMethod()
+              .onDescendantOf("java.util.concurrent.CompletableFuture")
+              .named("completeAsync"));
+
+  private final Matcher<ExpressionTree> blockingMethodMatcher;
+
+  /** Instantiates a default {@link CompletableFutureDefaultExecutor} instance. */
+  public CompletableFutureDefaultExecutor() {
+    this(ErrorProneFlags.empty());
+  }
+
+  /**
+   * Instantiates a customized {@link CompletableFutureDefaultExecutor} instance.
+   *
+   * @param flags Any provided command line flags.
+   */
+  @Inject
+  CompletableFutureDefaultExecutor(ErrorProneFlags flags) {
+    blockingMethodMatcher = BlockingMethods.createMatcher(flags, EXTRA_BLOCKING_METHODS_FLAG);
+  }
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (!ASYNC_OPERATION.matches(tree, state)
+        || acceptsExecutor(ASTHelpers.getSymbol(tree), state)
+        || tree.getArguments().stream().noneMatch(arg -> performsBlockingCall(arg, state))) {
+      return Description.NO_MATCH;
+    }
+
+    return describeMatch(tree, suggestExecutor(tree, state));
+  }
+
+  private static boolean acceptsExecutor(MethodSymbol method, VisitorState state) {
+    return method.getParameters().stream()
+        .anyMatch(parameter -> ASTHelpers.isSubtype(parameter.type, EXECUTOR.get(state), state));
+  }
+
+  /**
+   * Tells whether the given function argument directly invokes or references a blocking method.
+   *
+   * <p>Nested lambda expressions and classes are not inspected, as these are not necessarily
+   * executed as part of the function.
+   */
+  private boolean performsBlockingCall(ExpressionTree argument, VisitorState state) {
+    if (argument instanceof MemberReferenceTree) {
+      return blockingMethodMatcher.matches(argument, state);
+    }
+
+    if (!(argument instanceof LambdaExpressionTree)) {
+      return false;
+    }
+
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitMethodInvocation(MethodInvocationTree node, @Nullable Void unused) {
+            return blockingMethodMatcher.matches(node, state)
+                || Boolean.TRUE.equals(super.visitMethodInvocation(node, null));
+          }
+
+          @Override
+          public @Nullable Boolean visitLambdaExpression(
+              LambdaExpressionTree node, @Nullable Void unused) {
+            return false;
+          }
+
+          @Override
+          public @Nullable Boolean visitClass(ClassTree node, @Nullable Void unused) {
+            return false;
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(((LambdaExpressionTree) argument).getBody(), null));
+  }
+
+  /**
+   * Suggests to pass the sole {@link java.util.concurrent.Executor} field of the enclosing class to
+   * the given operation, if any.
+   */
+  private static SuggestedFix suggestExecutor(MethodInvocationTree tree, VisitorState state) {
+    ClassTree clazz = state.findEnclosing(ClassTree.class);
+    List<? extends ExpressionTree> arguments = tree.getArguments();
+    if (clazz == null || arguments.isEmpty()) {
+      return SuggestedFix.emptyFix();
+    }
+
+    boolean isStaticContext = isInStaticMember(clazz, state);
+    ImmutableList<VarSymbol> executors =
+        clazz.getMembers().stream()
+            .filter(VariableTree.class::isInstance)
+            .map(member -> ASTHelpers.getSymbol((VariableTree) member))
+            .filter(field -> ASTHelpers.isSubtype(field.type, EXECUTOR.get(state), state))
+            .filter(field -> !isStaticContext || field.isStatic())
+            .collect(toImmutableList());
+    if (executors.size() != 1) {
+      return SuggestedFix.emptyFix();
+    }
+
+    return SuggestedFix.postfixWith(
+        arguments.get(arguments.size() - 1), ", " + executors.get(0).getSimpleName());
+  }
+
+  /**
+   * Tells whether the given {@link VisitorState}'s current path is part of a static method, static
+   * field initializer or static initializer block of the given class.
+   */
+  private static boolean isInStaticMember(ClassTree clazz, VisitorState state) {
+    @Var TreePath path = state.getPath();
+    while (path.getParentPath() != null && !clazz.equals(path.getParentPath().getLeaf())) {
+      path = path.getParentPath();
+    }
+
+    Tree member = path.getLeaf();
+    if (member instanceof BlockTree) {
+      return ((BlockTree) member).isStatic();
+    }
+
+    Symbol symbol = ASTHelpers.getSymbol(member);
+    return symbol != null && ASTHelpers.isStatic(symbol);
+  }
+}
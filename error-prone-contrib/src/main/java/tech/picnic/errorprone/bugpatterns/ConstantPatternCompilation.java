@@ -0,0 +1,278 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.base.CaseFormat;
+import com.google.common.base.CharMatcher;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.fixes.SuggestedFixes.AdditionPosition;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.ConflictDetection;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+import tech.picnic.errorprone.refaster.annotation.HotPath;
+
+/**
+ * A {@link BugChecker} that flags methods that compile a constant regular expression every time
+ * they are invoked.
+ *
+ * <p>Methods such as {@link String#matches(String)}, {@link String#replaceAll(String, String)} and
+ * {@link Pattern#compile(String)} compile the given regular expression on each invocation. When the
+ * regular expression is a compile-time constant, it should instead be compiled only once, by
+ * assigning the resultant {@link Pattern} to a {@code private static final} field.
+ *
+ * <p>Invocations of {@link String#split(String)} are flagged only if the given regular expression
+ * does not qualify for that method's fast path, which avoids regular expression compilation for
+ * single-character separators. Inside code marked as a {@link HotPath}, findings are reported as
+ * warnings.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid repeatedly compiling a constant regular expression; "
+            + "store the compiled `Pattern` in a `static final` field instead",
+    link = BUG_PATTERNS_BASE_URL + "ConstantPatternCompilation",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class ConstantPatternCompilation extends BugChecker
+    implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String REGEX_META_CHARACTERS = ".$|()[{^?*+\\";
+  private static final Matcher<ExpressionTree> STRING_MATCHES =
+      instanceMethod().onExactClass(String.class.getCanonicalName()).named("matches");
+  private static final Matcher<ExpressionTree> STRING_REPLACE =
+      instanceMethod()
+          .onExactClass(String.class.getCanonicalName())
+          .namedAnyOf("replaceAll", "replaceFirst");
+  private static final Matcher<ExpressionTree> STRING_SPLIT =
+      instanceMethod().onExactClass(String.class.getCanonicalName()).named("split");
+  private static final Matcher<ExpressionTree> PATTERN_MATCHES =
+      staticMethod().onClass(Pattern.class.getCanonicalName()).named("matches");
+  private static final Matcher<ExpressionTree> PATTERN_COMPILE =
+      staticMethod().onClass(Pattern.class.getCanonicalName()).named("compile");
+
+  /** Instantiates a new {@link ConstantPatternCompilation} instance. */
+  public ConstantPatternCompilation() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    String regex = getConstantRegex(tree, state);
+    if (regex == null) {
+      return Description.NO_MATCH;
+    }
+
+    String replacementFormat = getReplacementFormat(tree, regex, state);
+    if (replacementFormat == null) {
+      return Description.NO_MATCH;
+    }
+
+    List<? extends ExpressionTree> arguments = tree.getArguments();
+    ExpressionTree flags =
+        PATTERN_COMPILE.matches(tree, state) && arguments.size() == 2 ? arguments.get(1) : null;
+    return describe(tree, regex, flags, replacementFormat, state);
+  }
+
+  private static @Nullable String getConstantRegex(MethodInvocationTree tree, VisitorState state) {
+    if (state.findEnclosing(MethodTree.class) == null) {
+      /* Expressions outside of method bodies are generally evaluated only once. */
+      return null;
+    }
+
+    List<? extends ExpressionTree> arguments = tree.getArguments();
+    return arguments.isEmpty() ? null : ASTHelpers.constValue(arguments.get(0), String.class);
+  }
+
+  /**
+   * Returns a format string that, given the name of a field holding the compiled regular
+   * expression, produces a replacement for the given expression, if it should be flagged.
+   */
+  private static @Nullable String getReplacementFormat(
+      MethodInvocationTree tree, String regex, VisitorState state) {
+    List<? extends ExpressionTree> arguments = tree.getArguments();
+    if (PATTERN_COMPILE.matches(tree, state)) {
+      return arguments.size() == 1 || ASTHelpers.constValue(arguments.get(1)) != null ? "%s" : null;
+    }
+
+    if (PATTERN_MATCHES.matches(tree, state)) {
+      return "%s.matcher(" + SourceCode.treeToString(arguments.get(1), state) + ").matches()";
+    }
+
+    ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+    if (receiver == null) {
+      return null;
+    }
+
+    String input = SourceCode.treeToString(receiver, state);
+    if (STRING_MATCHES.matches(tree, state)) {
+      return "%s.matcher(" + input + ").matches()";
+    }
+
+    if (STRING_REPLACE.matches(tree, state)) {
+      return String.format(
+          "%%s.matcher(%s).%s(%s)",
+          input,
+          ASTHelpers.getSymbol(tree).getSimpleName(),
+          SourceCode.treeToString(arguments.get(1), state));
+    }
+
+    if (STRING_SPLIT.matches(tree, state) && !isSplitFastPath(regex)) {
+      return arguments.size() == 1
+          ? "%s.split(" + input + ')'
+          : "%s.split(" + input + ", " + SourceCode.treeToString(arguments.get(1), state) + ')';
+    }
+
+    return null;
+  }
+
+  private Description describe(
+      MethodInvocationTree tree,
+      String regex,
+      @Nullable ExpressionTree flags,
+      String replacementFormat,
+      VisitorState state) {
+    Description.Builder description =
+        escalateInHotPath(buildDescription(tree), this, WARNING, state);
+    hoistPattern(tree, regex, flags, replacementFormat, state).ifPresent(description::addFix);
+    return description.build();
+  }
+
+  /**
+   * Suggests to replace the given expression with a reference to a newly introduced {@code private
+   * static final} {@link Pattern} field.
+   *
+   * @param replacementFormat A format string that, given the field name, produces the replacement
+   *     expression.
+   */
+  private static Optional<SuggestedFix> hoistPattern(
+      MethodInvocationTree tree,
+      String regex,
+      @Nullable ExpressionTree flags,
+      String replacementFormat,
+      VisitorState state) {
+    Optional<ClassTree> target = MoreASTHelpers.findStaticFieldDeclarationTarget(state);
+    if (target.isEmpty() || (flags != null && referencesVariableBySimpleName(flags))) {
+      /* Unqualified references may become illegal forward references. */
+      return Optional.empty();
+    }
+
+    ClassTree clazz = target.orElseThrow();
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String pattern = SuggestedFixes.qualifyType(state, fix, Pattern.class.getCanonicalName());
+    String preferredFieldName = getPreferredFieldName(state);
+    String fieldName =
+        ConflictDetection.findUnusedFieldName(
+            preferredFieldName,
+            clazz,
+            other ->
+                isHoistedTo(clazz, other)
+                    && preferredFieldName.equals(getPreferredFieldName(other)),
+            state);
+    String initializer =
+        flags == null
+            ? String.format("%s.compile(%s)", pattern, state.getConstantExpression(regex))
+            : String.format(
+                "%s.compile(%s, %s)",
+                pattern, state.getConstantExpression(regex), SourceCode.treeToString(flags, state));
+
+    return SuggestedFixes.addMembers(
+            clazz,
+            state,
+            AdditionPosition.FIRST,
+            ImmutableList.of(
+                String.format("private static final %s %s = %s;", pattern, fieldName, initializer)))
+        .map(
+            addField ->
+                fix.merge(addField)
+                    .replace(tree, String.format(replacementFormat, fieldName))
+                    .build());
+  }
+
+  /**
+   * Tells whether the expression at the given {@link VisitorState}'s current path is flagged, with
+   * a fix that introduces a field to the given class.
+   */
+  private static boolean isHoistedTo(ClassTree target, VisitorState state) {
+    Tree tree = state.getPath().getLeaf();
+    if (!(tree instanceof MethodInvocationTree)) {
+      return false;
+    }
+
+    String regex = getConstantRegex((MethodInvocationTree) tree, state);
+    return regex != null
+        && getReplacementFormat((MethodInvocationTree) tree, regex, state) != null
+        && MoreASTHelpers.findStaticFieldDeclarationTarget(state)
+            .filter(target::equals)
+            .isPresent();
+  }
+
+  private static boolean referencesVariableBySimpleName(ExpressionTree tree) {
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            return ASTHelpers.getSymbol(node) instanceof VarSymbol;
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
+
+  private static String getPreferredFieldName(VisitorState state) {
+    MethodTree method = state.findEnclosing(MethodTree.class);
+    if (method == null || ASTHelpers.getSymbol(method).isConstructor()) {
+      return "PATTERN";
+    }
+
+    return CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, method.getName().toString())
+        + "_PATTERN";
+  }
+
+  /**
+   * Tells whether {@link String#split(String)} splits on the given regular expression without
+   * compiling it.
+   */
+  private static boolean isSplitFastPath(String regex) {
+    if (regex.length() == 1) {
+      return REGEX_META_CHARACTERS.indexOf(regex.charAt(0)) < 0;
+    }
+
+    return regex.length() == 2
+        && regex.charAt(0) == '\\'
+        && !CharMatcher.inRange('0', '9')
+            .or(CharMatcher.inRange('a', 'z'))
+            .or(CharMatcher.inRange('A', 'Z'))
+            .matches(regex.charAt(1));
+  }
+}
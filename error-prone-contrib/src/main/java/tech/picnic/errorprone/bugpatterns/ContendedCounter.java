@@ -0,0 +1,207 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.constructor;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.Tree.Kind;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import java.util.List;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link BugChecker} that flags {@link java.util.concurrent.atomic.AtomicLong} and {@link
+ * java.util.concurrent.atomic.AtomicInteger} fields that are only used as counters, and suggests
+ * replacing them with a {@link java.util.concurrent.atomic.LongAdder}.
+ *
+ * <p>Under contention, concurrent updates of a single atomic variable cause the associated cache
+ * line to bounce between CPU cores. A {@link java.util.concurrent.atomic.LongAdder} instead spreads
+ * updates across multiple cells, at the cost of more expensive reads. As such, this check only
+ * flags {@code private final} fields whose usages are limited to increments whose results are
+ * ignored, plain reads and resets to zero. Note that, unlike reads of an atomic variable, the sum
+ * of a {@link java.util.concurrent.atomic.LongAdder} is not an atomic snapshot.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary = "Prefer `LongAdder` over an atomic variable used as a contended counter",
+    link = BUG_PATTERNS_BASE_URL + "ContendedCounter",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class ContendedCounter extends BugChecker implements VariableTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String ATOMIC_INTEGER = "java.util.concurrent.atomic.AtomicInteger";
+  private static final String ATOMIC_LONG = "java.util.concurrent.atomic.AtomicLong";
+  private static final Matcher<ExpressionTree> NEW_COUNTER =
+      anyOf(constructor().forClass(ATOMIC_INTEGER), constructor().forClass(ATOMIC_LONG));
+  private static final ImmutableSet<Modifier> REQUIRED_MODIFIERS =
+      ImmutableSet.of(Modifier.PRIVATE, Modifier.FINAL);
+  private static final ImmutableMap<String, String> UPDATES =
+      ImmutableMap.<String, String>builder()
+          .put("addAndGet", "add")
+          .put("decrementAndGet", "decrement")
+          .put("getAndAdd", "add")
+          .put("getAndDecrement", "decrement")
+          .put("getAndIncrement", "increment")
+          .put("incrementAndGet", "increment")
+          .buildOrThrow();
+  private static final ImmutableSet<String> RESETS = ImmutableSet.of("lazySet", "set");
+  private static final ImmutableSet<String> RETAINED_READS =
+      ImmutableSet.of("doubleValue", "floatValue", "intValue", "longValue", "toString");
+
+  /** Instantiates a new {@link ContendedCounter} instance. */
+  public ContendedCounter() {}
+
+  @Override
+  public Description matchVariable(VariableTree tree, VisitorState state) {
+    VarSymbol symbol = ASTHelpers.getSymbol(tree);
+    ExpressionTree initializer = tree.getInitializer();
+    if (symbol.getKind() != ElementKind.FIELD
+        || !symbol.getModifiers().containsAll(REQUIRED_MODIFIERS)
+        || initializer == null
+        || !NEW_COUNTER.matches(initializer, state)
+        || !((NewClassTree) initializer)
+            .getArguments().stream().allMatch(ContendedCounter::isConstantZero)) {
+      return Description.NO_MATCH;
+    }
+
+    boolean isLong = symbol.type.tsym.getQualifiedName().contentEquals(ATOMIC_LONG);
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String adder = SuggestedFixes.qualifyType(state, fix, "java.util.concurrent.atomic.LongAdder");
+    fix.replace(tree.getType(), adder).replace(initializer, "new " + adder + "()");
+
+    CounterUsageRewriter rewriter = new CounterUsageRewriter(symbol, isLong, fix, state);
+    rewriter.scan(new TreePath(state.getPath().getCompilationUnit()), null);
+    if (!rewriter.isCounter()) {
+      return Description.NO_MATCH;
+    }
+
+    return escalateInHotPath(buildDescription(tree), this, WARNING, state)
+        .setMessage(
+            String.format(
+                "This `%s` is only used as a counter; under contention a `LongAdder` performs "
+                    + "better",
+                symbol.type.tsym.getSimpleName()))
+        .addFix(fix.build())
+        .build();
+  }
+
+  private static boolean isConstantZero(ExpressionTree tree) {
+    Object value = ASTHelpers.constValue(tree);
+    return value instanceof Number && ((Number) value).longValue() == 0;
+  }
+
+  /**
+   * A {@link TreePathScanner} that rewrites all references to a given counter field such that they
+   * target a {@link java.util.concurrent.atomic.LongAdder}, while tracking whether this is
+   * possible.
+   */
+  private static final class CounterUsageRewriter
+      extends TreePathScanner<@Nullable Void, @Nullable Void> {
+    private final VarSymbol counter;
+    private final boolean isLong;
+    private final SuggestedFix.Builder fix;
+    private final VisitorState state;
+    private boolean hasUpdates;
+    private boolean hasUnsupportedUsages;
+
+    CounterUsageRewriter(
+        VarSymbol counter, boolean isLong, SuggestedFix.Builder fix, VisitorState state) {
+      this.counter = counter;
+      this.isLong = isLong;
+      this.fix = fix;
+      this.state = state;
+    }
+
+    boolean isCounter() {
+      return hasUpdates && !hasUnsupportedUsages;
+    }
+
+    @Override
+    public @Nullable Void visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+      if (counter.equals(ASTHelpers.getSymbol(node))) {
+        rewrite(getCurrentPath());
+      }
+      return null;
+    }
+
+    @Override
+    public @Nullable Void visitMemberSelect(MemberSelectTree node, @Nullable Void unused) {
+      if (counter.equals(ASTHelpers.getSymbol(node))) {
+        rewrite(getCurrentPath());
+        return null;
+      }
+      return super.visitMemberSelect(node, null);
+    }
+
+    private void rewrite(TreePath reference) {
+      Tree parent = reference.getParentPath().getLeaf();
+      if (parent.getKind() == Kind.PLUS
+          && ASTHelpers.isSameType(
+              ASTHelpers.getType(parent), state.getSymtab().stringType, state)) {
+        /* String concatenation yields the same result for both types. */
+        return;
+      }
+
+      Tree invocation = reference.getParentPath().getParentPath().getLeaf();
+      if (!(parent instanceof MemberSelectTree) || !(invocation instanceof MethodInvocationTree)) {
+        hasUnsupportedUsages = true;
+        return;
+      }
+
+      MethodInvocationTree methodInvocation = (MethodInvocationTree) invocation;
+      String name = ((MemberSelectTree) parent).getIdentifier().toString();
+      List<? extends ExpressionTree> arguments = methodInvocation.getArguments();
+      boolean isResultIgnored =
+          reference.getParentPath().getParentPath().getParentPath().getLeaf()
+              instanceof ExpressionStatementTree;
+
+      String update = UPDATES.get(name);
+      if (update != null && isResultIgnored) {
+        hasUpdates = true;
+        rename(methodInvocation, update);
+      } else if (RESETS.contains(name) && isResultIgnored && isConstantZero(arguments.get(0))) {
+        rename(methodInvocation, "reset");
+        fix.replace(arguments.get(0), "");
+      } else if (name.equals("get") && arguments.isEmpty()) {
+        /* Preserve the type of the expression. */
+        rename(methodInvocation, isLong ? "sum" : "intValue");
+      } else if (!RETAINED_READS.contains(name) || !arguments.isEmpty()) {
+        hasUnsupportedUsages = true;
+      }
+    }
+
+    private void rename(MethodInvocationTree invocation, String name) {
+      fix.merge(SuggestedFixes.renameMethodInvocation(invocation, name, state));
+    }
+  }
+}
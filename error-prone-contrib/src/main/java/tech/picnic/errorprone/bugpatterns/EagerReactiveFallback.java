@@ -0,0 +1,177 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.Iterables;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.FindIdentifiers;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import java.util.List;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+import tech.picnic.errorprone.refaster.matchers.IsLikelyTrivialComputation;
+
+/**
+ * A {@link BugChecker} that flags fallback values passed to {@link reactor.core.publisher.Flux} and
+ * {@link reactor.core.publisher.Mono} operators that are eagerly computed, even though they are
+ * used only if the upstream publisher turns out to be empty or to emit an error.
+ *
+ * <p>Such non-trivial computations are performed every time the reactive pipeline is assembled, and
+ * should instead be deferred using {@link reactor.core.publisher.Mono#fromSupplier} or {@link
+ * reactor.core.publisher.Flux#defer}. No fix is suggested if the computation cannot be moved into a
+ * lambda expression, e.g. because it throws a checked exception.
+ *
+ * <p>Note that the suggested fixes change the behavior for {@code null} values: while {@code
+ * Mono.just(null)} (and {@code defaultIfEmpty(null)}) fails fast with a {@link
+ * NullPointerException}, a {@link reactor.core.publisher.Mono#fromSupplier} supplier that returns
+ * {@code null} yields an empty {@link reactor.core.publisher.Mono}.
+ */
+// XXX: Fallback publishers returned by lambda expressions passed to `onErrorResume` are already
+// computed lazily, and are therefore not flagged. Consider flagging fallback publishers that are
+// assigned to a local variable and only referenced from inside such a lambda expression.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary = "Defer non-trivial computation of fallback values that may not be used",
+    link = BUG_PATTERNS_BASE_URL + "EagerReactiveFallback",
+    linkType = CUSTOM,
+    severity = WARNING,
+    tags = PERFORMANCE)
+public final class EagerReactiveFallback extends BugChecker implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String ERROR_PARAMETER_NAME = "e";
+  private static final Matcher<ExpressionTree> IS_LIKELY_TRIVIAL_COMPUTATION =
+      new IsLikelyTrivialComputation();
+  private static final Matcher<ExpressionTree> SWITCH_IF_EMPTY =
+      instanceMethod()
+          .onDescendantOfAny("reactor.core.publisher.Flux", "reactor.core.publisher.Mono")
+          .named("switchIfEmpty");
+  private static final Matcher<ExpressionTree> DEFAULT_IF_EMPTY =
+      instanceMethod()
+          .onDescendantOfAny("reactor.core.publisher.Flux", "reactor.core.publisher.Mono")
+          .named("defaultIfEmpty");
+  private static final Matcher<ExpressionTree> ON_ERROR_RETURN =
+      instanceMethod()
+          .onDescendantOfAny("reactor.core.publisher.Flux", "reactor.core.publisher.Mono")
+          .named("onErrorReturn");
+  private static final Matcher<ExpressionTree> MONO_JUST =
+      staticMethod().onClass("reactor.core.publisher.Mono").named("just");
+  private static final Matcher<ExpressionTree> FLUX_JUST =
+      staticMethod().onClass("reactor.core.publisher.Flux").named("just");
+
+  /** Instantiates a new {@link EagerReactiveFallback} instance. */
+  public EagerReactiveFallback() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (SWITCH_IF_EMPTY.matches(tree, state)) {
+      return matchSwitchIfEmpty(tree, state);
+    }
+
+    if (DEFAULT_IF_EMPTY.matches(tree, state)) {
+      ExpressionTree value = Iterables.getOnlyElement(tree.getArguments());
+      if (isLikelyTrivialComputation(value, state)) {
+        return Description.NO_MATCH;
+      }
+
+      return MoreASTHelpers.canBeMovedIntoLambda(value, state)
+          ? describeMatch(
+              tree,
+              suggestMonoFromSupplier(value, value, state)
+                  .merge(SuggestedFixes.renameMethodInvocation(tree, "switchIfEmpty", state))
+                  .build())
+          : describeMatch(tree);
+    }
+
+    if (ON_ERROR_RETURN.matches(tree, state)) {
+      return matchOnErrorReturn(tree, state);
+    }
+
+    return Description.NO_MATCH;
+  }
+
+  private Description matchSwitchIfEmpty(MethodInvocationTree tree, VisitorState state) {
+    ExpressionTree fallback = Iterables.getOnlyElement(tree.getArguments());
+    if (!MONO_JUST.matches(fallback, state) && !FLUX_JUST.matches(fallback, state)) {
+      return Description.NO_MATCH;
+    }
+
+    List<? extends ExpressionTree> values = ((MethodInvocationTree) fallback).getArguments();
+    if (isLikelyTrivialComputation(values, state)) {
+      return Description.NO_MATCH;
+    }
+
+    if (!MoreASTHelpers.canBeMovedIntoLambda(fallback, state)) {
+      return describeMatch(tree);
+    }
+
+    if (values.size() == 1) {
+      return describeMatch(tree, suggestMonoFromSupplier(fallback, values.get(0), state).build());
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String flux = SuggestedFixes.qualifyType(state, fix, "reactor.core.publisher.Flux");
+    return describeMatch(
+        tree,
+        fix.replace(
+                fallback,
+                String.format("%s.defer(() -> %s)", flux, SourceCode.treeToString(fallback, state)))
+            .build());
+  }
+
+  private Description matchOnErrorReturn(MethodInvocationTree tree, VisitorState state) {
+    ExpressionTree value = Iterables.getLast(tree.getArguments());
+    if (isLikelyTrivialComputation(value, state)) {
+      return Description.NO_MATCH;
+    }
+
+    if (tree.getArguments().size() != 1
+        || FindIdentifiers.findIdent(ERROR_PARAMETER_NAME, state) != null
+        || !MoreASTHelpers.canBeMovedIntoLambda(value, state)) {
+      return describeMatch(tree);
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String mono = SuggestedFixes.qualifyType(state, fix, "reactor.core.publisher.Mono");
+    return describeMatch(
+        tree,
+        fix.replace(
+                value,
+                String.format(
+                    "%s -> %s.fromSupplier(() -> %s)",
+                    ERROR_PARAMETER_NAME, mono, SourceCode.treeToString(value, state)))
+            .merge(SuggestedFixes.renameMethodInvocation(tree, "onErrorResume", state))
+            .build());
+  }
+
+  private static SuggestedFix.Builder suggestMonoFromSupplier(
+      ExpressionTree replaced, ExpressionTree value, VisitorState state) {
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String mono = SuggestedFixes.qualifyType(state, fix, "reactor.core.publisher.Mono");
+    return fix.replace(
+        replaced,
+        String.format("%s.fromSupplier(() -> %s)", mono, SourceCode.treeToString(value, state)));
+  }
+
+  private static boolean isLikelyTrivialComputation(
+      List<? extends ExpressionTree> expressions, VisitorState state) {
+    return expressions.stream().allMatch(e -> isLikelyTrivialComputation(e, state));
+  }
+
+  private static boolean isLikelyTrivialComputation(ExpressionTree expression, VisitorState state) {
+    return IS_LIKELY_TRIVIAL_COMPUTATION.matches(expression, state);
+  }
+}
@@ -0,0 +1,288 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.constructor;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.suppliers.Suppliers;
+import com.google.errorprone.util.ASTHelpers;
+import com.google.errorprone.util.ASTHelpers.TargetType;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.Types;
+import java.util.List;
+import java.util.Optional;
+import javax.lang.model.element.ElementKind;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link BugChecker} that flags hash-based collections of which the elements or keys are enum
+ * values.
+ *
+ * <p>{@link java.util.EnumSet} and {@link java.util.EnumMap} are backed by a bit vector and an
+ * array, respectively, making them considerably more compact and efficient than their hash-based
+ * counterparts. The same holds for the immutable collections created by Guava's {@code
+ * Sets#immutableEnumSet} and {@code Maps#immutableEnumMap}.
+ *
+ * <p>Note that enum-based collections iterate over their elements in declaration order, while
+ * {@link com.google.common.collect.ImmutableSet} and {@link com.google.common.collect.ImmutableMap}
+ * preserve insertion order.
+ */
+// XXX: Also flag `LinkedHashSet` and `LinkedHashMap` instances that are populated in declaration
+// order.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary = "Prefer `EnumSet` and `EnumMap` over hash-based collections with enum keys",
+    link = BUG_PATTERNS_BASE_URL + "EnumKeyedCollection",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class EnumKeyedCollection extends BugChecker
+    implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Supplier<Type> ITERABLE = Suppliers.typeFromString("java.lang.Iterable");
+  private static final Supplier<Type> MAP = Suppliers.typeFromString("java.util.Map");
+  private static final Supplier<Type> ENUM_SET = Suppliers.typeFromString("java.util.EnumSet");
+  private static final Supplier<Type> ENUM_MAP = Suppliers.typeFromString("java.util.EnumMap");
+  private static final Supplier<Type> COLLECTOR =
+      Suppliers.typeFromString("java.util.stream.Collector");
+  private static final Matcher<ExpressionTree> NEW_HASH_SET =
+      anyOf(
+          constructor().forClass("java.util.HashSet").withNoParameters(),
+          staticMethod()
+              .onClass("com.google.common.collect.Sets")
+              .named("newHashSet")
+              .withNoParameters());
+  private static final Matcher<ExpressionTree> NEW_HASH_MAP =
+      anyOf(
+          constructor().forClass("java.util.HashMap").withNoParameters(),
+          staticMethod()
+              .onClass("com.google.common.collect.Maps")
+              .named("newHashMap")
+              .withNoParameters());
+  private static final Matcher<ExpressionTree> TO_SET =
+      staticMethod().onClass("java.util.stream.Collectors").named("toSet");
+  private static final Matcher<ExpressionTree> TO_MAP =
+      staticMethod().onClass("java.util.stream.Collectors").named("toMap");
+  private static final Matcher<ExpressionTree> IMMUTABLE_SET_OF =
+      staticMethod().onClass("com.google.common.collect.ImmutableSet").namedAnyOf("of", "copyOf");
+  private static final Matcher<ExpressionTree> IMMUTABLE_MAP_COPY_OF =
+      staticMethod().onClass("com.google.common.collect.ImmutableMap").named("copyOf");
+
+  /** Instantiates a new {@link EnumKeyedCollection} instance. */
+  public EnumKeyedCollection() {}
+
+  @Override
+  public Description matchNewClass(NewClassTree tree, VisitorState state) {
+    if (tree.getClassBody() != null) {
+      return Description.NO_MATCH;
+    }
+
+    return matchMutableCollectionCreation(tree, state);
+  }
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (TO_SET.matches(tree, state)) {
+      return getEnumTypeArgument(ASTHelpers.getType(tree), COLLECTOR, 0, state)
+          .map(
+              elementType -> {
+                SuggestedFix.Builder fix = SuggestedFix.builder();
+                String toCollection =
+                    SuggestedFixes.qualifyStaticImport(
+                        "java.util.stream.Collectors.toCollection", fix, state);
+                return describe(
+                    tree,
+                    fix.replace(
+                            tree,
+                            String.format(
+                                "%s(() -> %s.noneOf(%s))",
+                                toCollection,
+                                SuggestedFixes.qualifyType(state, fix, "java.util.EnumSet"),
+                                classLiteral(elementType, fix, state)))
+                        .build(),
+                    state);
+              })
+          .orElse(Description.NO_MATCH);
+    }
+
+    if (TO_MAP.matches(tree, state)) {
+      return matchToMap(tree, state);
+    }
+
+    if (IMMUTABLE_SET_OF.matches(tree, state)) {
+      return matchImmutableCollectionCreation(
+          tree, ITERABLE, "com.google.common.collect.Sets.immutableEnumSet", state);
+    }
+
+    if (IMMUTABLE_MAP_COPY_OF.matches(tree, state)) {
+      return matchImmutableCollectionCreation(
+          tree, MAP, "com.google.common.collect.Maps.immutableEnumMap", state);
+    }
+
+    return matchMutableCollectionCreation(tree, state);
+  }
+
+  private Description matchMutableCollectionCreation(ExpressionTree tree, VisitorState state) {
+    boolean isSet = NEW_HASH_SET.matches(tree, state);
+    if (!isSet && !NEW_HASH_MAP.matches(tree, state)) {
+      return Description.NO_MATCH;
+    }
+
+    Supplier<Type> replacementType = isSet ? ENUM_SET : ENUM_MAP;
+    if (!isAssignableToTargetType(replacementType.get(state), state)) {
+      return Description.NO_MATCH;
+    }
+
+    return getEnumTypeArgument(ASTHelpers.getType(tree), isSet ? ITERABLE : MAP, 0, state)
+        .map(
+            elementType -> {
+              SuggestedFix.Builder fix = SuggestedFix.builder();
+              String type =
+                  SuggestedFixes.qualifyType(
+                      state, fix, replacementType.get(state).tsym.getQualifiedName().toString());
+              String classLiteral = classLiteral(elementType, fix, state);
+              return describe(
+                  tree,
+                  fix.replace(
+                          tree,
+                          isSet
+                              ? String.format("%s.noneOf(%s)", type, classLiteral)
+                              : String.format("new %s<>(%s)", type, classLiteral))
+                      .build(),
+                  state);
+            })
+        .orElse(Description.NO_MATCH);
+  }
+
+  private Description matchToMap(MethodInvocationTree tree, VisitorState state) {
+    Type collectorType = ASTHelpers.getType(tree);
+    Types types = state.getTypes();
+    Type resultType =
+        collectorType == null ? null : types.asSuper(collectorType, COLLECTOR.get(state).tsym);
+    if (resultType == null || resultType.getTypeArguments().size() != 3) {
+      return Description.NO_MATCH;
+    }
+
+    List<? extends ExpressionTree> arguments = tree.getArguments();
+    if (arguments.size() == 4) {
+      /* The four-argument overload already specifies a map factory. */
+      return Description.NO_MATCH;
+    }
+
+    return getEnumTypeArgument(resultType.getTypeArguments().get(2), MAP, 0, state)
+        .map(
+            keyType -> {
+              if (arguments.size() != 3) {
+                /* The two-argument overload does not accept a merge function. */
+                // XXX: Consider suggesting Guava's `Maps#toImmutableEnumMap` for the
+                // two-argument overload, if the resultant map is not modified.
+                return escalateInHotPath(buildDescription(tree), this, WARNING, state).build();
+              }
+
+              SuggestedFix.Builder fix = SuggestedFix.builder();
+              return describe(
+                  tree,
+                  fix.postfixWith(
+                          arguments.get(2),
+                          String.format(
+                              ", () -> new %s<>(%s)",
+                              SuggestedFixes.qualifyType(state, fix, "java.util.EnumMap"),
+                              classLiteral(keyType, fix, state)))
+                      .build(),
+                  state);
+            })
+        .orElse(Description.NO_MATCH);
+  }
+
+  private Description matchImmutableCollectionCreation(
+      MethodInvocationTree tree,
+      Supplier<Type> collectionType,
+      String replacementMethod,
+      VisitorState state) {
+    List<? extends ExpressionTree> arguments = tree.getArguments();
+    if (arguments.isEmpty()
+        || getEnumTypeArgument(ASTHelpers.getType(tree), collectionType, 0, state).isEmpty()) {
+      return Description.NO_MATCH;
+    }
+
+    if (ASTHelpers.getSymbol(tree).getSimpleName().contentEquals("copyOf")
+        && (arguments.size() != 1
+            || !ASTHelpers.isSubtype(
+                ASTHelpers.getType(arguments.get(0)), collectionType.get(state), state))) {
+      /* The replacement method does not accept arrays, iterators or map entries. */
+      return Description.NO_MATCH;
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    return describe(
+        tree,
+        fix.replace(
+                tree.getMethodSelect(),
+                SuggestedFixes.qualifyStaticImport(replacementMethod, fix, state))
+            .build(),
+        state);
+  }
+
+  private Description describe(Tree tree, SuggestedFix fix, VisitorState state) {
+    return escalateInHotPath(buildDescription(tree), this, WARNING, state).addFix(fix).build();
+  }
+
+  /**
+   * Tells whether the given enum-based collection type can be used in the context of the expression
+   * currently being matched.
+   */
+  private static boolean isAssignableToTargetType(Type replacementType, VisitorState state) {
+    TargetType targetType = ASTHelpers.targetType(state);
+    if (targetType == null) {
+      return false;
+    }
+
+    Types types = state.getTypes();
+    return types.isSubtype(types.erasure(replacementType), types.erasure(targetType.type()));
+  }
+
+  /**
+   * Returns the symbol of the enum type that is the type argument at the given index of the given
+   * type, when viewed as an instance of the given supertype.
+   */
+  private static Optional<Symbol> getEnumTypeArgument(
+      @Nullable Type type, Supplier<Type> supertype, int index, VisitorState state) {
+    if (type == null) {
+      return Optional.empty();
+    }
+
+    Type superType = state.getTypes().asSuper(type, supertype.get(state).tsym);
+    if (superType == null || superType.getTypeArguments().size() <= index) {
+      return Optional.empty();
+    }
+
+    Symbol typeArgument = superType.getTypeArguments().get(index).tsym;
+    return Optional.ofNullable(typeArgument).filter(symbol -> symbol.getKind() == ElementKind.ENUM);
+  }
+
+  private static String classLiteral(Symbol type, SuggestedFix.Builder fix, VisitorState state) {
+    return SuggestedFixes.qualifyType(state, fix, type) + ".class";
+  }
+}
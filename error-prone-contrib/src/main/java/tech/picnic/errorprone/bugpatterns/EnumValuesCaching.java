@@ -0,0 +1,387 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.STATIC;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.base.CaseFormat;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Streams;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.fixes.SuggestedFixes.AdditionPosition;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.util.ASTHelpers;
+import com.google.errorprone.util.FindIdentifiers;
+import com.sun.source.tree.ArrayAccessTree;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Kinds.KindSelector;
+import com.sun.tools.javac.code.Symbol;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.lang.model.element.ElementKind;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.ConflictDetection;
+import tech.picnic.errorprone.bugpatterns.util.HotPaths;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.ThirdPartyLibrary;
+
+/**
+ * A {@link BugChecker} that flags invocations of an enum's {@code values()} method in code that is
+ * likely to be executed repeatedly.
+ *
+ * <p>Each invocation of {@code values()} allocates a copy of the enum's backing array. Inside
+ * loops, lambda expressions and hot paths, as well as in methods that look up an enum value by
+ * iterating over all values, the result should instead be stored in a {@code private static final}
+ * field. Lookup methods may also benefit from a precomputed {@link
+ * com.google.common.collect.ImmutableMap} index.
+ *
+ * <p>If a suitable {@code static final} field already exists, then it is reused. Otherwise, a
+ * single field is introduced per enum and class: the fix suggested for the first such invocation
+ * replaces all of them. Invocations inside field initializers and initializer blocks are not
+ * flagged, as these are evaluated only once, and the introduced field could not be referenced from
+ * there without a forward reference.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid repeatedly invoking an enum's `values()` method, as each invocation allocates a "
+            + "new array; store the values in a `static final` field instead",
+    link = BUG_PATTERNS_BASE_URL + "EnumValuesCaching",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class EnumValuesCaching extends BugChecker implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Matcher<ExpressionTree> ENUM_VALUES =
+      staticMethod()
+          .onClass((type, state) -> type.tsym != null && type.tsym.getKind() == ElementKind.ENUM)
+          .named("values")
+          .withNoParameters();
+  private static final Matcher<ExpressionTree> IMMUTABLE_LIST_COPY_OF =
+      staticMethod().onClass(ImmutableList.class.getCanonicalName()).named("copyOf");
+  private static final Supplier<Map<ClassTree, ImmutableListMultimap<Symbol, TreePath>>>
+      HOISTED_INVOCATIONS = VisitorState.memoize(state -> new HashMap<>());
+
+  /** Instantiates a new {@link EnumValuesCaching} instance. */
+  public EnumValuesCaching() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (!ENUM_VALUES.matches(tree, state) || isInInitializer(state)) {
+      return Description.NO_MATCH;
+    }
+
+    boolean isLookup = isLookupLoopExpression(tree, state);
+    if (!isLookup && !isRepeatedlyEvaluated(state)) {
+      return Description.NO_MATCH;
+    }
+
+    Description.Builder description =
+        escalateInHotPath(buildDescription(tree), this, WARNING, state);
+    if (isLookup) {
+      description.setMessage(
+          "This method looks up an enum value by iterating over all values; consider indexing "
+              + "the values in a `static final` `ImmutableMap` instead, for example using "
+              + "`Maps#uniqueIndex`");
+    }
+    hoistValues(tree, state).ifPresent(description::addFix);
+    return description.build();
+  }
+
+  /**
+   * Tells whether the given {@link VisitorState}'s current {@link VisitorState#getPath() path} is
+   * part of a field initializer or an initializer block.
+   */
+  private static boolean isInInitializer(VisitorState state) {
+    return state.findEnclosing(MethodTree.class, ClassTree.class) instanceof ClassTree;
+  }
+
+  private static boolean isRepeatedlyEvaluated(VisitorState state) {
+    return MoreASTHelpers.findRepeatedlyExecutedScope(state)
+        .filter(scope -> !(scope.getLeaf() instanceof MethodTree) || HotPaths.isInHotPath(state))
+        .isPresent();
+  }
+
+  /**
+   * Tells whether the given expression is iterated over by an enhanced {@code for} loop that
+   * returns the matching element from the enclosing method.
+   */
+  private static boolean isLookupLoopExpression(MethodInvocationTree tree, VisitorState state) {
+    Tree parent = state.getPath().getParentPath().getLeaf();
+    if (!(parent instanceof EnhancedForLoopTree)
+        || !tree.equals(((EnhancedForLoopTree) parent).getExpression())) {
+      return false;
+    }
+
+    EnhancedForLoopTree loop = (EnhancedForLoopTree) parent;
+    Symbol element = ASTHelpers.getSymbol(loop.getVariable());
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public @Nullable Boolean visitClass(ClassTree node, @Nullable Void unused) {
+            return false;
+          }
+
+          @Override
+          public @Nullable Boolean visitLambdaExpression(
+              LambdaExpressionTree node, @Nullable Void unused) {
+            return false;
+          }
+
+          @Override
+          public Boolean visitReturn(ReturnTree node, @Nullable Void unused) {
+            return node.getExpression() != null
+                && element.equals(ASTHelpers.getSymbol(node.getExpression()));
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(loop.getStatement(), null));
+  }
+
+  /**
+   * Suggests to replace the given {@code values()} invocation with a reference to an existing or
+   * newly introduced {@code private static final} field, provided that the resultant array is only
+   * iterated over or read from.
+   */
+  private static Optional<SuggestedFix> hoistValues(MethodInvocationTree tree, VisitorState state) {
+    TreePath parentPath = state.getPath().getParentPath();
+    boolean isIterated = parentPath.getLeaf() instanceof EnhancedForLoopTree;
+    if (!isIterated && !isArrayRead(parentPath)) {
+      return Optional.empty();
+    }
+
+    Symbol enumSymbol = ASTHelpers.getSymbol(tree).owner;
+    Optional<String> existingField = findExistingField(enumSymbol, isIterated, state);
+    if (existingField.isPresent()) {
+      return existingField.map(field -> SuggestedFix.replace(tree, field));
+    }
+
+    Optional<ClassTree> target = MoreASTHelpers.findStaticFieldDeclarationTarget(state);
+    if (target.isEmpty()) {
+      return Optional.empty();
+    }
+
+    /*
+     * A single fix replaces all `values()` invocations on the enum that would otherwise introduce a
+     * field to the same class, so it is suggested only for the first of these, such that the field
+     * is declared only once.
+     */
+    ClassTree clazz = target.orElseThrow();
+    ImmutableListMultimap<Symbol, TreePath> hoistedInvocations =
+        getHoistedInvocations(clazz, state);
+    ImmutableList<TreePath> invocations = hoistedInvocations.get(enumSymbol);
+    if (invocations.isEmpty() || !invocations.get(0).getLeaf().equals(tree)) {
+      return Optional.empty();
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String enumType = SuggestedFixes.qualifyType(state, fix, enumSymbol);
+    String preferredName = getPreferredFieldName(enumSymbol, clazz);
+    String fieldName =
+        ConflictDetection.findUnusedFieldName(
+            preferredName,
+            clazz,
+            other -> isFirstHoistedInvocation(other, preferredName, clazz, hoistedInvocations),
+            state);
+    String declaration;
+    if (ThirdPartyLibrary.GUAVA.isIntroductionAllowed(state)
+        && invocations.stream().noneMatch(invocation -> isArrayRead(invocation.getParentPath()))) {
+      String immutableList =
+          SuggestedFixes.qualifyType(state, fix, ImmutableList.class.getCanonicalName());
+      declaration =
+          String.format(
+              "private static final %s<%s> %s = %s.copyOf(%s.values());",
+              immutableList, enumType, fieldName, immutableList, enumType);
+    } else {
+      declaration =
+          String.format(
+              "private static final %s[] %s = %s.values();", enumType, fieldName, enumType);
+    }
+
+    for (TreePath invocation : invocations) {
+      if (!isVariableInScope(fieldName, state.withPath(invocation))) {
+        fix.replace(invocation.getLeaf(), fieldName);
+      }
+    }
+
+    return SuggestedFixes.addMembers(
+            clazz, state, AdditionPosition.LAST, ImmutableList.of(declaration))
+        .map(addField -> fix.merge(addField).build());
+  }
+
+  /**
+   * Returns the name of a {@code static final} field of an enclosing class that holds the values of
+   * the given enum, if any. Fields of type {@link ImmutableList} are considered only if the values
+   * are iterated over.
+   */
+  private static Optional<String> findExistingField(
+      Symbol enumSymbol, boolean isIterated, VisitorState state) {
+    return Streams.stream(state.getPath())
+        .filter(ClassTree.class::isInstance)
+        .flatMap(clazz -> ((ClassTree) clazz).getMembers().stream())
+        .filter(VariableTree.class::isInstance)
+        .map(VariableTree.class::cast)
+        .filter(field -> holdsValues(field, enumSymbol, isIterated, state))
+        .filter(field -> isReferencedBySimpleName(field, state))
+        .map(field -> field.getName().toString())
+        .findFirst();
+  }
+
+  private static boolean holdsValues(
+      VariableTree field, Symbol enumSymbol, boolean isIterated, VisitorState state) {
+    ExpressionTree initializer = field.getInitializer();
+    if (initializer == null
+        || !field.getModifiers().getFlags().containsAll(ImmutableSet.of(STATIC, FINAL))) {
+      return false;
+    }
+
+    @Var ExpressionTree values = ASTHelpers.stripParentheses(initializer);
+    if (isIterated
+        && IMMUTABLE_LIST_COPY_OF.matches(values, state)
+        && ((MethodInvocationTree) values).getArguments().size() == 1) {
+      values = ASTHelpers.stripParentheses(((MethodInvocationTree) values).getArguments().get(0));
+    }
+
+    return ENUM_VALUES.matches(values, state)
+        && enumSymbol.equals(ASTHelpers.getSymbol((MethodInvocationTree) values).owner);
+  }
+
+  /**
+   * Tells whether the given field can be referenced by its simple name at the current path, i.e.
+   * whether it is not shadowed by another variable.
+   */
+  private static boolean isReferencedBySimpleName(VariableTree field, VisitorState state) {
+    return ASTHelpers.getSymbol(field)
+        .equals(FindIdentifiers.findIdent(field.getName().toString(), state, KindSelector.VAR));
+  }
+
+  /**
+   * Tells whether a variable with the given name is in scope at the given {@link VisitorState}'s
+   * current path, such that a field with that name could not be referenced by its simple name.
+   */
+  private static boolean isVariableInScope(String name, VisitorState state) {
+    return FindIdentifiers.findAllIdents(state).stream()
+        .anyMatch(symbol -> symbol.getSimpleName().contentEquals(name));
+  }
+
+  /**
+   * Returns the {@code values()} invocations, grouped by enum, for which a field would be
+   * introduced to the given class. The class is scanned at most once per compilation.
+   */
+  private static ImmutableListMultimap<Symbol, TreePath> getHoistedInvocations(
+      ClassTree clazz, VisitorState state) {
+    return HOISTED_INVOCATIONS
+        .get(state)
+        .computeIfAbsent(clazz, c -> findHoistedInvocations(c, state));
+  }
+
+  private static ImmutableListMultimap<Symbol, TreePath> findHoistedInvocations(
+      ClassTree clazz, VisitorState state) {
+    ImmutableListMultimap.Builder<Symbol, TreePath> invocations = ImmutableListMultimap.builder();
+    new TreePathScanner<@Nullable Void, @Nullable Void>() {
+      @Override
+      public @Nullable Void visitMethodInvocation(
+          MethodInvocationTree node, @Nullable Void unused) {
+        if (introducesField(node, clazz, state.withPath(getCurrentPath()))) {
+          invocations.put(ASTHelpers.getSymbol(node).owner, getCurrentPath());
+        }
+        return super.visitMethodInvocation(node, null);
+      }
+    }.scan(TreePath.getPath(state.getPath().getCompilationUnit(), clazz), null);
+    return invocations.build();
+  }
+
+  /**
+   * Tells whether the fix for the given {@code values()} invocation would introduce a field holding
+   * the enum's values to the given class.
+   */
+  private static boolean introducesField(
+      MethodInvocationTree tree, ClassTree clazz, VisitorState state) {
+    if (!ENUM_VALUES.matches(tree, state) || isInInitializer(state)) {
+      return false;
+    }
+
+    TreePath parentPath = state.getPath().getParentPath();
+    boolean isIterated = parentPath.getLeaf() instanceof EnhancedForLoopTree;
+    return (isIterated || isArrayRead(parentPath))
+        && (isLookupLoopExpression(tree, state) || isRepeatedlyEvaluated(state))
+        && findExistingField(ASTHelpers.getSymbol(tree).owner, isIterated, state).isEmpty()
+        && MoreASTHelpers.findStaticFieldDeclarationTarget(state).filter(clazz::equals).isPresent();
+  }
+
+  /**
+   * Tells whether the given {@link VisitorState}'s current path is the first {@code values()}
+   * invocation on an enum for which a field with the given preferred name would be introduced.
+   */
+  private static boolean isFirstHoistedInvocation(
+      VisitorState state,
+      String preferredName,
+      ClassTree clazz,
+      ImmutableListMultimap<Symbol, TreePath> hoistedInvocations) {
+    Tree tree = state.getPath().getLeaf();
+    return hoistedInvocations.keySet().stream()
+        .anyMatch(
+            enumSymbol ->
+                hoistedInvocations.get(enumSymbol).get(0).getLeaf().equals(tree)
+                    && preferredName.equals(getPreferredFieldName(enumSymbol, clazz)));
+  }
+
+  /**
+   * Tells whether the array produced by the expression at the given path's child is only read from.
+   */
+  private static boolean isArrayRead(TreePath parentPath) {
+    Tree parent = parentPath.getLeaf();
+    if (parent instanceof MemberSelectTree) {
+      return ((MemberSelectTree) parent).getIdentifier().contentEquals("length");
+    }
+
+    Tree grandParent = parentPath.getParentPath().getLeaf();
+    return parent instanceof ArrayAccessTree
+        && !(grandParent instanceof AssignmentTree
+            && parent.equals(((AssignmentTree) grandParent).getVariable()));
+  }
+
+  private static String getPreferredFieldName(Symbol enumSymbol, ClassTree target) {
+    if (enumSymbol.equals(ASTHelpers.getSymbol(target))) {
+      return "VALUES";
+    }
+
+    return CaseFormat.UPPER_CAMEL.to(
+            CaseFormat.UPPER_UNDERSCORE, enumSymbol.getSimpleName().toString())
+        + "_VALUES";
+  }
+}
@@ -0,0 +1,449 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.constructor;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.fixes.SuggestedFixes.AdditionPosition;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.ConflictDetection;
+import tech.picnic.errorprone.bugpatterns.util.Flags;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+
+/**
+ * A {@link BugChecker} that flags methods that construct an object that is expensive to create, but
+ * could instead be created once and shared.
+ *
+ * <p>Objects such as Jackson's {@code ObjectMapper}, Spring's {@code RestTemplate} and {@code
+ * WebClient}, {@link java.time.format.DateTimeFormatter}s and {@code JAXBContext}s are thread-safe,
+ * and should generally be stored in a {@code private static final} field. Unseeded {@link
+ * java.util.Random} instances should be replaced with {@link
+ * java.util.concurrent.ThreadLocalRandom#current()}. {@link java.text.SimpleDateFormat} instances
+ * are not thread-safe; they should be replaced with a shared {@link
+ * java.time.format.DateTimeFormatter}.
+ *
+ * <p>Only constructions with constant arguments are flagged. Additional types whose constructors
+ * should be flagged can be specified using the {@code ExpensiveObjectConstruction:ExtraTypes} flag.
+ * Construction inside constructors, field initializers and initializer blocks is not flagged, as
+ * such code is generally executed only once. Likewise, {@link java.util.Random} instances that are
+ * reseeded are not flagged, as {@link java.util.concurrent.ThreadLocalRandom} does not support
+ * this.
+ *
+ * <p>A fix is suggested only if the constructed object is immediately used to invoke a method that
+ * is known not to reconfigure it, such as {@code ObjectMapper#readValue} or {@code
+ * DateTimeFormatter#format}.
+ */
+// XXX: Also suggest a fix for local variables that hold such an object, provided that the object
+// is not reconfigured after construction.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid repeatedly constructing an expensive object; "
+            + "share a single instance using a `static final` field instead",
+    link = BUG_PATTERNS_BASE_URL + "ExpensiveObjectConstruction",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+@SuppressWarnings("java:S2160" /* Super class equality definition suffices. */)
+public final class ExpensiveObjectConstruction extends BugChecker
+    implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String EXTRA_TYPES_FLAG = "ExpensiveObjectConstruction:ExtraTypes";
+  private static final ImmutableList<String> WELL_KNOWN_TYPES =
+      ImmutableList.of(
+          "com.fasterxml.jackson.databind.ObjectMapper",
+          "com.fasterxml.jackson.databind.json.JsonMapper",
+          "com.google.gson.Gson",
+          "org.springframework.web.client.RestTemplate");
+  private static final Matcher<ExpressionTree> EXPENSIVE_FACTORY_METHOD =
+      anyOf(
+          staticMethod().onClass("java.time.format.DateTimeFormatter").named("ofPattern"),
+          staticMethod()
+              .onClass("org.springframework.web.reactive.function.client.WebClient")
+              .named("create"),
+          staticMethod()
+              .onClassAny("jakarta.xml.bind.JAXBContext", "javax.xml.bind.JAXBContext")
+              .named("newInstance"));
+  private static final Matcher<ExpressionTree> READ_ONLY_METHOD =
+      anyOf(
+          instanceMethod()
+              .onDescendantOfAny(
+                  "java.time.format.DateTimeFormatter",
+                  "org.springframework.web.reactive.function.client.WebClient"),
+          instanceMethod()
+              .onDescendantOf("com.fasterxml.jackson.databind.ObjectMapper")
+              .namedAnyOf(
+                  "convertValue",
+                  "readTree",
+                  "readValue",
+                  "readValues",
+                  "readerFor",
+                  "treeToValue",
+                  "valueToTree",
+                  "writeValue",
+                  "writeValueAsBytes",
+                  "writeValueAsString",
+                  "writer",
+                  "writerFor",
+                  "writerWithDefaultPrettyPrinter"),
+          instanceMethod()
+              .onDescendantOf("com.google.gson.Gson")
+              .namedAnyOf("fromJson", "toJson", "toJsonTree"),
+          instanceMethod()
+              .onDescendantOf("org.springframework.web.client.RestTemplate")
+              .namedAnyOf(
+                  "delete",
+                  "exchange",
+                  "execute",
+                  "getForEntity",
+                  "getForObject",
+                  "headForHeaders",
+                  "optionsForAllow",
+                  "patchForObject",
+                  "postForEntity",
+                  "postForLocation",
+                  "postForObject",
+                  "put"),
+          instanceMethod()
+              .onDescendantOfAny("jakarta.xml.bind.JAXBContext", "javax.xml.bind.JAXBContext")
+              .namedAnyOf("createMarshaller", "createUnmarshaller"));
+  private static final Matcher<ExpressionTree> NEW_RANDOM =
+      constructor().forClass("java.util.Random").withNoParameters();
+  private static final Matcher<ExpressionTree> RANDOM_SET_SEED =
+      instanceMethod().onDescendantOf("java.util.Random").named("setSeed");
+  private static final Matcher<ExpressionTree> NEW_SIMPLE_DATE_FORMAT =
+      constructor().forClass("java.text.SimpleDateFormat");
+  private static final Pattern LOWER_UPPER_BOUNDARY = Pattern.compile("([a-z0-9])([A-Z])");
+  private static final Pattern ACRONYM_BOUNDARY = Pattern.compile("([A-Z])([A-Z][a-z])");
+
+  private final Matcher<ExpressionTree> expensiveConstructor;
+
+  /** Instantiates a default {@link ExpensiveObjectConstruction} instance. */
+  public ExpensiveObjectConstruction() {
+    this(ErrorProneFlags.empty());
+  }
+
+  /**
+   * Instantiates a customized {@link ExpensiveObjectConstruction} instance.
+   *
+   * @param flags Any provided command line flags.
+   */
+  @Inject
+  ExpensiveObjectConstruction(ErrorProneFlags flags) {
+    expensiveConstructor = createExpensiveConstructorMatcher(flags);
+  }
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    return isSharableConstruction(tree, state)
+        ? describeHoistableConstruction(tree, state)
+        : Description.NO_MATCH;
+  }
+
+  @Override
+  public Description matchNewClass(NewClassTree tree, VisitorState state) {
+    if (tree.getClassBody() != null
+        || MoreASTHelpers.findRepeatedlyExecutedScope(state).isEmpty()) {
+      return Description.NO_MATCH;
+    }
+
+    if (NEW_RANDOM.matches(tree, state)) {
+      if (isReseeded(tree, state)) {
+        return Description.NO_MATCH;
+      }
+
+      Description.Builder description =
+          escalateInHotPath(buildDescription(tree), this, WARNING, state)
+              .setMessage(
+                  "Avoid constructing a new `Random` instance; use `ThreadLocalRandom.current()` "
+                      + "instead");
+      if (isUsedInPlace(state) || isNonEscapingLocalVariableInitializer(tree, state)) {
+        SuggestedFix.Builder fix = SuggestedFix.builder();
+        description.addFix(
+            fix.replace(
+                    tree,
+                    SuggestedFixes.qualifyType(state, fix, "java.util.concurrent.ThreadLocalRandom")
+                        + ".current()")
+                .build());
+      }
+      return description.build();
+    }
+
+    if (!hasConstantArguments(tree.getArguments())) {
+      return Description.NO_MATCH;
+    }
+
+    if (NEW_SIMPLE_DATE_FORMAT.matches(tree, state)) {
+      return escalateInHotPath(buildDescription(tree), this, WARNING, state)
+          .setMessage(
+              "Avoid repeatedly constructing a `SimpleDateFormat`; "
+                  + "share a `static final` `DateTimeFormatter` instead")
+          .build();
+    }
+
+    return expensiveConstructor.matches(tree, state)
+        ? describeHoistableConstruction(tree, state)
+        : Description.NO_MATCH;
+  }
+
+  /**
+   * Tells whether the given expression creates an object that is expensive to create, but may be
+   * shared, and whether it does so in code that is likely executed repeatedly.
+   */
+  private boolean isSharableConstruction(ExpressionTree tree, VisitorState state) {
+    if (MoreASTHelpers.findRepeatedlyExecutedScope(state).isEmpty()) {
+      return false;
+    }
+
+    if (tree instanceof MethodInvocationTree) {
+      return EXPENSIVE_FACTORY_METHOD.matches(tree, state)
+          && hasConstantArguments(((MethodInvocationTree) tree).getArguments());
+    }
+
+    return tree instanceof NewClassTree
+        && ((NewClassTree) tree).getClassBody() == null
+        && hasConstantArguments(((NewClassTree) tree).getArguments())
+        && !NEW_RANDOM.matches(tree, state)
+        && !NEW_SIMPLE_DATE_FORMAT.matches(tree, state)
+        && expensiveConstructor.matches(tree, state);
+  }
+
+  private Description describeHoistableConstruction(ExpressionTree tree, VisitorState state) {
+    Description.Builder description =
+        escalateInHotPath(buildDescription(tree), this, WARNING, state);
+    hoist(tree, state).ifPresent(description::addFix);
+    return description.build();
+  }
+
+  /**
+   * Suggests to replace the given expression with a reference to a newly introduced {@code private
+   * static final} field.
+   */
+  private Optional<SuggestedFix> hoist(ExpressionTree tree, VisitorState state) {
+    Optional<ClassTree> target = findHoistTarget(tree, state);
+    Type type = ASTHelpers.getType(tree);
+    if (target.isEmpty() || type == null) {
+      return Optional.empty();
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    ClassTree clazz = target.orElseThrow();
+    String preferredFieldName = getPreferredFieldName(type);
+    String fieldName =
+        ConflictDetection.findUnusedFieldName(
+            preferredFieldName,
+            clazz,
+            other ->
+                other.getPath().getLeaf() instanceof ExpressionTree
+                    && isHoistedTo(
+                        (ExpressionTree) other.getPath().getLeaf(),
+                        clazz,
+                        preferredFieldName,
+                        other),
+            state);
+    return SuggestedFixes.addMembers(
+            clazz,
+            state,
+            clazz.getKind() == Tree.Kind.ENUM ? AdditionPosition.LAST : AdditionPosition.FIRST,
+            ImmutableList.of(
+                String.format(
+                    "private static final %s %s = %s;",
+                    SuggestedFixes.prettyType(state, fix, type),
+                    fieldName,
+                    SourceCode.treeToString(tree, state))))
+        .map(addField -> fix.merge(addField).replace(tree, fieldName).build());
+  }
+
+  /**
+   * Tells whether the fix for the given expression, if flagged, would introduce a field with the
+   * given preferred name to the given class.
+   */
+  private boolean isHoistedTo(
+      ExpressionTree tree, ClassTree clazz, String preferredFieldName, VisitorState state) {
+    Type type = ASTHelpers.getType(tree);
+    return type != null
+        && isSharableConstruction(tree, state)
+        && findHoistTarget(tree, state).filter(clazz::equals).isPresent()
+        && preferredFieldName.equals(getPreferredFieldName(type));
+  }
+
+  /**
+   * Returns the class to which a field holding the object created by the given expression can be
+   * added, provided that the object is used only once, to invoke a method that does not reconfigure
+   * it.
+   */
+  private static Optional<ClassTree> findHoistTarget(ExpressionTree tree, VisitorState state) {
+    if (!isUsedInPlace(state)
+        || !READ_ONLY_METHOD.matches(
+            (ExpressionTree) state.getPath().getParentPath().getParentPath().getLeaf(), state)
+        || throwsCheckedException(tree, state)
+        || referencesVariableBySimpleName(tree)) {
+      /*
+       * Other methods may reconfigure the shared object, field initializers may not throw checked
+       * exceptions, and unqualified references may become illegal forward references.
+       */
+      return Optional.empty();
+    }
+
+    /*
+     * Fields are appended to enums, such that they may not be referenced from the enum's
+     * constructors and initializers.
+     */
+    Tree enclosing = state.findEnclosing(MethodTree.class, ClassTree.class);
+    boolean isInMethod =
+        enclosing instanceof MethodTree
+            && !ASTHelpers.getSymbol((MethodTree) enclosing).isConstructor();
+    return MoreASTHelpers.findStaticFieldDeclarationTarget(state)
+        .filter(clazz -> isInMethod || clazz.getKind() != Tree.Kind.ENUM);
+  }
+
+  private static String getPreferredFieldName(Type type) {
+    return toConstantName(type.tsym.getSimpleName().toString());
+  }
+
+  private static Matcher<ExpressionTree> createExpensiveConstructorMatcher(ErrorProneFlags flags) {
+    return anyOf(
+        ImmutableList.<String>builder()
+            .addAll(WELL_KNOWN_TYPES)
+            .addAll(Flags.getList(flags, EXTRA_TYPES_FLAG))
+            .build()
+            .stream()
+            .map(type -> constructor().forClass(type))
+            .collect(toImmutableList()));
+  }
+
+  /**
+   * Tells whether the given {@link VisitorState}'s current {@link VisitorState#getPath() path} is
+   * the receiver of a method invocation, such that the constructed object is used only once.
+   */
+  private static boolean isUsedInPlace(VisitorState state) {
+    TreePath parent = state.getPath().getParentPath();
+    return parent.getLeaf() instanceof MemberSelectTree
+        && parent.getParentPath().getLeaf() instanceof MethodInvocationTree;
+  }
+
+  /**
+   * Tells whether the {@link java.util.Random} instance created by the given expression is
+   * (potentially) reseeded.
+   */
+  private static boolean isReseeded(NewClassTree tree, VisitorState state) {
+    TreePath parent = state.getPath().getParentPath();
+    if (isUsedInPlace(state)) {
+      return RANDOM_SET_SEED.matches((ExpressionTree) parent.getParentPath().getLeaf(), state);
+    }
+
+    if (!(parent.getLeaf() instanceof VariableTree)
+        || !tree.equals(((VariableTree) parent.getLeaf()).getInitializer())) {
+      return false;
+    }
+
+    Symbol variable = ASTHelpers.getSymbol((VariableTree) parent.getLeaf());
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitMethodInvocation(MethodInvocationTree node, @Nullable Void unused) {
+            ExpressionTree receiver = ASTHelpers.getReceiver(node);
+            return (receiver != null
+                    && RANDOM_SET_SEED.matches(node, state)
+                    && variable.equals(ASTHelpers.getSymbol(receiver)))
+                || Boolean.TRUE.equals(super.visitMethodInvocation(node, null));
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(state.getPath().getCompilationUnit(), null));
+  }
+
+  private static boolean isNonEscapingLocalVariableInitializer(
+      ExpressionTree tree, VisitorState state) {
+    TreePath parent = state.getPath().getParentPath();
+    return parent.getLeaf() instanceof VariableTree
+        && tree.equals(((VariableTree) parent.getLeaf()).getInitializer())
+        && MoreASTHelpers.isNonEscapingLocalVariable(parent, state);
+  }
+
+  private static boolean hasConstantArguments(List<? extends ExpressionTree> arguments) {
+    return arguments.stream()
+        .map(ASTHelpers::stripParentheses)
+        .allMatch(
+            argument ->
+                ASTHelpers.constValue(argument) != null
+                    || (argument instanceof MemberSelectTree
+                        && ((MemberSelectTree) argument).getIdentifier().contentEquals("class")));
+  }
+
+  private static boolean throwsCheckedException(ExpressionTree tree, VisitorState state) {
+    Symbol symbol = ASTHelpers.getSymbol(tree);
+    return symbol instanceof MethodSymbol
+        && ((MethodSymbol) symbol)
+            .getThrownTypes().stream()
+                .anyMatch(type -> ASTHelpers.isCheckedExceptionType(type, state));
+  }
+
+  private static boolean referencesVariableBySimpleName(Tree tree) {
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            return ASTHelpers.getSymbol(node) instanceof VarSymbol;
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
+
+  /**
+   * Converts the given type name into a constant name, e.g. {@code JAXBContext -> JAXB_CONTEXT}.
+   */
+  private static String toConstantName(String typeName) {
+    String words = LOWER_UPPER_BOUNDARY.matcher(typeName).replaceAll("$1_$2");
+    return ACRONYM_BOUNDARY.matcher(words).replaceAll("$1_$2").toUpperCase(Locale.ROOT);
+  }
+}
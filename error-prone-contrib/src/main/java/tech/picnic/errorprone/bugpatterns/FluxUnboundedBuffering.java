@@ -0,0 +1,125 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+
+/**
+ * A {@link BugChecker} that flags {@link Flux} operators that buffer all emitted elements, when
+ * invoked on a {@link Flux} that is not known to emit a bounded number of elements.
+ *
+ * <p>Operators such as {@link Flux#collectList()}, {@link Flux#collectMap(Function)}, {@link
+ * Flux#collect(java.util.stream.Collector)}, {@link Flux#sort()}, {@link Flux#buffer()} and {@link
+ * Flux#cache()} retain all elements in memory. If the number of elements emitted by the source is
+ * not bounded, this can cause the application to run out of memory. In such cases, consider
+ * processing elements in a streaming fashion, for example using {@link Flux#window(int)}, {@link
+ * Flux#reduce(Object, java.util.function.BiFunction)} or {@link Flux#buffer(int)}.
+ *
+ * <p>A {@link Flux} is considered bounded only if it is derived from a well-known finite source
+ * such as {@link Flux#just(Object)} or {@link Flux#fromIterable(Iterable)}, or if its size is
+ * explicitly limited using {@link Flux#take(long)}.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid buffering all elements of a `Flux` that may be unbounded; "
+            + "prefer streaming alternatives such as `window`, `reduce` or `buffer(int)`",
+    link = BUG_PATTERNS_BASE_URL + "FluxUnboundedBuffering",
+    linkType = CUSTOM,
+    severity = WARNING,
+    tags = PERFORMANCE)
+public final class FluxUnboundedBuffering extends BugChecker
+    implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String FLUX = "reactor.core.publisher.Flux";
+  private static final Matcher<ExpressionTree> UNBOUNDED_BUFFERING_OPERATOR =
+      anyOf(
+          instanceMethod()
+              .onDescendantOf(FLUX)
+              .namedAnyOf(
+                  "collectList", "collectMap", "collectMultimap", "collectSortedList", "sort"),
+          instanceMethod()
+              .onDescendantOf(FLUX)
+              .named("collect")
+              .withParameters("java.util.stream.Collector"),
+          instanceMethod().onDescendantOf(FLUX).namedAnyOf("buffer", "cache").withNoParameters());
+  private static final Matcher<ExpressionTree> BOUNDED_SOURCE =
+      anyOf(
+          staticMethod()
+              .onClass(FLUX)
+              .namedAnyOf("empty", "fromArray", "fromIterable", "just", "range"),
+          instanceMethod().onDescendantOf(FLUX).named("take"),
+          instanceMethod().onDescendantOf("reactor.core.publisher.Mono").named("flux"));
+  /*
+   * Note that `sort` buffers all elements, and is flagged as such, but it does not change the number
+   * of emitted elements.
+   */
+  private static final Matcher<ExpressionTree> SIZE_PRESERVING_OPERATOR =
+      instanceMethod()
+          .onDescendantOf(FLUX)
+          .namedAnyOf(
+              "cast",
+              "distinct",
+              "doOnNext",
+              "filter",
+              "filterWhen",
+              "handle",
+              "log",
+              "map",
+              "mapNotNull",
+              "ofType",
+              "skip",
+              "sort");
+
+  /** Instantiates a new {@link FluxUnboundedBuffering} instance. */
+  public FluxUnboundedBuffering() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (!UNBOUNDED_BUFFERING_OPERATOR.matches(tree, state)) {
+      return Description.NO_MATCH;
+    }
+
+    ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+    return receiver == null || isKnownToBeBounded(receiver, state)
+        ? Description.NO_MATCH
+        : describeMatch(tree);
+  }
+
+  /**
+   * Tells whether the given {@link Flux} expression is known to emit a bounded number of elements,
+   * by tracing it back through operators that do not increase the number of emitted elements.
+   */
+  // XXX: Operators such as `concatMap` preserve boundedness if the publishers they subscribe to are
+  // bounded. Consider tracing those as well.
+  private static boolean isKnownToBeBounded(ExpressionTree tree, VisitorState state) {
+    ExpressionTree expression = ASTHelpers.stripParentheses(tree);
+    if (BOUNDED_SOURCE.matches(expression, state)) {
+      return true;
+    }
+
+    if (!SIZE_PRESERVING_OPERATOR.matches(expression, state)) {
+      return false;
+    }
+
+    ExpressionTree receiver = ASTHelpers.getReceiver(expression);
+    return receiver != null && isKnownToBeBounded(receiver, state);
+  }
+}
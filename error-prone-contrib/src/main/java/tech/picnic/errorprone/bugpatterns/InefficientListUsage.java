@@ -0,0 +1,552 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.Matchers.isNonNullUsingDataflow;
+import static com.google.errorprone.matchers.Matchers.isSubtypeOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.constructor;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.google.errorprone.util.ASTHelpers.TargetType;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import javax.lang.model.element.Modifier;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+
+/**
+ * A {@link BugChecker} that flags usages of {@link List} implementations that perform poorly for
+ * the operations applied to them.
+ *
+ * <p>This check flags:
+ *
+ * <ul>
+ *   <li>{@link java.util.LinkedList} instances used as a {@link java.util.Queue} or {@link
+ *       java.util.Deque}, for which {@link java.util.ArrayDeque} is faster and more compact;
+ *   <li>{@link java.util.LinkedList} instances used as a general-purpose {@link List} without
+ *       insertions or removals at arbitrary positions, for which {@link java.util.ArrayList} is
+ *       faster and more compact;
+ *   <li>index-based element lookups on a {@link java.util.LinkedList} inside a loop, as each such
+ *       lookup takes linear time;
+ *   <li>insertions at and removals from the head of an {@link java.util.ArrayList} inside a loop,
+ *       as each such operation shifts all other elements.
+ * </ul>
+ *
+ * <p>Fixes are suggested only if they do not affect code beyond the flagged expression or local
+ * variable. As {@link java.util.ArrayDeque} does not accept {@code null} elements, it is suggested
+ * only if all elements added to the collection are known to be non-null.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary = "This `List` implementation performs poorly for the operations applied to it",
+    link = BUG_PATTERNS_BASE_URL + "InefficientListUsage",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class InefficientListUsage extends BugChecker
+    implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String ARRAY_DEQUE = "java.util.ArrayDeque";
+  private static final String ARRAY_LIST = "java.util.ArrayList";
+  private static final String LINKED_LIST = "java.util.LinkedList";
+  private static final ImmutableSet<String> QUEUE_TYPES =
+      ImmutableSet.of("java.util.Deque", "java.util.Queue");
+  private static final ImmutableSet<String> LIST_TYPES =
+      ImmutableSet.of("java.util.Collection", "java.util.List");
+  private static final Matcher<ExpressionTree> NEW_ARRAY_LIST = constructor().forClass(ARRAY_LIST);
+  private static final Matcher<ExpressionTree> NEW_LINKED_LIST =
+      constructor().forClass(LINKED_LIST);
+  private static final Matcher<ExpressionTree> ARRAY_LIST_METHOD =
+      instanceMethod().onDescendantOf(ARRAY_LIST);
+  private static final Matcher<ExpressionTree> LINKED_LIST_METHOD =
+      instanceMethod().onDescendantOf(LINKED_LIST);
+  private static final Matcher<ExpressionTree> INDEXED_ADD =
+      instanceMethod()
+          .onDescendantOf("java.util.List")
+          .named("add")
+          .withParameters("int", "java.lang.Object");
+  private static final Matcher<ExpressionTree> INDEXED_GET =
+      instanceMethod().onDescendantOf("java.util.List").named("get").withParameters("int");
+  private static final Matcher<ExpressionTree> INDEXED_REMOVE =
+      instanceMethod().onDescendantOf("java.util.List").named("remove").withParameters("int");
+  private static final Matcher<ExpressionTree> POSITIONAL_MODIFICATION =
+      anyOf(
+          INDEXED_ADD,
+          INDEXED_REMOVE,
+          instanceMethod()
+              .onDescendantOf("java.util.List")
+              .named("addAll")
+              .withParameters("int", "java.util.Collection"),
+          instanceMethod()
+              .onDescendantOf("java.util.Collection")
+              .named("remove")
+              .withParameters("java.lang.Object"),
+          instanceMethod()
+              .onDescendantOf("java.util.List")
+              .namedAnyOf("iterator", "listIterator", "subList"));
+  private static final Matcher<ExpressionTree> ELEMENT_INSERTION =
+      anyOf(
+          instanceMethod()
+              .onDescendantOf("java.util.Collection")
+              .named("add")
+              .withParameters("java.lang.Object"),
+          instanceMethod()
+              .onDescendantOf("java.util.Queue")
+              .namedAnyOf("addFirst", "addLast", "offer", "offerFirst", "offerLast", "push"));
+  private static final Matcher<ExpressionTree> BULK_INSERTION =
+      instanceMethod()
+          .onDescendantOf("java.util.Collection")
+          .named("addAll")
+          .withParameters("java.util.Collection");
+  private static final Matcher<ExpressionTree> NULL_HOSTILE_COLLECTION =
+      anyOf(
+          isSubtypeOf("com.google.common.collect.ImmutableCollection"),
+          staticMethod().onClassAny("java.util.List", "java.util.Set").namedAnyOf("copyOf", "of"));
+  private static final Matcher<ExpressionTree> NON_NULL = isNonNullUsingDataflow();
+  private static final Matcher<ExpressionTree> DEQUE_COMPATIBLE_METHOD =
+      anyOf(
+          instanceMethod()
+              .onDescendantOf("java.util.List")
+              .namedAnyOf("add", "remove")
+              .withParameters("java.lang.Object"),
+          instanceMethod()
+              .onDescendantOf("java.util.List")
+              .named("addAll")
+              .withParameters("java.util.Collection"),
+          instanceMethod()
+              .onDescendantOf("java.util.List")
+              .namedAnyOf(
+                  "clear",
+                  "contains",
+                  "forEach",
+                  "isEmpty",
+                  "iterator",
+                  "removeIf",
+                  "size",
+                  "stream"));
+
+  /** Instantiates a new {@link InefficientListUsage} instance. */
+  public InefficientListUsage() {}
+
+  @Override
+  public Description matchNewClass(NewClassTree tree, VisitorState state) {
+    TargetType targetType = ASTHelpers.targetType(state);
+    if (!NEW_LINKED_LIST.matches(tree, state)
+        || tree.getClassBody() != null
+        || targetType == null) {
+      return Description.NO_MATCH;
+    }
+
+    /*
+     * The suggested replacement must implement the target type, such that the fix does not affect
+     * code beyond the flagged expression.
+     */
+    String target = targetType.type().tsym.getQualifiedName().toString();
+    Optional<ImmutableList<TreePath>> references = findReferences(tree, state);
+    if (QUEUE_TYPES.contains(target)) {
+      /*
+       * An `ArrayDeque` outperforms a `LinkedList` for all queue operations, but it rejects `null`
+       * elements. So the fix is suggested only if all added elements are known to be non-null.
+       */
+      boolean isFixable =
+          hasNullHostileArguments(tree, state)
+              && references
+                  .filter(refs -> refs.stream().allMatch(ref -> isDequeCompatible(ref, state)))
+                  .isPresent();
+      return describeConstruction(tree, ARRAY_DEQUE, isFixable, state);
+    }
+
+    /*
+     * A `LinkedList` outperforms an `ArrayList` for insertions and removals at arbitrary positions,
+     * so the latter is suggested only if all usages of the list are known to not perform such
+     * operations.
+     */
+    if (LIST_TYPES.contains(target)
+        && references
+            .filter(refs -> refs.stream().allMatch(ref -> isArrayListCompatible(ref, state)))
+            .isPresent()) {
+      return describeConstruction(tree, ARRAY_LIST, /* isFixable= */ true, state);
+    }
+
+    return Description.NO_MATCH;
+  }
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+    if (receiver == null || MoreASTHelpers.findEnclosingLoop(state).isEmpty()) {
+      return Description.NO_MATCH;
+    }
+
+    if (INDEXED_GET.matches(tree, state)
+        && !isConstantZero(tree.getArguments().get(0))
+        && isCreatedAs(receiver, LINKED_LIST_METHOD, NEW_LINKED_LIST, tree, state)) {
+      return escalateInHotPath(buildDescription(tree), this, WARNING, state)
+          .setMessage(
+              "Index-based lookups on a `LinkedList` take linear time; "
+                  + "iterate over the list or use an `ArrayList` instead")
+          .build();
+    }
+
+    if ((INDEXED_ADD.matches(tree, state) || INDEXED_REMOVE.matches(tree, state))
+        && isConstantZero(tree.getArguments().get(0))
+        && isCreatedAs(receiver, ARRAY_LIST_METHOD, NEW_ARRAY_LIST, tree, state)) {
+      Description.Builder description =
+          escalateInHotPath(buildDescription(tree), this, WARNING, state)
+              .setMessage(
+                  "Inserting or removing the first element of an `ArrayList` takes linear time; "
+                      + "use an `ArrayDeque` instead");
+      findLocalDeclaration(receiver, state)
+          .flatMap(declaration -> suggestDeque(declaration, state))
+          .ifPresent(description::addFix);
+      return description.build();
+    }
+
+    return Description.NO_MATCH;
+  }
+
+  private Description describeConstruction(
+      NewClassTree tree, String replacement, boolean isFixable, VisitorState state) {
+    Description.Builder description =
+        escalateInHotPath(buildDescription(tree), this, WARNING, state)
+            .setMessage(
+                String.format(
+                    "Prefer `%s` over `LinkedList`, as it is faster and more compact",
+                    replacement.substring(replacement.lastIndexOf('.') + 1)));
+    if (isFixable) {
+      SuggestedFix.Builder fix = SuggestedFix.builder();
+      replaceClass(tree, replacement, fix, state);
+      description.addFix(fix.build());
+    }
+    return description.build();
+  }
+
+  /**
+   * Returns the paths to all references to the variable initialized with the given expression,
+   * provided that the expression initializes a local variable or private field, such that all such
+   * references are known.
+   */
+  private static Optional<ImmutableList<TreePath>> findReferences(
+      NewClassTree tree, VisitorState state) {
+    Tree parent = state.getPath().getParentPath().getLeaf();
+    if (!(parent instanceof VariableTree)
+        || !tree.equals(((VariableTree) parent).getInitializer())) {
+      return Optional.empty();
+    }
+
+    Symbol variable = ASTHelpers.getSymbol((VariableTree) parent);
+    if (!ASTHelpers.isLocal(variable) && !variable.getModifiers().contains(Modifier.PRIVATE)) {
+      return Optional.empty();
+    }
+
+    ImmutableList.Builder<TreePath> references = ImmutableList.builder();
+    new TreePathScanner<@Nullable Void, @Nullable Void>() {
+      @Override
+      public @Nullable Void visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+        if (variable.equals(ASTHelpers.getSymbol(node))) {
+          references.add(getCurrentPath());
+        }
+        return super.visitIdentifier(node, null);
+      }
+
+      @Override
+      public @Nullable Void visitMemberSelect(MemberSelectTree node, @Nullable Void unused) {
+        if (variable.equals(ASTHelpers.getSymbol(node))) {
+          references.add(getCurrentPath());
+        }
+        return super.visitMemberSelect(node, null);
+      }
+    }.scan(new TreePath(state.getPath().getCompilationUnit()), null);
+    return Optional.of(references.build());
+  }
+
+  /**
+   * Tells whether the given reference to a {@link java.util.LinkedList} is iterated over or used to
+   * invoke a method that does not insert or remove elements at arbitrary positions.
+   */
+  private static boolean isArrayListCompatible(TreePath reference, VisitorState state) {
+    return isIterated(reference)
+        || findInvocation(reference)
+            .filter(
+                invocation ->
+                    !POSITIONAL_MODIFICATION.matches((ExpressionTree) invocation.getLeaf(), state))
+            .isPresent();
+  }
+
+  /**
+   * Tells whether the given reference to a {@link java.util.LinkedList} is iterated over or used to
+   * invoke a method that is known not to add {@code null} elements.
+   */
+  private static boolean isDequeCompatible(TreePath reference, VisitorState state) {
+    return isIterated(reference)
+        || findInvocation(reference)
+            .filter(invocation -> addsNonNullElementsOnly(invocation, state))
+            .isPresent();
+  }
+
+  private static boolean isIterated(TreePath reference) {
+    Tree parent = reference.getParentPath().getLeaf();
+    return parent instanceof EnhancedForLoopTree
+        && reference.getLeaf().equals(((EnhancedForLoopTree) parent).getExpression());
+  }
+
+  /** Returns the path to the method invocation of which the given reference is the receiver. */
+  private static Optional<TreePath> findInvocation(TreePath reference) {
+    TreePath parentPath = reference.getParentPath();
+    Tree grandParent = parentPath.getParentPath().getLeaf();
+    return parentPath.getLeaf() instanceof MemberSelectTree
+            && grandParent instanceof MethodInvocationTree
+            && parentPath.getLeaf().equals(((MethodInvocationTree) grandParent).getMethodSelect())
+        ? Optional.of(parentPath.getParentPath())
+        : Optional.empty();
+  }
+
+  /**
+   * Tells whether the method invocation at the given path does not add elements, or only adds
+   * elements that are known to be non-null.
+   */
+  private static boolean addsNonNullElementsOnly(TreePath invocationPath, VisitorState state) {
+    MethodInvocationTree invocation = (MethodInvocationTree) invocationPath.getLeaf();
+    VisitorState localState = state.withPath(invocationPath);
+    if (ELEMENT_INSERTION.matches(invocation, localState)
+        || INDEXED_ADD.matches(invocation, localState)) {
+      List<? extends ExpressionTree> arguments = invocation.getArguments();
+      return NON_NULL.matches(arguments.get(arguments.size() - 1), localState);
+    }
+
+    return !BULK_INSERTION.matches(invocation, localState)
+        || NULL_HOSTILE_COLLECTION.matches(invocation.getArguments().get(0), localState);
+  }
+
+  /**
+   * Tells whether the given constructor invocation does not populate the collection with elements
+   * that may be {@code null}, i.e., whether each argument is either a capacity or a collection
+   * known to reject {@code null} elements.
+   */
+  private static boolean hasNullHostileArguments(NewClassTree tree, VisitorState state) {
+    return tree.getArguments().stream()
+        .allMatch(
+            argument ->
+                ASTHelpers.getType(argument).isPrimitive()
+                    || NULL_HOSTILE_COLLECTION.matches(argument, state));
+  }
+
+  /**
+   * Tells whether the given receiver is known to be an instance of a specific collection type,
+   * either because of its static type, or because it is an effectively final local variable
+   * initialized with an instance of said type.
+   */
+  private static boolean isCreatedAs(
+      ExpressionTree receiver,
+      Matcher<ExpressionTree> typeMethodMatcher,
+      Matcher<ExpressionTree> constructorMatcher,
+      MethodInvocationTree invocation,
+      VisitorState state) {
+    if (typeMethodMatcher.matches(invocation, state)) {
+      return true;
+    }
+
+    return findLocalDeclaration(receiver, state)
+        .map(VariableTree::getInitializer)
+        .filter(initializer -> constructorMatcher.matches(initializer, state))
+        .isPresent();
+  }
+
+  /**
+   * Returns the declaration of the given expression, provided that it references an effectively
+   * final local variable declared in the enclosing method.
+   */
+  private static Optional<VariableTree> findLocalDeclaration(
+      ExpressionTree tree, VisitorState state) {
+    Symbol symbol = ASTHelpers.getSymbol(tree);
+    MethodTree method = state.findEnclosing(MethodTree.class);
+    if (!(tree instanceof IdentifierTree)
+        || symbol == null
+        || !ASTHelpers.isLocal(symbol)
+        || !ASTHelpers.isConsideredFinal(symbol)
+        || method == null) {
+      return Optional.empty();
+    }
+
+    return Optional.ofNullable(
+        new TreeScanner<@Nullable VariableTree, @Nullable Void>() {
+          @Override
+          public @Nullable VariableTree visitVariable(VariableTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node))
+                ? node
+                : super.visitVariable(node, null);
+          }
+
+          @Override
+          public @Nullable VariableTree reduce(
+              @Nullable VariableTree r1, @Nullable VariableTree r2) {
+            return r1 != null ? r1 : r2;
+          }
+        }.scan(method, null));
+  }
+
+  /**
+   * Suggests to replace the {@link java.util.ArrayList} assigned to the given local variable with
+   * an {@link java.util.ArrayDeque}, provided that the variable is only used in ways supported by
+   * {@link java.util.Deque}.
+   */
+  private static Optional<SuggestedFix> suggestDeque(VariableTree declaration, VisitorState state) {
+    ExpressionTree initializer = declaration.getInitializer();
+    TreePath methodPath = state.findPathToEnclosing(MethodTree.class);
+    if (!(initializer instanceof NewClassTree)
+        || ((NewClassTree) initializer).getClassBody() != null
+        || !hasNullHostileArguments((NewClassTree) initializer, state)
+        || methodPath == null) {
+      return Optional.empty();
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    if (!ASTHelpers.hasImplicitType(declaration, state)) {
+      Type declaredType = ASTHelpers.getType(declaration.getType());
+      if (declaredType == null) {
+        return Optional.empty();
+      }
+
+      String declaredTypeName = declaredType.tsym.getQualifiedName().toString();
+      if (declaredTypeName.equals(ARRAY_LIST)) {
+        replaceBaseType(declaration.getType(), ARRAY_DEQUE, fix, state);
+      } else if (declaredTypeName.equals("java.util.List")) {
+        replaceBaseType(declaration.getType(), "java.util.Deque", fix, state);
+      } else {
+        return Optional.empty();
+      }
+    }
+
+    replaceClass((NewClassTree) initializer, ARRAY_DEQUE, fix, state);
+    return rewriteReferences(ASTHelpers.getSymbol(declaration), methodPath, fix, state)
+        ? Optional.of(fix.build())
+        : Optional.empty();
+  }
+
+  /**
+   * Rewrites all references to the given local variable such that they are compatible with {@link
+   * java.util.Deque}, returning {@code false} if this is not possible.
+   */
+  private static boolean rewriteReferences(
+      Symbol variable, TreePath methodPath, SuggestedFix.Builder fix, VisitorState state) {
+    return !Boolean.TRUE.equals(
+        new TreePathScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            return variable.equals(ASTHelpers.getSymbol(node)) && !rewrite(node, getCurrentPath());
+          }
+
+          private boolean rewrite(IdentifierTree node, TreePath path) {
+            Tree parent = path.getParentPath().getLeaf();
+            if (parent instanceof EnhancedForLoopTree) {
+              return node.equals(((EnhancedForLoopTree) parent).getExpression());
+            }
+
+            Tree grandParent = path.getParentPath().getParentPath().getLeaf();
+            if (!(parent instanceof MemberSelectTree)
+                || !(grandParent instanceof MethodInvocationTree)) {
+              return false;
+            }
+
+            MethodInvocationTree invocation = (MethodInvocationTree) grandParent;
+            if (!addsNonNullElementsOnly(path.getParentPath().getParentPath(), state)) {
+              return false;
+            }
+
+            if (DEQUE_COMPATIBLE_METHOD.matches(invocation, state)) {
+              return true;
+            }
+
+            List<? extends ExpressionTree> arguments = invocation.getArguments();
+            if (arguments.isEmpty() || !isConstantZero(arguments.get(0))) {
+              return false;
+            }
+
+            if (INDEXED_ADD.matches(invocation, state)) {
+              return rewriteHeadOperation(invocation, "addFirst");
+            }
+
+            if (INDEXED_GET.matches(invocation, state)) {
+              return rewriteHeadOperation(invocation, "getFirst");
+            }
+
+            if (INDEXED_REMOVE.matches(invocation, state)) {
+              return rewriteHeadOperation(invocation, "removeFirst");
+            }
+
+            return false;
+          }
+
+          /** Renames the given invocation and drops its (zero) index argument. */
+          private boolean rewriteHeadOperation(MethodInvocationTree invocation, String name) {
+            List<? extends ExpressionTree> arguments = invocation.getArguments();
+            fix.merge(SuggestedFixes.renameMethodInvocation(invocation, name, state));
+            if (arguments.size() == 1) {
+              fix.replace(arguments.get(0), "");
+            } else {
+              fix.replace(
+                  ASTHelpers.getStartPosition(arguments.get(0)),
+                  ASTHelpers.getStartPosition(arguments.get(1)),
+                  "");
+            }
+            return true;
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(methodPath, null));
+  }
+
+  private static void replaceClass(
+      NewClassTree tree, String replacement, SuggestedFix.Builder fix, VisitorState state) {
+    replaceBaseType(tree.getIdentifier(), replacement, fix, state);
+  }
+
+  private static void replaceBaseType(
+      Tree type, String replacement, SuggestedFix.Builder fix, VisitorState state) {
+    Tree baseType =
+        type instanceof ParameterizedTypeTree ? ((ParameterizedTypeTree) type).getType() : type;
+    fix.replace(baseType, SuggestedFixes.qualifyType(state, fix, replacement));
+  }
+
+  private static boolean isConstantZero(ExpressionTree tree) {
+    return Objects.equals(ASTHelpers.constValue(tree), 0);
+  }
+}
@@ -0,0 +1,327 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.suppliers.Suppliers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LabeledStatementTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.lang.model.type.TypeKind;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.ConflictDetection;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+import tech.picnic.errorprone.bugpatterns.util.ThirdPartyLibrary;
+
+/**
+ * A {@link BugChecker} that flags linear-time lookups on a loop-invariant {@link List} or {@link
+ * java.util.Collection} that are performed inside a loop or lambda expression.
+ *
+ * <p>Performing such lookups for each element of another collection takes time proportional to the
+ * product of both collections' sizes. For {@code contains} lookups this is avoided by copying the
+ * collection into a hash-based {@link java.util.Set} up front. Note that unlike a {@link
+ * java.util.HashSet}, an {@link ImmutableSet} does not accept {@code null} elements.
+ *
+ * <p>Lambda expressions are considered only if they are passed directly to a {@link
+ * java.util.stream.Stream} or {@link Iterable} method, as other lambda expressions are not
+ * necessarily evaluated repeatedly.
+ */
+// XXX: Also suggest a fix for `indexOf` lookups, by constructing a map from elements to their
+// index.
+// XXX: Consider suggesting `Collection#removeAll` or `Collection#removeIf` for `remove` lookups.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid repeated linear-time lookups on the same collection; "
+            + "consider copying it into a `Set` up front",
+    link = BUG_PATTERNS_BASE_URL + "LinearLookupInLoop",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class LinearLookupInLoop extends BugChecker implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Supplier<Type> COLLECTION = Suppliers.typeFromString("java.util.Collection");
+  private static final Supplier<Type> LIST = Suppliers.typeFromString("java.util.List");
+  private static final Matcher<ExpressionTree> CONTAINS =
+      instanceMethod().onDescendantOf("java.util.Collection").named("contains");
+  private static final Matcher<ExpressionTree> LINEAR_LOOKUP =
+      anyOf(
+          CONTAINS,
+          instanceMethod().onDescendantOf("java.util.List").namedAnyOf("indexOf", "lastIndexOf"),
+          instanceMethod()
+              .onDescendantOf("java.util.Collection")
+              .named("remove")
+              .withParameters("java.lang.Object"));
+  private static final Matcher<ExpressionTree> READ_ONLY_METHOD =
+      anyOf(
+          instanceMethod()
+              .onDescendantOf("java.util.Collection")
+              .namedAnyOf("contains", "containsAll", "isEmpty", "size"),
+          instanceMethod()
+              .onDescendantOf("java.util.List")
+              .namedAnyOf("get", "indexOf", "lastIndexOf"));
+  private static final Matcher<ExpressionTree> STREAM_OR_ITERABLE_METHOD =
+      instanceMethod().onDescendantOfAny("java.util.stream.BaseStream", "java.lang.Iterable");
+
+  /** Instantiates a new {@link LinearLookupInLoop} instance. */
+  public LinearLookupInLoop() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+    if (receiver == null
+        || !LINEAR_LOOKUP.matches(tree, state)
+        || !isLinearLookupCollection(ASTHelpers.getType(receiver), state)) {
+      return Description.NO_MATCH;
+    }
+
+    Symbol collection = ASTHelpers.getSymbol(receiver);
+    if (!(collection instanceof VarSymbol) || !isSimpleReference(receiver)) {
+      return Description.NO_MATCH;
+    }
+
+    Optional<TreePath> scope = findRepeatedlyEvaluatedScope(state);
+    if (scope.isEmpty() || isDeclaredOrAssignedInside(scope.orElseThrow().getLeaf(), collection)) {
+      return Description.NO_MATCH;
+    }
+
+    Description.Builder description =
+        escalateInHotPath(buildDescription(tree), this, WARNING, state);
+    if (CONTAINS.matches(tree, state)) {
+      /*
+       * A single fix replaces all `contains` lookups on the collection within the scope, so it is
+       * suggested only for the first of these, such that the set is declared only once.
+       */
+      findReadOnlyReceivers(scope.orElseThrow(), collection, state)
+          .filter(receivers -> receivers.get(0).equals(receiver))
+          .ifPresent(
+              receivers -> {
+                for (String setType : getSetTypes(state)) {
+                  hoistSet(receiver, receivers, setType, scope.orElseThrow(), state)
+                      .ifPresent(description::addFix);
+                }
+              });
+    }
+
+    return description.build();
+  }
+
+  private static boolean isLinearLookupCollection(@Nullable Type type, VisitorState state) {
+    return type != null
+        && (ASTHelpers.isSubtype(type, LIST.get(state), state)
+            || ASTHelpers.isSameType(type, COLLECTION.get(state), state));
+  }
+
+  private static boolean isSimpleReference(ExpressionTree tree) {
+    return tree instanceof IdentifierTree
+        || (tree instanceof MemberSelectTree
+            && ((MemberSelectTree) tree).getExpression() instanceof IdentifierTree
+            && ((IdentifierTree) ((MemberSelectTree) tree).getExpression())
+                .getName()
+                .contentEquals("this"));
+  }
+
+  /**
+   * Returns the path to the innermost loop or lambda expression that repeatedly evaluates the
+   * current expression, if any.
+   *
+   * <p>Lambda expressions qualify only if passed directly to a stream or {@link Iterable} method.
+   */
+  private static Optional<TreePath> findRepeatedlyEvaluatedScope(VisitorState state) {
+    return MoreASTHelpers.findRepeatedlyExecutedScope(state)
+        .filter(
+            scope ->
+                !(scope.getLeaf() instanceof MethodTree)
+                    && (!(scope.getLeaf() instanceof LambdaExpressionTree)
+                        || isPassedToStreamOrIterableMethod(scope, state)));
+  }
+
+  private static boolean isPassedToStreamOrIterableMethod(TreePath lambda, VisitorState state) {
+    Tree parent = lambda.getParentPath().getLeaf();
+    return parent instanceof MethodInvocationTree
+        && ((MethodInvocationTree) parent).getArguments().contains(lambda.getLeaf())
+        && STREAM_OR_ITERABLE_METHOD.matches((ExpressionTree) parent, state);
+  }
+
+  private static boolean isDeclaredOrAssignedInside(Tree tree, Symbol symbol) {
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitVariable(VariableTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node)) || super.visitVariable(node, null);
+          }
+
+          @Override
+          public Boolean visitAssignment(AssignmentTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node.getVariable()))
+                || super.visitAssignment(node, null);
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
+
+  /**
+   * Returns all references to the given collection inside the given scope, provided that they are
+   * all receivers of methods that do not modify the collection.
+   */
+  private static Optional<ImmutableList<ExpressionTree>> findReadOnlyReceivers(
+      TreePath scope, Symbol collection, VisitorState state) {
+    List<ExpressionTree> containsReceivers = new ArrayList<>();
+    boolean isReadOnly =
+        !Boolean.TRUE.equals(
+            new TreePathScanner<Boolean, @Nullable Void>() {
+              @Override
+              public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+                return isNonReadOnlyReference(node, getCurrentPath());
+              }
+
+              @Override
+              public Boolean visitMemberSelect(MemberSelectTree node, @Nullable Void unused) {
+                return isNonReadOnlyReference(node, getCurrentPath())
+                    || Boolean.TRUE.equals(super.visitMemberSelect(node, null));
+              }
+
+              private boolean isNonReadOnlyReference(ExpressionTree node, TreePath path) {
+                if (!collection.equals(ASTHelpers.getSymbol(node))) {
+                  return false;
+                }
+
+                Tree parent = path.getParentPath().getLeaf();
+                Tree grandParent = path.getParentPath().getParentPath().getLeaf();
+                if (!(parent instanceof MemberSelectTree)
+                    || !(grandParent instanceof MethodInvocationTree)
+                    || !READ_ONLY_METHOD.matches((ExpressionTree) grandParent, state)) {
+                  return true;
+                }
+
+                if (CONTAINS.matches((ExpressionTree) grandParent, state)) {
+                  containsReceivers.add(node);
+                }
+                return false;
+              }
+
+              @Override
+              public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+                return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+              }
+            }.scan(scope, null));
+
+    return isReadOnly ? Optional.of(ImmutableList.copyOf(containsReceivers)) : Optional.empty();
+  }
+
+  private static ImmutableList<String> getSetTypes(VisitorState state) {
+    return ThirdPartyLibrary.GUAVA.isIntroductionAllowed(state)
+        ? ImmutableList.of("java.util.HashSet", ImmutableSet.class.getCanonicalName())
+        : ImmutableList.of("java.util.HashSet");
+  }
+
+  /**
+   * Suggests to copy the given collection into a set of the given type just before the given scope,
+   * and to perform {@code contains} lookups against said set instead.
+   */
+  private static Optional<SuggestedFix> hoistSet(
+      ExpressionTree collection,
+      ImmutableList<ExpressionTree> receivers,
+      String setType,
+      TreePath scope,
+      VisitorState state) {
+    Optional<TreePath> statement = findInsertionPoint(scope);
+    Type collectionType =
+        state.getTypes().asSuper(ASTHelpers.getType(collection), COLLECTION.get(state).tsym);
+    if (statement.isEmpty()
+        || collectionType == null
+        || collectionType.getTypeArguments().size() != 1
+        || !isDenotable(collectionType.getTypeArguments().get(0))) {
+      return Optional.empty();
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String elementType =
+        SuggestedFixes.prettyType(state, fix, collectionType.getTypeArguments().get(0));
+    String name =
+        ConflictDetection.findUnusedVariableName(
+            ASTHelpers.getSymbol(collection).getSimpleName() + "Set", state);
+    String set = SuggestedFixes.qualifyType(state, fix, setType);
+    String initializer =
+        setType.equals("java.util.HashSet")
+            ? String.format("new %s<>(%s)", set, SourceCode.treeToString(collection, state))
+            : String.format("%s.copyOf(%s)", set, SourceCode.treeToString(collection, state));
+    String declaredType =
+        setType.equals("java.util.HashSet")
+            ? SuggestedFixes.qualifyType(state, fix, "java.util.Set")
+            : set;
+
+    fix.prefixWith(
+        statement.orElseThrow().getLeaf(),
+        String.format("%s<%s> %s = %s;\n", declaredType, elementType, name, initializer));
+    for (ExpressionTree receiver : receivers) {
+      fix.replace(receiver, name);
+    }
+    return Optional.of(fix.build());
+  }
+
+  /**
+   * Returns the path to the statement before which a copy of the collection can be declared, if
+   * any.
+   */
+  private static Optional<TreePath> findInsertionPoint(TreePath scope) {
+    @Var TreePath path = scope;
+    while (!(path.getLeaf() instanceof StatementTree)) {
+      path = path.getParentPath();
+    }
+    while (path.getParentPath().getLeaf() instanceof LabeledStatementTree) {
+      path = path.getParentPath();
+    }
+
+    return path.getParentPath().getLeaf() instanceof BlockTree
+        ? Optional.of(path)
+        : Optional.empty();
+  }
+
+  private static boolean isDenotable(Type type) {
+    return type.getKind() != TypeKind.WILDCARD && !(type instanceof Type.CapturedType);
+  }
+}
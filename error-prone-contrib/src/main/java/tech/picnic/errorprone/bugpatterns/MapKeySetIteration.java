@@ -0,0 +1,269 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.EnhancedForLoopTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.suppliers.Suppliers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.BreakTree;
+import com.sun.source.tree.ContinueTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.lang.model.type.TypeKind;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.ConflictDetection;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+
+/**
+ * A {@link BugChecker} that flags iteration over a {@link Map#keySet()} in which the value
+ * associated with each key is looked up using {@link Map#get(Object)}.
+ *
+ * <p>Such lookups are redundant: by iterating over {@link Map#entrySet()} instead, each key and
+ * value are obtained together. For maps such as {@link java.util.TreeMap} each lookup takes time
+ * logarithmic in the size of the map, making the redundant lookups particularly costly.
+ *
+ * <p>If the loop body does not throw checked exceptions, does not transfer control outside of the
+ * loop and does not reference non-effectively final local variables, then the loop may
+ * alternatively be replaced with a {@link Map#forEach(java.util.function.BiConsumer)} invocation.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary = "Iterate over the map's entries rather than looking up the value of each key",
+    link = BUG_PATTERNS_BASE_URL + "MapKeySetIteration",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class MapKeySetIteration extends BugChecker implements EnhancedForLoopTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Matcher<ExpressionTree> MAP_KEY_SET =
+      instanceMethod().onDescendantOf(Map.class.getCanonicalName()).named("keySet");
+  private static final Matcher<ExpressionTree> MAP_GET =
+      instanceMethod().onDescendantOf(Map.class.getCanonicalName()).named("get");
+  private static final Supplier<Type> MAP = Suppliers.typeFromClass(Map.class);
+
+  /** Instantiates a new {@link MapKeySetIteration} instance. */
+  public MapKeySetIteration() {}
+
+  @Override
+  public Description matchEnhancedForLoop(EnhancedForLoopTree tree, VisitorState state) {
+    ExpressionTree keySet = ASTHelpers.stripParentheses(tree.getExpression());
+    ExpressionTree map = ASTHelpers.getReceiver(keySet);
+    if (!MAP_KEY_SET.matches(keySet, state) || map == null) {
+      return Description.NO_MATCH;
+    }
+
+    Symbol key = ASTHelpers.getSymbol(tree.getVariable());
+    ImmutableList<MethodInvocationTree> lookups = findLookups(tree.getStatement(), map, key, state);
+    if (lookups.isEmpty()) {
+      return Description.NO_MATCH;
+    }
+
+    Description.Builder description =
+        escalateInHotPath(buildDescription(tree), this, WARNING, state);
+    if (ASTHelpers.isConsideredFinal(key)
+        && !isReferencedOtherwise(tree.getStatement(), map, lookups)) {
+      suggestEntrySetIteration(tree, keySet, map, lookups, state).ifPresent(description::addFix);
+      if (canBeLambdaBody(tree.getStatement(), state)) {
+        description.addFix(suggestForEach(tree, map, lookups, state));
+      }
+    }
+
+    return description.build();
+  }
+
+  /** Returns the {@code map.get(key)} invocations inside the given loop body. */
+  private static ImmutableList<MethodInvocationTree> findLookups(
+      StatementTree body, ExpressionTree map, Symbol key, VisitorState state) {
+    List<MethodInvocationTree> lookups = new ArrayList<>();
+    new TreeScanner<@Nullable Void, @Nullable Void>() {
+      @Override
+      public @Nullable Void visitMethodInvocation(
+          MethodInvocationTree node, @Nullable Void unused) {
+        ExpressionTree receiver = ASTHelpers.getReceiver(node);
+        if (MAP_GET.matches(node, state)
+            && receiver != null
+            && ASTHelpers.sameVariable(map, receiver)
+            && key.equals(ASTHelpers.getSymbol(node.getArguments().get(0)))) {
+          lookups.add(node);
+        }
+        return super.visitMethodInvocation(node, null);
+      }
+    }.scan(body, null);
+    return ImmutableList.copyOf(lookups);
+  }
+
+  /**
+   * Tells whether the given loop body references the map other than through the given lookups, in
+   * which case rewriting the loop may change its behavior.
+   */
+  private static boolean isReferencedOtherwise(
+      StatementTree body, ExpressionTree map, ImmutableList<MethodInvocationTree> lookups) {
+    Symbol symbol = ASTHelpers.getSymbol(map);
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public @Nullable Boolean scan(Tree node, @Nullable Void unused) {
+            if (node == null || lookups.contains(node)) {
+              return false;
+            }
+
+            return super.scan(node, null);
+          }
+
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            return symbol != null && symbol.equals(ASTHelpers.getSymbol(node));
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(body, null));
+  }
+
+  private static Optional<SuggestedFix> suggestEntrySetIteration(
+      EnhancedForLoopTree tree,
+      ExpressionTree keySet,
+      ExpressionTree map,
+      ImmutableList<MethodInvocationTree> lookups,
+      VisitorState state) {
+    Type mapType = state.getTypes().asSuper(ASTHelpers.getType(map), MAP.get(state).tsym);
+    if (mapType == null
+        || mapType.getTypeArguments().size() != 2
+        || mapType.getTypeArguments().stream().anyMatch(MapKeySetIteration::isNonDenotable)) {
+      return Optional.empty();
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String entry = ConflictDetection.findUnusedVariableNameFor("entry", tree, state);
+    String entryType =
+        String.format(
+            "%s.Entry<%s, %s>",
+            SuggestedFixes.qualifyType(state, fix, Map.class.getCanonicalName()),
+            SuggestedFixes.prettyType(state, fix, mapType.getTypeArguments().get(0)),
+            SuggestedFixes.prettyType(state, fix, mapType.getTypeArguments().get(1)));
+    fix.replace(tree.getVariable(), entryType + ' ' + entry)
+        .merge(
+            SuggestedFixes.renameMethodInvocation(
+                (MethodInvocationTree) keySet, "entrySet", state));
+    for (MethodInvocationTree lookup : lookups) {
+      fix.replace(lookup, entry + ".getValue()");
+    }
+    replaceKeyReferences(tree, lookups, entry + ".getKey()", fix);
+    return Optional.of(fix.build());
+  }
+
+  private static SuggestedFix suggestForEach(
+      EnhancedForLoopTree tree,
+      ExpressionTree map,
+      ImmutableList<MethodInvocationTree> lookups,
+      VisitorState state) {
+    String value = ConflictDetection.findUnusedVariableNameFor("value", tree, state);
+    StatementTree body = tree.getStatement();
+    boolean isBlock = body instanceof BlockTree;
+
+    SuggestedFix.Builder fix =
+        SuggestedFix.builder()
+            .replace(
+                ASTHelpers.getStartPosition(tree),
+                ASTHelpers.getStartPosition(body),
+                String.format(
+                    "%s.forEach((%s, %s) -> %s",
+                    SourceCode.treeToString(map, state),
+                    tree.getVariable().getName(),
+                    value,
+                    isBlock ? "" : "{"))
+            .postfixWith(body, isBlock ? ");" : "});");
+    for (MethodInvocationTree lookup : lookups) {
+      fix.replace(lookup, value);
+    }
+    return fix.build();
+  }
+
+  private static void replaceKeyReferences(
+      EnhancedForLoopTree tree,
+      ImmutableList<MethodInvocationTree> lookups,
+      String replacement,
+      SuggestedFix.Builder fix) {
+    Symbol key = ASTHelpers.getSymbol(tree.getVariable());
+    new TreeScanner<@Nullable Void, @Nullable Void>() {
+      @Override
+      public @Nullable Void scan(Tree node, @Nullable Void unused) {
+        return lookups.contains(node) ? null : super.scan(node, null);
+      }
+
+      @Override
+      public @Nullable Void visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+        if (key.equals(ASTHelpers.getSymbol(node))) {
+          fix.replace(node, replacement);
+        }
+        return null;
+      }
+    }.scan(tree.getStatement(), null);
+  }
+
+  /**
+   * Tells whether the given loop body can be moved into a lambda expression without changing its
+   * meaning.
+   */
+  private static boolean canBeLambdaBody(StatementTree body, VisitorState state) {
+    return MoreASTHelpers.canBeMovedIntoLambda(body, state)
+        && !Boolean.TRUE.equals(
+            new TreeScanner<Boolean, @Nullable Void>() {
+              @Override
+              public Boolean visitBreak(BreakTree node, @Nullable Void unused) {
+                return true;
+              }
+
+              @Override
+              public Boolean visitContinue(ContinueTree node, @Nullable Void unused) {
+                return true;
+              }
+
+              @Override
+              public Boolean visitReturn(ReturnTree node, @Nullable Void unused) {
+                return true;
+              }
+
+              @Override
+              public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+                return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+              }
+            }.scan(body, null));
+  }
+
+  private static boolean isNonDenotable(Type type) {
+    return type.getKind() == TypeKind.WILDCARD || type instanceof Type.CapturedType;
+  }
+}
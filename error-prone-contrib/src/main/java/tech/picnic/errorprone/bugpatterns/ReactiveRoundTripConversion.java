@@ -0,0 +1,244 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.BugPattern.StandardTags.SIMPLIFICATION;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+
+import com.google.auto.service.AutoService;
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import java.util.List;
+import java.util.Optional;
+import javax.lang.model.element.ElementKind;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+
+/**
+ * A {@link BugChecker} that flags conversions between Reactor and RxJava types that undo an earlier
+ * conversion in the opposite direction.
+ *
+ * <p>Each conversion wraps the source publisher in an adapter, adding subscription overhead and
+ * preventing operator fusion. Such round trips are detected if the earlier conversion is passed
+ * directly to the later one, if it is the initializer of an effectively final local variable, or if
+ * it is the sole expression returned by a method declared in the same class.
+ *
+ * <p>Round trips that may change semantics, such as a conversion from {@code Mono} to {@code
+ * Single} and back (which turns empty {@code Mono}s into failing ones), are not flagged.
+ */
+// XXX: Also follow publishers passed as method arguments to parameters that are subsequently
+// converted back.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary = "Avoid converting a publisher back to the reactive library it was converted from",
+    link = BUG_PATTERNS_BASE_URL + "ReactiveRoundTripConversion",
+    linkType = CUSTOM,
+    severity = WARNING,
+    tags = {PERFORMANCE, SIMPLIFICATION})
+public final class ReactiveRoundTripConversion extends BugChecker
+    implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String RXJAVA2_ADAPTER = "reactor.adapter.rxjava.RxJava2Adapter";
+
+  /**
+   * Mapping from {@code RxJava2Adapter} conversion methods to the conversion methods of which they
+   * exactly undo the effect.
+   */
+  private static final ImmutableMap<String, String> INVERSE_CONVERSIONS =
+      ImmutableMap.<String, String>builder()
+          .put("completableToMono", "monoToCompletable")
+          .put("flowableToFlux", "fluxToFlowable")
+          .put("fluxToFlowable", "flowableToFlux")
+          .put("fluxToObservable", "observableToFlux")
+          .put("maybeToMono", "monoToMaybe")
+          .put("monoToCompletable", "completableToMono")
+          .put("monoToMaybe", "maybeToMono")
+          .put("monoToSingle", "singleToMono")
+          .buildOrThrow();
+
+  private static final Matcher<ExpressionTree> STATIC_CONVERSION =
+      staticMethod()
+          .onClass(RXJAVA2_ADAPTER)
+          .namedAnyOf(
+              Sets.union(
+                  INVERSE_CONVERSIONS.keySet(), ImmutableSet.copyOf(INVERSE_CONVERSIONS.values())));
+  private static final Matcher<ExpressionTree> FLUENT_CONVERSION =
+      instanceMethod()
+          .onDescendantOfAny(
+              "io.reactivex.Completable",
+              "io.reactivex.Flowable",
+              "io.reactivex.Maybe",
+              "io.reactivex.Observable",
+              "io.reactivex.Single",
+              "reactor.core.publisher.Flux",
+              "reactor.core.publisher.Mono")
+          .namedAnyOf("as", "to");
+
+  /** Instantiates a new {@link ReactiveRoundTripConversion} instance. */
+  public ReactiveRoundTripConversion() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    Conversion conversion = getConversion(tree, state);
+    if (conversion == null) {
+      return Description.NO_MATCH;
+    }
+
+    String undoneConversion = INVERSE_CONVERSIONS.get(conversion.method());
+    if (undoneConversion == null) {
+      return Description.NO_MATCH;
+    }
+
+    ExpressionTree source = ASTHelpers.stripParentheses(conversion.source());
+    Conversion directConversion = getConversion(source, state);
+    if (directConversion != null) {
+      return isRoundTrip(tree, directConversion, undoneConversion, state)
+          ? describeMatch(
+              tree,
+              SuggestedFix.replace(tree, SourceCode.treeToString(directConversion.source(), state)))
+          : Description.NO_MATCH;
+    }
+
+    return findIndirectConversion(source, state)
+        .filter(indirect -> isRoundTrip(tree, indirect, undoneConversion, state))
+        .map(indirect -> describeMatch(tree))
+        .orElse(Description.NO_MATCH);
+  }
+
+  private static boolean isRoundTrip(
+      ExpressionTree tree, Conversion earlier, String undoneConversion, VisitorState state) {
+    return earlier.method().equals(undoneConversion)
+        && state
+            .getTypes()
+            .isSameType(ASTHelpers.getType(tree), ASTHelpers.getType(earlier.source()));
+  }
+
+  /**
+   * Attempts to find the conversion that produced the given expression's value, by inspecting the
+   * initializer of the referenced local variable, or the return value of the invoked method.
+   */
+  private static Optional<Conversion> findIndirectConversion(
+      ExpressionTree source, VisitorState state) {
+    if (source instanceof IdentifierTree) {
+      Symbol symbol = ASTHelpers.getSymbol(source);
+      if (symbol instanceof VarSymbol
+          && symbol.getKind() == ElementKind.LOCAL_VARIABLE
+          && ASTHelpers.isConsideredFinal(symbol)) {
+        return Optional.ofNullable(findLocalVariableInitializer((VarSymbol) symbol, state))
+            .map(initializer -> getConversion(initializer, state));
+      }
+    }
+
+    if (source instanceof MethodInvocationTree
+        && ((MethodInvocationTree) source).getArguments().isEmpty()) {
+      MethodSymbol method = ASTHelpers.getSymbol((MethodInvocationTree) source);
+      return MoreASTHelpers.findMethods(method.getSimpleName(), state).stream()
+          .filter(m -> method.equals(ASTHelpers.getSymbol(m)))
+          .findFirst()
+          .map(ReactiveRoundTripConversion::getSoleReturnedExpression)
+          .map(returned -> getConversion(returned, state));
+    }
+
+    return Optional.empty();
+  }
+
+  private static @Nullable ExpressionTree findLocalVariableInitializer(
+      VarSymbol symbol, VisitorState state) {
+    MethodTree method = state.findEnclosing(MethodTree.class);
+    if (method == null) {
+      return null;
+    }
+
+    return new TreeScanner<@Nullable ExpressionTree, @Nullable Void>() {
+      @Override
+      public @Nullable ExpressionTree visitVariable(VariableTree node, @Nullable Void unused) {
+        return symbol.equals(ASTHelpers.getSymbol(node))
+            ? node.getInitializer()
+            : super.visitVariable(node, null);
+      }
+
+      @Override
+      public @Nullable ExpressionTree reduce(
+          @Nullable ExpressionTree r1, @Nullable ExpressionTree r2) {
+        return r1 != null ? r1 : r2;
+      }
+    }.scan(method.getBody(), null);
+  }
+
+  private static @Nullable ExpressionTree getSoleReturnedExpression(MethodTree method) {
+    if (method.getBody() == null) {
+      return null;
+    }
+
+    List<? extends StatementTree> statements = method.getBody().getStatements();
+    return statements.size() == 1 && statements.get(0) instanceof ReturnTree
+        ? ((ReturnTree) statements.get(0)).getExpression()
+        : null;
+  }
+
+  /**
+   * Returns the {@code RxJava2Adapter} conversion performed by the given expression, if any.
+   *
+   * <p>Both the {@code RxJava2Adapter.conversion(publisher)} and {@code
+   * publisher.as(RxJava2Adapter::conversion)} styles are recognized.
+   */
+  private static @Nullable Conversion getConversion(ExpressionTree tree, VisitorState state) {
+    if (STATIC_CONVERSION.matches(tree, state)) {
+      MethodInvocationTree invocation = (MethodInvocationTree) tree;
+      return Conversion.create(
+          ASTHelpers.getSymbol(invocation).getSimpleName().toString(),
+          invocation.getArguments().get(0));
+    }
+
+    if (FLUENT_CONVERSION.matches(tree, state)) {
+      MethodInvocationTree invocation = (MethodInvocationTree) tree;
+      ExpressionTree argument = Iterables.getOnlyElement(invocation.getArguments());
+      ExpressionTree receiver = ASTHelpers.getReceiver(invocation);
+      if (receiver != null
+          && argument instanceof MemberReferenceTree
+          && STATIC_CONVERSION.matches(argument, state)) {
+        return Conversion.create(((MemberReferenceTree) argument).getName().toString(), receiver);
+      }
+    }
+
+    return null;
+  }
+
+  @AutoValue
+  abstract static class Conversion {
+    abstract String method();
+
+    abstract ExpressionTree source();
+
+    static Conversion create(String method, ExpressionTree source) {
+      return new AutoValue_ReactiveRoundTripConversion_Conversion(method, source);
+    }
+  }
+}
@@ -0,0 +1,330 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Streams;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.BlockTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.IfTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree.Kind;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.ConflictDetection;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+import tech.picnic.errorprone.refaster.matchers.IsLikelyTrivialComputation;
+
+/**
+ * A {@link BugChecker} that flags statement sequences that look up the same {@link Map} key more
+ * than once in order to conditionally insert a value.
+ *
+ * <p>The following statement sequences are rewritten to {@link Map#putIfAbsent(Object, Object)} or
+ * {@link Map#computeIfAbsent(Object, java.util.function.Function)}:
+ *
+ * <ul>
+ *   <li>{@code if (!map.containsKey(key)) { map.put(key, value); }}
+ *   <li>{@code V value = map.get(key); if (value == null) { value = ...; map.put(key, value); }}
+ * </ul>
+ *
+ * <p>Besides avoiding redundant hashing, the suggested alternatives perform the insertion
+ * atomically if the map is a {@link java.util.concurrent.ConcurrentMap}, thus also resolving a race
+ * condition. Note that these alternatives treat keys mapped to {@code null} as absent.
+ */
+// XXX: Also flag `if (map.containsKey(key)) { return map.get(key); }` sequences.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid looking up the same map key more than once; use `putIfAbsent` or `computeIfAbsent`",
+    link = BUG_PATTERNS_BASE_URL + "RedundantMapLookup",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class RedundantMapLookup extends BugChecker implements BlockTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Matcher<ExpressionTree> IS_LIKELY_TRIVIAL_COMPUTATION =
+      new IsLikelyTrivialComputation();
+  private static final Matcher<ExpressionTree> MAP_CONTAINS_KEY =
+      instanceMethod().onDescendantOf(Map.class.getCanonicalName()).named("containsKey");
+  private static final Matcher<ExpressionTree> MAP_GET =
+      instanceMethod().onDescendantOf(Map.class.getCanonicalName()).named("get");
+  private static final Matcher<ExpressionTree> MAP_PUT =
+      instanceMethod().onDescendantOf(Map.class.getCanonicalName()).named("put");
+
+  /** Instantiates a new {@link RedundantMapLookup} instance. */
+  public RedundantMapLookup() {}
+
+  @Override
+  public Description matchBlock(BlockTree tree, VisitorState state) {
+    List<? extends StatementTree> statements = tree.getStatements();
+    for (int i = 0; i < statements.size(); i++) {
+      StatementTree statement = statements.get(i);
+      VisitorState statementState = state.withPath(new TreePath(state.getPath(), statement));
+      if (statement instanceof IfTree) {
+        matchContainsKeyThenPut((IfTree) statement, statementState);
+      }
+
+      if (statement instanceof VariableTree
+          && i + 1 < statements.size()
+          && statements.get(i + 1) instanceof IfTree) {
+        matchGetThenPut((VariableTree) statement, (IfTree) statements.get(i + 1), statementState);
+      }
+    }
+
+    return Description.NO_MATCH;
+  }
+
+  /** Flags {@code if (!map.containsKey(key)) { map.put(key, value); }} statements. */
+  private void matchContainsKeyThenPut(IfTree tree, VisitorState state) {
+    ExpressionTree condition = ASTHelpers.stripParentheses(tree.getCondition());
+    if (tree.getElseStatement() != null || condition.getKind() != Kind.LOGICAL_COMPLEMENT) {
+      return;
+    }
+
+    ExpressionTree containsKey =
+        ASTHelpers.stripParentheses(((UnaryTree) condition).getExpression());
+    MethodInvocationTree put = getSoleMethodInvocation(tree.getThenStatement());
+    if (!MAP_CONTAINS_KEY.matches(containsKey, state)
+        || put == null
+        || !MAP_PUT.matches(put, state)
+        || !isSameLookup((MethodInvocationTree) containsKey, put)) {
+      return;
+    }
+
+    ExpressionTree map = ASTHelpers.getReceiver(put);
+    ExpressionTree key = put.getArguments().get(0);
+    ExpressionTree value = put.getArguments().get(1);
+    Optional<String> replacement =
+        IS_LIKELY_TRIVIAL_COMPUTATION.matches(value, state)
+            ? Optional.of(
+                String.format(
+                    "%s.putIfAbsent(%s, %s);",
+                    SourceCode.treeToString(map, state),
+                    SourceCode.treeToString(key, state),
+                    SourceCode.treeToString(value, state)))
+            : suggestComputeIfAbsent(map, key, value, state).map(invocation -> invocation + ';');
+
+    reportMatch(tree, replacement.map(r -> SuggestedFix.replace(tree, r)), state);
+  }
+
+  /**
+   * Flags {@code V value = map.get(key); if (value == null) { value = ...; map.put(key, value); }}
+   * statement sequences.
+   */
+  private void matchGetThenPut(VariableTree declaration, IfTree tree, VisitorState state) {
+    Symbol variable = ASTHelpers.getSymbol(declaration);
+    ExpressionTree initializer = declaration.getInitializer();
+    if (initializer == null
+        || !MAP_GET.matches(initializer, state)
+        || tree.getElseStatement() != null
+        || !isNullCheck(tree.getCondition(), variable)
+        || !(tree.getThenStatement() instanceof BlockTree)) {
+      return;
+    }
+
+    List<? extends StatementTree> statements =
+        ((BlockTree) tree.getThenStatement()).getStatements();
+    if (statements.size() != 2) {
+      return;
+    }
+
+    AssignmentTree assignment = getAssignment(statements.get(0), variable);
+    MethodInvocationTree put = getSoleMethodInvocation(statements.get(1));
+    if (assignment == null
+        || put == null
+        || !MAP_PUT.matches(put, state)
+        || !isSameLookup((MethodInvocationTree) initializer, put)
+        || !variable.equals(ASTHelpers.getSymbol(put.getArguments().get(1)))
+        || isReferenced(assignment.getExpression(), variable)) {
+      return;
+    }
+
+    Optional<SuggestedFix> fix =
+        suggestComputeIfAbsent(
+                ASTHelpers.getReceiver(put),
+                put.getArguments().get(0),
+                assignment.getExpression(),
+                state)
+            .map(
+                computeIfAbsent ->
+                    SuggestedFix.builder()
+                        .replace(initializer, computeIfAbsent)
+                        .delete(tree)
+                        .build());
+    reportMatch(declaration, fix, state);
+  }
+
+  private void reportMatch(StatementTree tree, Optional<SuggestedFix> fix, VisitorState state) {
+    Description.Builder description =
+        escalateInHotPath(buildDescription(tree), this, WARNING, state);
+    fix.ifPresent(description::addFix);
+    state.reportMatch(description.build());
+  }
+
+  /**
+   * Returns a {@link Map#computeIfAbsent(Object, java.util.function.Function)} invocation that
+   * lazily computes the given value, unless said value cannot be moved into a lambda expression.
+   *
+   * <p>No invocation is suggested if the value is computed by invoking a method of the enclosing
+   * class, as this is a common memoization pattern in which the computation may recursively modify
+   * the map. Most {@link Map#computeIfAbsent(Object, java.util.function.Function)} implementations
+   * do not support this.
+   */
+  private static Optional<String> suggestComputeIfAbsent(
+      @Nullable ExpressionTree map, ExpressionTree key, ExpressionTree value, VisitorState state) {
+    if (map == null
+        || !MoreASTHelpers.canBeMovedIntoLambda(value, state)
+        || invokesEnclosingClassMethod(value, state)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(
+        String.format(
+            "%s.computeIfAbsent(%s, %s -> %s)",
+            SourceCode.treeToString(map, state),
+            SourceCode.treeToString(key, state),
+            ConflictDetection.findUnusedVariableName("key", state),
+            SourceCode.treeToString(value, state)));
+  }
+
+  /**
+   * Tells whether the given lookup and insertion operate on the same map and key, where both must
+   * be side-effect free.
+   */
+  private static boolean isSameLookup(MethodInvocationTree lookup, MethodInvocationTree insertion) {
+    ExpressionTree lookupMap = ASTHelpers.getReceiver(lookup);
+    ExpressionTree insertionMap = ASTHelpers.getReceiver(insertion);
+    return lookupMap != null
+        && insertionMap != null
+        && ASTHelpers.sameVariable(lookupMap, insertionMap)
+        && isSameKey(lookup.getArguments().get(0), insertion.getArguments().get(0));
+  }
+
+  private static boolean isSameKey(ExpressionTree lookupKey, ExpressionTree insertionKey) {
+    if (ASTHelpers.sameVariable(lookupKey, insertionKey)) {
+      return true;
+    }
+
+    Object constant = ASTHelpers.constValue(lookupKey);
+    return constant != null && Objects.equals(constant, ASTHelpers.constValue(insertionKey));
+  }
+
+  private static boolean isNullCheck(ExpressionTree condition, Symbol variable) {
+    ExpressionTree expression = ASTHelpers.stripParentheses(condition);
+    if (expression.getKind() != Kind.EQUAL_TO) {
+      return false;
+    }
+
+    BinaryTree comparison = (BinaryTree) expression;
+    ExpressionTree left = comparison.getLeftOperand();
+    ExpressionTree right = comparison.getRightOperand();
+    return (left.getKind() == Kind.NULL_LITERAL && variable.equals(ASTHelpers.getSymbol(right)))
+        || (right.getKind() == Kind.NULL_LITERAL && variable.equals(ASTHelpers.getSymbol(left)));
+  }
+
+  private static @Nullable AssignmentTree getAssignment(StatementTree statement, Symbol variable) {
+    if (!(statement instanceof ExpressionStatementTree)) {
+      return null;
+    }
+
+    ExpressionTree expression = ((ExpressionStatementTree) statement).getExpression();
+    return expression instanceof AssignmentTree
+            && variable.equals(ASTHelpers.getSymbol(((AssignmentTree) expression).getVariable()))
+        ? (AssignmentTree) expression
+        : null;
+  }
+
+  private static @Nullable MethodInvocationTree getSoleMethodInvocation(StatementTree statement) {
+    StatementTree sole =
+        statement instanceof BlockTree && ((BlockTree) statement).getStatements().size() == 1
+            ? ((BlockTree) statement).getStatements().get(0)
+            : statement;
+    if (!(sole instanceof ExpressionStatementTree)) {
+      return null;
+    }
+
+    ExpressionTree expression = ((ExpressionStatementTree) sole).getExpression();
+    return expression instanceof MethodInvocationTree ? (MethodInvocationTree) expression : null;
+  }
+
+  private static boolean isReferenced(ExpressionTree tree, Symbol symbol) {
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node));
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
+
+  private static boolean invokesEnclosingClassMethod(ExpressionTree tree, VisitorState state) {
+    ImmutableList<ClassSymbol> enclosingClasses =
+        Streams.stream(state.getPath())
+            .filter(ClassTree.class::isInstance)
+            .map(clazz -> ASTHelpers.getSymbol((ClassTree) clazz))
+            .collect(toImmutableList());
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitMethodInvocation(MethodInvocationTree node, @Nullable Void unused) {
+            return isEnclosingClassMethod(ASTHelpers.getSymbol(node))
+                || Boolean.TRUE.equals(super.visitMethodInvocation(node, null));
+          }
+
+          @Override
+          public Boolean visitMemberReference(MemberReferenceTree node, @Nullable Void unused) {
+            return isEnclosingClassMethod(ASTHelpers.getSymbol(node))
+                || Boolean.TRUE.equals(super.visitMemberReference(node, null));
+          }
+
+          private boolean isEnclosingClassMethod(Symbol method) {
+            return !method.owner.equals(state.getSymtab().objectType.tsym)
+                && enclosingClasses.stream()
+                    .anyMatch(clazz -> clazz.isSubClass(method.owner, state.getTypes()));
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
+}
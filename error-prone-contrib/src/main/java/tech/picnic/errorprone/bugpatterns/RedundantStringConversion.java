@@ -3,6 +3,7 @@ package tech.picnic.errorprone.bugpatterns;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
 import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.BugPattern.StandardTags.SIMPLIFICATION;
 import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.Matchers.anyMethod;
@@ -16,6 +17,7 @@ import static com.google.errorprone.matchers.Matchers.not;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
 
 import com.google.auto.service.AutoService;
 import com.google.common.base.Preconditions;
@@ -57,7 +59,12 @@ import tech.picnic.errorprone.bugpatterns.util.Flags;
 import tech.picnic.errorprone.bugpatterns.util.MethodMatcherFactory;
 import tech.picnic.errorprone.bugpatterns.util.SourceCode;
 
-/** A {@link BugChecker} that flags redundant explicit string conversions. */
+/**
+ * A {@link BugChecker} that flags redundant explicit string conversions.
+ *
+ * <p>Inside code marked as a hot path, findings are reported as warnings, as such conversions
+ * needlessly allocate intermediate strings.
+ */
 @AutoService(BugChecker.class)
 @BugPattern(
     summary = "Avoid redundant string conversions when possible",
@@ -174,7 +181,7 @@ public final class RedundantStringConversion extends BugChecker
     ExpressionTree lhs = tree.getLeftOperand();
     ExpressionTree rhs = tree.getRightOperand();
     if (!STRING.matches(lhs, state)) {
-      return createDescription(tree, tryFix(rhs, state, STRING));
+      return createDescription(tree, tryFix(rhs, state, STRING), state);
     }
 
     List<SuggestedFix.Builder> fixes = new ArrayList<>();
@@ -188,7 +195,7 @@ public final class RedundantStringConversion extends BugChecker
     }
     tryFix(rhs, state, ANY_EXPR).ifPresent(fixes::add);
 
-    return createDescription(tree, fixes.stream().reduce(SuggestedFix.Builder::merge));
+    return createDescription(tree, fixes.stream().reduce(SuggestedFix.Builder::merge), state);
   }
 
   @Override
@@ -197,36 +204,38 @@ public final class RedundantStringConversion extends BugChecker
       return Description.NO_MATCH;
     }
 
-    return createDescription(tree, tryFix(tree.getExpression(), state, ANY_EXPR));
+    return createDescription(tree, tryFix(tree.getExpression(), state, ANY_EXPR), state);
   }
 
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (STRINGBUILDER_APPEND_INVOCATION.matches(tree, state)) {
-      return createDescription(tree, tryFixPositionalConverter(tree.getArguments(), state, 0));
+      return createDescription(
+          tree, tryFixPositionalConverter(tree.getArguments(), state, 0), state);
     }
 
     if (STRINGBUILDER_INSERT_INVOCATION.matches(tree, state)) {
-      return createDescription(tree, tryFixPositionalConverter(tree.getArguments(), state, 1));
+      return createDescription(
+          tree, tryFixPositionalConverter(tree.getArguments(), state, 1), state);
     }
 
     if (FORMATTER_INVOCATION.matches(tree, state)) {
-      return createDescription(tree, tryFixFormatter(tree.getArguments(), state));
+      return createDescription(tree, tryFixFormatter(tree.getArguments(), state), state);
     }
 
     if (GUAVA_GUARD_INVOCATION.matches(tree, state)) {
-      return createDescription(tree, tryFixGuavaGuard(tree.getArguments(), state));
+      return createDescription(tree, tryFixGuavaGuard(tree.getArguments(), state), state);
     }
 
     if (SLF4J_LOGGER_INVOCATION.matches(tree, state)) {
-      return createDescription(tree, tryFixSlf4jLogger(tree.getArguments(), state));
+      return createDescription(tree, tryFixSlf4jLogger(tree.getArguments(), state), state);
     }
 
     if (instanceMethod().matches(tree, state)) {
-      return createDescription(tree, tryFix(tree, state, STRING));
+      return createDescription(tree, tryFix(tree, state, STRING), state);
     }
 
-    return createDescription(tree, tryFix(tree, state, NON_NULL_STRING));
+    return createDescription(tree, tryFix(tree, state, NON_NULL_STRING), state);
   }
 
   private Optional<SuggestedFix.Builder> tryFixPositionalConverter(
@@ -373,10 +382,13 @@ public final class RedundantStringConversion extends BugChecker
     return Optional.of(Iterables.getOnlyElement(methodInvocation.getArguments()));
   }
 
-  private Description createDescription(Tree tree, Optional<SuggestedFix.Builder> fixes) {
+  private Description createDescription(
+      Tree tree, Optional<SuggestedFix.Builder> fixes, VisitorState state) {
     return fixes
         .map(SuggestedFix.Builder::build)
-        .map(fix -> describeMatch(tree, fix))
+        .map(
+            fix ->
+                escalateInHotPath(buildDescription(tree), this, WARNING, state).addFix(fix).build())
         .orElse(Description.NO_MATCH);
   }
 
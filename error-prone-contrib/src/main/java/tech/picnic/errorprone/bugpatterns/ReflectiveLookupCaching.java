@@ -0,0 +1,128 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+import com.sun.tools.javac.code.Symbol;
+import java.util.List;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+
+/**
+ * A {@link BugChecker} that flags reflective lookups with constant arguments that are performed
+ * each time a method or lambda expression is executed.
+ *
+ * <p>Methods such as {@link Class#getMethod(String, Class[])} and {@link Class#forName(String)} are
+ * relatively slow and allocate, while their results are immutable and safe to share. Such lookups
+ * should instead be performed once, with the result stored in a {@code private static final} field.
+ * When the looked-up member's declaring class is statically known, a {@link
+ * java.lang.invoke.MethodHandle} or {@link java.lang.invoke.VarHandle} constant may be used
+ * instead, which the JIT compiler can more easily inline.
+ *
+ * <p>Lookups inside constructors, field initializers and initializer blocks are not flagged, as
+ * such code is generally executed only once.
+ */
+// XXX: Consider suggesting a fix that introduces a `static final` field. As lookups throw checked
+// exceptions, such a field must be initialized inside a static initializer block.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid repeatedly performing the same reflective lookup; store the result in a "
+            + "`static final` field instead",
+    link = BUG_PATTERNS_BASE_URL + "ReflectiveLookupCaching",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class ReflectiveLookupCaching extends BugChecker
+    implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final ImmutableMap<String, String> HANDLE_ALTERNATIVES =
+      ImmutableMap.<String, String>builder()
+          .put("getConstructor", "MethodHandle")
+          .put("getDeclaredConstructor", "MethodHandle")
+          .put("getDeclaredField", "VarHandle")
+          .put("getDeclaredMethod", "MethodHandle")
+          .put("getField", "VarHandle")
+          .put("getMethod", "MethodHandle")
+          .buildOrThrow();
+  private static final Matcher<ExpressionTree> MEMBER_LOOKUP =
+      instanceMethod().onExactClass("java.lang.Class").namedAnyOf(HANDLE_ALTERNATIVES.keySet());
+  private static final Matcher<ExpressionTree> CLASS_LOOKUP =
+      staticMethod().onClass("java.lang.Class").named("forName");
+
+  /** Instantiates a new {@link ReflectiveLookupCaching} instance. */
+  public ReflectiveLookupCaching() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    boolean isMemberLookup = MEMBER_LOOKUP.matches(tree, state);
+    if ((!isMemberLookup && !CLASS_LOOKUP.matches(tree, state))
+        || MoreASTHelpers.findRepeatedlyExecutedScope(state).isEmpty()
+        || isStaticFieldAssignment(state)
+        || !hasConstantArguments(tree.getArguments())) {
+      return Description.NO_MATCH;
+    }
+
+    if (!isMemberLookup) {
+      return escalateInHotPath(buildDescription(tree), this, WARNING, state).build();
+    }
+
+    ExpressionTree receiver = ASTHelpers.getReceiver(tree);
+    if (receiver == null || !isClassLiteral(receiver)) {
+      return Description.NO_MATCH;
+    }
+
+    return escalateInHotPath(buildDescription(tree), this, WARNING, state)
+        .setMessage(
+            String.format(
+                "Avoid repeatedly performing the same reflective lookup; store the result in a "
+                    + "`static final` field, or use a `static final` `%s` instead",
+                HANDLE_ALTERNATIVES.get(ASTHelpers.getSymbol(tree).getSimpleName().toString())))
+        .build();
+  }
+
+  /**
+   * Tells whether the result of the lookup at the given {@link VisitorState}'s current {@link
+   * VisitorState#getPath() path} is assigned to a static field, as is the case when the lookup is
+   * performed lazily.
+   */
+  private static boolean isStaticFieldAssignment(VisitorState state) {
+    Tree parent = state.getPath().getParentPath().getLeaf();
+    if (!(parent instanceof AssignmentTree)) {
+      return false;
+    }
+
+    Symbol variable = ASTHelpers.getSymbol(((AssignmentTree) parent).getVariable());
+    return variable != null && ASTHelpers.isStatic(variable);
+  }
+
+  private static boolean hasConstantArguments(List<? extends ExpressionTree> arguments) {
+    return arguments.stream()
+        .map(ASTHelpers::stripParentheses)
+        .allMatch(argument -> ASTHelpers.constValue(argument) != null || isClassLiteral(argument));
+  }
+
+  private static boolean isClassLiteral(ExpressionTree tree) {
+    return tree instanceof MemberSelectTree
+        && ((MemberSelectTree) tree).getIdentifier().contentEquals("class");
+  }
+}
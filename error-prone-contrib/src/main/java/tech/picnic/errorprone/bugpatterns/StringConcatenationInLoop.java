@@ -0,0 +1,400 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+import static tech.picnic.errorprone.bugpatterns.util.HotPaths.escalateInHotPath;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.AssignmentTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.CompoundAssignmentTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFix;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.suppliers.Suppliers;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompoundAssignmentTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.Tree.Kind;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.code.Types;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.lang.model.element.ElementKind;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.ConflictDetection;
+import tech.picnic.errorprone.bugpatterns.util.MoreASTHelpers;
+import tech.picnic.errorprone.bugpatterns.util.SourceCode;
+
+/**
+ * A {@link BugChecker} that flags {@link String} concatenations that repeatedly append to the same
+ * variable inside a loop.
+ *
+ * <p>Each such concatenation copies all previously accumulated characters, causing the loop to take
+ * time quadratic in the length of the result. Where the loop's shape allows, this check suggests to
+ * instead collect the result using {@link Collectors#joining()} or {@link String#join(CharSequence,
+ * Iterable)}, or else to accumulate the result in a {@link StringBuilder}.
+ */
+// XXX: Consider presizing the suggested `StringBuilder` if the number of iterations and the length
+// of the appended values are known.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid repeated `String` concatenation inside loops; "
+            + "use a `StringBuilder` or `Collectors.joining()` instead",
+    link = BUG_PATTERNS_BASE_URL + "StringConcatenationInLoop",
+    linkType = CUSTOM,
+    severity = WARNING,
+    tags = PERFORMANCE)
+public final class StringConcatenationInLoop extends BugChecker
+    implements AssignmentTreeMatcher, CompoundAssignmentTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Matcher<ExpressionTree> FOR_EACH =
+      instanceMethod()
+          .onDescendantOfAny(
+              Iterable.class.getCanonicalName(), "java.util.Map", "java.util.stream.Stream")
+          .named("forEach");
+  private static final Supplier<Type> CHAR_SEQUENCE = Suppliers.typeFromClass(CharSequence.class);
+  private static final Supplier<Type> COLLECTION = Suppliers.typeFromString("java.util.Collection");
+
+  /** Instantiates a new {@link StringConcatenationInLoop} instance. */
+  public StringConcatenationInLoop() {}
+
+  @Override
+  public Description matchCompoundAssignment(CompoundAssignmentTree tree, VisitorState state) {
+    if (tree.getKind() != Kind.PLUS_ASSIGNMENT) {
+      return Description.NO_MATCH;
+    }
+
+    return match(tree, tree.getVariable(), tree.getExpression(), state);
+  }
+
+  @Override
+  public Description matchAssignment(AssignmentTree tree, VisitorState state) {
+    if (tree.getExpression().getKind() != Kind.PLUS) {
+      return Description.NO_MATCH;
+    }
+
+    /* Find the leftmost operand of a (possibly nested) concatenation. */
+    @Var BinaryTree concatenation = (BinaryTree) tree.getExpression();
+    while (concatenation.getLeftOperand().getKind() == Kind.PLUS) {
+      concatenation = (BinaryTree) concatenation.getLeftOperand();
+    }
+
+    Symbol symbol = ASTHelpers.getSymbol(tree.getVariable());
+    if (symbol == null || !symbol.equals(ASTHelpers.getSymbol(concatenation.getLeftOperand()))) {
+      return Description.NO_MATCH;
+    }
+
+    return match(
+        tree,
+        tree.getVariable(),
+        concatenation.equals(tree.getExpression()) ? concatenation.getRightOperand() : null,
+        state);
+  }
+
+  /**
+   * Flags the given assignment if it appends to a {@link String} variable declared outside the
+   * innermost enclosing loop.
+   *
+   * @param appended The expression appended to the variable, or {@code null} if the assignment
+   *     cannot be rewritten to a single append operation.
+   */
+  private Description match(
+      ExpressionTree tree,
+      ExpressionTree variable,
+      @Nullable ExpressionTree appended,
+      VisitorState state) {
+    Symbol symbol = ASTHelpers.getSymbol(variable);
+    if (!(symbol instanceof VarSymbol)
+        || !ASTHelpers.isSameType(symbol.type, state.getSymtab().stringType, state)) {
+      return Description.NO_MATCH;
+    }
+
+    Optional<TreePath> loop = MoreASTHelpers.findEnclosingLoop(state);
+    if (loop.isEmpty()) {
+      /* Local variables cannot be reassigned inside lambda expressions; fields can. */
+      return isInForEachLambda(state)
+          ? escalateInHotPath(buildDescription(tree), this, ERROR, state).build()
+          : Description.NO_MATCH;
+    }
+
+    if (symbol.getKind() == ElementKind.LOCAL_VARIABLE
+        && isDeclaredInside(loop.orElseThrow().getLeaf(), symbol)) {
+      return Description.NO_MATCH;
+    }
+
+    Description.Builder description = escalateInHotPath(buildDescription(tree), this, ERROR, state);
+    if (appended != null && symbol.getKind() == ElementKind.LOCAL_VARIABLE) {
+      findPrecedingDeclaration(loop.orElseThrow(), symbol)
+          .filter(
+              declaration ->
+                  !isReferencedOutside(loop.orElseThrow().getLeaf(), tree, symbol)
+                      && !isReferenced(appended, symbol))
+          .ifPresent(
+              declaration -> {
+                suggestJoining(tree, appended, declaration, loop.orElseThrow(), state)
+                    .ifPresent(description::addFix);
+                description.addFix(
+                    suggestStringBuilder(tree, appended, declaration, loop.orElseThrow(), state));
+              });
+    }
+
+    return description.build();
+  }
+
+  private static boolean isInForEachLambda(VisitorState state) {
+    TreePath lambda =
+        state.findPathToEnclosing(LambdaExpressionTree.class, MethodTree.class, ClassTree.class);
+    if (lambda == null || !(lambda.getLeaf() instanceof LambdaExpressionTree)) {
+      return false;
+    }
+
+    Tree parent = lambda.getParentPath().getLeaf();
+    return parent instanceof MethodInvocationTree
+        && FOR_EACH.matches((ExpressionTree) parent, state);
+  }
+
+  /**
+   * Returns the declaration of the given local variable, provided that it immediately precedes the
+   * given loop and that it initializes the variable with a compile-time constant.
+   */
+  private static Optional<VariableTree> findPrecedingDeclaration(TreePath loop, Symbol symbol) {
+    Tree parent = loop.getParentPath().getLeaf();
+    if (!(parent instanceof BlockTree)) {
+      return Optional.empty();
+    }
+
+    List<? extends StatementTree> statements = ((BlockTree) parent).getStatements();
+    int index = statements.indexOf(loop.getLeaf());
+    if (index < 1 || !(statements.get(index - 1) instanceof VariableTree)) {
+      return Optional.empty();
+    }
+
+    VariableTree declaration = (VariableTree) statements.get(index - 1);
+    return symbol.equals(ASTHelpers.getSymbol(declaration))
+            && declaration.getInitializer() != null
+            && ASTHelpers.constValue(declaration.getInitializer(), String.class) != null
+        ? Optional.of(declaration)
+        : Optional.empty();
+  }
+
+  /**
+   * Suggests to replace an enhanced {@code for} loop that only concatenates values to an initially
+   * empty {@link String} with a single expression that joins said values.
+   */
+  private static Optional<SuggestedFix> suggestJoining(
+      ExpressionTree tree,
+      ExpressionTree appended,
+      VariableTree declaration,
+      TreePath loop,
+      VisitorState state) {
+    if (!(loop.getLeaf() instanceof EnhancedForLoopTree)
+        || !"".equals(ASTHelpers.constValue(declaration.getInitializer(), String.class))) {
+      return Optional.empty();
+    }
+
+    EnhancedForLoopTree forLoop = (EnhancedForLoopTree) loop.getLeaf();
+    if (!isSoleStatement(forLoop.getStatement(), tree)) {
+      return Optional.empty();
+    }
+
+    Type charSequence = CHAR_SEQUENCE.get(state);
+    Type elementType = ASTHelpers.getType(forLoop.getVariable());
+    ExpressionTree iterable = forLoop.getExpression();
+    if (appended instanceof IdentifierTree
+        && ASTHelpers.getSymbol(forLoop.getVariable()).equals(ASTHelpers.getSymbol(appended))
+        && ASTHelpers.isSubtype(elementType, charSequence, state)) {
+      return Optional.of(
+          replaceLoop(
+              declaration,
+              String.format("String.join(\"\", %s)", SourceCode.treeToString(iterable, state)),
+              loop,
+              SuggestedFix.builder()));
+    }
+
+    if (!MoreASTHelpers.canBeMovedIntoLambda(appended, state)) {
+      return Optional.empty();
+    }
+
+    SuggestedFix.Builder fix = SuggestedFix.builder();
+    String stream = toStream(iterable, fix, state);
+    if (stream == null) {
+      return Optional.empty();
+    }
+
+    String mappedValue = toCharSequence(appended, state);
+    return Optional.of(
+        replaceLoop(
+            declaration,
+            String.format(
+                "%s.map(%s -> %s).collect(%s())",
+                stream,
+                forLoop.getVariable().getName(),
+                mappedValue,
+                SuggestedFixes.qualifyStaticImport(
+                    Collectors.class.getCanonicalName() + ".joining", fix, state)),
+            loop,
+            fix));
+  }
+
+  private static @Nullable String toStream(
+      ExpressionTree iterable, SuggestedFix.Builder fix, VisitorState state) {
+    Type type = ASTHelpers.getType(iterable);
+    if (type == null) {
+      return null;
+    }
+
+    String source = SourceCode.treeToString(iterable, state);
+    if (state.getTypes().isArray(type)) {
+      return state.getTypes().elemtype(type).isPrimitive()
+          ? null
+          : String.format(
+              "%s.stream(%s)", SuggestedFixes.qualifyType(state, fix, "java.util.Arrays"), source);
+    }
+
+    return ASTHelpers.isSubtype(type, COLLECTION.get(state), state) ? source + ".stream()" : null;
+  }
+
+  private static SuggestedFix replaceLoop(
+      VariableTree declaration, String value, TreePath loop, SuggestedFix.Builder fix) {
+    return fix.replace(declaration.getInitializer(), value).delete(loop.getLeaf()).build();
+  }
+
+  /**
+   * Suggests to accumulate the concatenated values in a {@link StringBuilder}, and to assign its
+   * content to the original variable after the loop.
+   */
+  private static SuggestedFix suggestStringBuilder(
+      ExpressionTree tree,
+      ExpressionTree appended,
+      VariableTree declaration,
+      TreePath loop,
+      VisitorState state) {
+    String name = declaration.getName().toString();
+    String builder = ConflictDetection.findUnusedVariableName(name + "Builder", state);
+    String initialValue =
+        "".equals(ASTHelpers.constValue(declaration.getInitializer(), String.class))
+            ? ""
+            : SourceCode.treeToString(declaration.getInitializer(), state);
+
+    Type appendedType = ASTHelpers.getType(appended);
+    String appendedValue =
+        appendedType != null && appendedType.isPrimitive()
+            ? SourceCode.treeToString(appended, state)
+            : toCharSequence(appended, state);
+
+    return SuggestedFix.builder()
+        .replace(
+            declaration,
+            String.format("StringBuilder %s = new StringBuilder(%s);", builder, initialValue))
+        .replace(tree, String.format("%s.append(%s)", builder, appendedValue))
+        .postfixWith(loop.getLeaf(), String.format("\nString %s = %s.toString();", name, builder))
+        .build();
+  }
+
+  /**
+   * Returns source code that evaluates to the given expression if it is a {@link CharSequence}, or
+   * else to its {@link String} representation as used by string concatenation.
+   *
+   * <p>Note that {@code char[]} values are cast to {@link Object}, as both {@link
+   * String#valueOf(char[])} and {@link StringBuilder#append(char[])} would otherwise use the
+   * array's content rather than its {@link Object#toString()} representation.
+   */
+  private static String toCharSequence(ExpressionTree expression, VisitorState state) {
+    String source = SourceCode.treeToString(expression, state);
+    Type type = ASTHelpers.getType(expression);
+    if (type != null && ASTHelpers.isSubtype(type, CHAR_SEQUENCE.get(state), state)) {
+      return source;
+    }
+
+    Types types = state.getTypes();
+    return type != null && types.isArray(type) && types.elemtype(type).hasTag(TypeTag.CHAR)
+        ? String.format("String.valueOf((Object) %s)", source)
+        : String.format("String.valueOf(%s)", source);
+  }
+
+  private static boolean isSoleStatement(StatementTree body, ExpressionTree tree) {
+    StatementTree statement =
+        body instanceof BlockTree && ((BlockTree) body).getStatements().size() == 1
+            ? ((BlockTree) body).getStatements().get(0)
+            : body;
+    return statement instanceof ExpressionStatementTree
+        && ((ExpressionStatementTree) statement).getExpression().equals(tree);
+  }
+
+  private static boolean isDeclaredInside(Tree tree, Symbol symbol) {
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitVariable(VariableTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node)) || super.visitVariable(node, null);
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
+
+  private static boolean isReferenced(Tree tree, Symbol symbol) {
+    return isReferencedOutside(tree, null, symbol);
+  }
+
+  /**
+   * Tells whether the given tree references the specified symbol, not counting references inside
+   * the given excluded subtree.
+   */
+  private static boolean isReferencedOutside(Tree tree, @Nullable Tree excluded, Symbol symbol) {
+    return Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public @Nullable Boolean scan(Tree node, @Nullable Void unused) {
+            if (node == null || node.equals(excluded)) {
+              return false;
+            }
+
+            return super.scan(node, null);
+          }
+
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node));
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
+}
@@ -0,0 +1,81 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.isSubtypeOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.VirtualThreads;
+
+/**
+ * A {@link BugChecker} that flags {@link ThreadLocal}s that lazily initialize a per-thread value,
+ * in code that targets Java 21 or later.
+ *
+ * <p>Thread-local variables are commonly used to cache objects that are expensive to create, but
+ * not thread-safe, such as {@link java.text.SimpleDateFormat} instances. This pattern assumes that
+ * there are few threads, each of which is reused for many tasks. Virtual threads are instead
+ * created per task, such that a new value is created for each task, and the total memory footprint
+ * grows with the number of concurrent tasks. Prefer sharing a thread-safe alternative, or use an
+ * explicit (bounded) object pool.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid caching objects in a `ThreadLocal`, as each virtual thread will create its own "
+            + "instance; share a thread-safe instance instead",
+    link = BUG_PATTERNS_BASE_URL + "ThreadLocalCache",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class ThreadLocalCache extends BugChecker
+    implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Matcher<ExpressionTree> THREAD_LOCAL_WITH_INITIAL =
+      staticMethod().onClass(ThreadLocal.class.getCanonicalName()).named("withInitial");
+  private static final Matcher<ExpressionTree> THREAD_LOCAL = isSubtypeOf(ThreadLocal.class);
+
+  /** Instantiates a new {@link ThreadLocalCache} instance. */
+  public ThreadLocalCache() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    return THREAD_LOCAL_WITH_INITIAL.matches(tree, state) && VirtualThreads.isSupported(state)
+        ? describeMatch(tree)
+        : Description.NO_MATCH;
+  }
+
+  @Override
+  public Description matchNewClass(NewClassTree tree, VisitorState state) {
+    return THREAD_LOCAL.matches(tree, state)
+            && overridesInitialValue(tree.getClassBody())
+            && VirtualThreads.isSupported(state)
+        ? describeMatch(tree)
+        : Description.NO_MATCH;
+  }
+
+  private static boolean overridesInitialValue(@Nullable ClassTree classBody) {
+    return classBody != null
+        && classBody.getMembers().stream()
+            .anyMatch(
+                member ->
+                    member instanceof MethodTree
+                        && ((MethodTree) member).getName().contentEquals("initialValue")
+                        && ((MethodTree) member).getParameters().isEmpty());
+  }
+}
@@ -0,0 +1,76 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.fixes.SuggestedFixes;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import tech.picnic.errorprone.bugpatterns.util.VirtualThreads;
+
+/**
+ * A {@link BugChecker} that flags thread pools that are candidates for replacement with a virtual
+ * thread per task executor, in code that targets Java 21 or later.
+ *
+ * <p>Tasks that spend most of their time waiting for I/O need not share a limited number of
+ * platform threads; a virtual thread per task is cheaper, and avoids tasks queueing up behind
+ * blocked tasks. Unbounded cached thread pools can be replaced directly. Fixed thread pools
+ * additionally bound concurrency; if this is desired, consider limiting access to the contended
+ * resource using a {@link java.util.concurrent.Semaphore} instead.
+ *
+ * <p>Note that thread pools that execute CPU-bound tasks do not benefit from virtual threads.
+ */
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Thread pools used for I/O-bound tasks should be replaced with "
+            + "`Executors.newVirtualThreadPerTaskExecutor()`",
+    link = BUG_PATTERNS_BASE_URL + "VirtualThreadPerTaskExecutor",
+    linkType = CUSTOM,
+    severity = SUGGESTION,
+    tags = PERFORMANCE)
+public final class VirtualThreadPerTaskExecutor extends BugChecker
+    implements MethodInvocationTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final Matcher<ExpressionTree> NEW_THREAD_POOL =
+      staticMethod()
+          .onClass("java.util.concurrent.Executors")
+          .namedAnyOf("newCachedThreadPool", "newFixedThreadPool");
+  private static final Matcher<ExpressionTree> NEW_DEFAULT_CACHED_THREAD_POOL =
+      staticMethod()
+          .onClass("java.util.concurrent.Executors")
+          .named("newCachedThreadPool")
+          .withNoParameters();
+
+  /** Instantiates a new {@link VirtualThreadPerTaskExecutor} instance. */
+  public VirtualThreadPerTaskExecutor() {}
+
+  @Override
+  public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+    if (!NEW_THREAD_POOL.matches(tree, state) || !VirtualThreads.isSupported(state)) {
+      return Description.NO_MATCH;
+    }
+
+    if (!NEW_DEFAULT_CACHED_THREAD_POOL.matches(tree, state)) {
+      /*
+       * Fixed thread pools bound concurrency, while a custom thread factory may configure thread
+       * properties that do not apply to virtual threads. Neither can be migrated blindly.
+       */
+      return describeMatch(tree);
+    }
+
+    return describeMatch(
+        tree,
+        SuggestedFixes.renameMethodInvocation(tree, "newVirtualThreadPerTaskExecutor", state));
+  }
+}
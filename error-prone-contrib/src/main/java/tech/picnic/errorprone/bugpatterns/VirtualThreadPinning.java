@@ -0,0 +1,161 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import static com.google.errorprone.BugPattern.LinkType.CUSTOM;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
+import static com.google.errorprone.BugPattern.StandardTags.CONCURRENCY;
+import static com.google.errorprone.BugPattern.StandardTags.PERFORMANCE;
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static tech.picnic.errorprone.bugpatterns.util.Documentation.BUG_PATTERNS_BASE_URL;
+
+import com.google.auto.service.AutoService;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.SynchronizedTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.SynchronizedTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.bugpatterns.util.BlockingMethods;
+import tech.picnic.errorprone.bugpatterns.util.VirtualThreads;
+
+/**
+ * A {@link BugChecker} that flags {@code synchronized} blocks and methods that perform blocking
+ * calls, in code that targets Java 21 or later.
+ *
+ * <p>A virtual thread that blocks while holding a monitor cannot unmount from its carrier platform
+ * thread. Such a "pinned" virtual thread thus occupies one of the few carrier threads for the full
+ * duration of the blocking call, which may exhaust the carrier thread pool. A {@link
+ * java.util.concurrent.locks.ReentrantLock} does not have this issue.
+ *
+ * <p>Additional blocking methods can be specified using the {@code
+ * VirtualThreadPinning:ExtraBlockingMethods} flag.
+ */
+// XXX: As of JDK 24 (JEP 491) virtual threads no longer pin their carrier thread while inside a
+// `synchronized` region. Consider disabling this check for code that targets such a release.
+@AutoService(BugChecker.class)
+@BugPattern(
+    summary =
+        "Avoid blocking calls inside `synchronized` regions, as these pin virtual threads to their "
+            + "carrier thread; use a `ReentrantLock` instead",
+    link = BUG_PATTERNS_BASE_URL + "VirtualThreadPinning",
+    linkType = CUSTOM,
+    severity = WARNING,
+    tags = {CONCURRENCY, PERFORMANCE})
+@SuppressWarnings("java:S2160" /* Super class equality definition suffices. */)
+public final class VirtualThreadPinning extends BugChecker
+    implements MethodTreeMatcher, SynchronizedTreeMatcher {
+  private static final long serialVersionUID = 1L;
+  private static final String EXTRA_BLOCKING_METHODS_FLAG =
+      "VirtualThreadPinning:ExtraBlockingMethods";
+  private static final Matcher<ExpressionTree> OBJECT_WAIT =
+      instanceMethod().anyClass().named("wait");
+
+  private final Matcher<ExpressionTree> blockingMethodMatcher;
+
+  /** Instantiates a default {@link VirtualThreadPinning} instance. */
+  public VirtualThreadPinning() {
+    this(ErrorProneFlags.empty());
+  }
+
+  /**
+   * Instantiates a customized {@link VirtualThreadPinning} instance.
+   *
+   * @param flags Any provided command line flags.
+   */
+  @Inject
+  VirtualThreadPinning(ErrorProneFlags flags) {
+    blockingMethodMatcher =
+        anyOf(OBJECT_WAIT, BlockingMethods.createMatcher(flags, EXTRA_BLOCKING_METHODS_FLAG));
+  }
+
+  @Override
+  public Description matchMethod(MethodTree tree, VisitorState state) {
+    if (!tree.getModifiers().getFlags().contains(Modifier.SYNCHRONIZED) || tree.getBody() == null) {
+      return Description.NO_MATCH;
+    }
+
+    return describePinning(tree, tree.getBody(), state);
+  }
+
+  @Override
+  public Description matchSynchronized(SynchronizedTree tree, VisitorState state) {
+    return describePinning(tree, tree.getBlock(), state);
+  }
+
+  private Description describePinning(Tree tree, Tree body, VisitorState state) {
+    if (!VirtualThreads.isSupported(state)) {
+      return Description.NO_MATCH;
+    }
+
+    MethodInvocationTree blockingCall = findBlockingCall(body, state);
+    if (blockingCall == null) {
+      return Description.NO_MATCH;
+    }
+
+    MethodSymbol method = ASTHelpers.getSymbol(blockingCall);
+    return buildDescription(tree)
+        .setMessage(
+            String.format(
+                "This `synchronized` region invokes blocking method `%s#%s`, which pins virtual "
+                    + "threads to their carrier thread; use a `ReentrantLock` instead",
+                method.owner.getSimpleName(), method.getSimpleName()))
+        .build();
+  }
+
+  /**
+   * Returns a blocking method invocation that is executed as part of the given {@code synchronized}
+   * region, if any.
+   *
+   * <p>Nested lambda expressions and classes are not inspected, as these are not necessarily
+   * executed while the monitor is held. Nested {@code synchronized} blocks are reported separately.
+   */
+  private @Nullable MethodInvocationTree findBlockingCall(Tree body, VisitorState state) {
+    return new TreeScanner<@Nullable MethodInvocationTree, @Nullable Void>() {
+      @Override
+      public @Nullable MethodInvocationTree visitMethodInvocation(
+          MethodInvocationTree node, @Nullable Void unused) {
+        return blockingMethodMatcher.matches(node, state)
+            ? node
+            : super.visitMethodInvocation(node, null);
+      }
+
+      @Override
+      public @Nullable MethodInvocationTree visitLambdaExpression(
+          LambdaExpressionTree node, @Nullable Void unused) {
+        return null;
+      }
+
+      @Override
+      public @Nullable MethodInvocationTree visitClass(ClassTree node, @Nullable Void unused) {
+        return null;
+      }
+
+      @Override
+      public @Nullable MethodInvocationTree visitSynchronized(
+          SynchronizedTree node, @Nullable Void unused) {
+        return null;
+      }
+
+      @Override
+      public @Nullable MethodInvocationTree reduce(
+          @Nullable MethodInvocationTree r1, @Nullable MethodInvocationTree r2) {
+        return r1 != null ? r1 : r2;
+      }
+    }.scan(body, null);
+  }
+}
@@ -0,0 +1,62 @@
+package tech.picnic.errorprone.bugpatterns.util;
+
+import static com.google.errorprone.matchers.Matchers.anyOf;
+import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
+import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
+
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.matchers.Matcher;
+import com.sun.source.tree.ExpressionTree;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+/**
+ * Utility class that helps identify invocations of methods that may block the invoking thread for a
+ * prolonged period of time.
+ */
+public final class BlockingMethods {
+  private static final Matcher<ExpressionTree> WELL_KNOWN_BLOCKING_METHODS =
+      anyOf(
+          instanceMethod()
+              .onDescendantOf("reactor.core.publisher.Mono")
+              .namedAnyOf("block", "blockOptional"),
+          instanceMethod()
+              .onDescendantOf("reactor.core.publisher.Flux")
+              .namedAnyOf("blockFirst", "blockLast"),
+          staticMethod().onClass(Thread.class.getCanonicalName()).named("sleep"),
+          instanceMethod().onDescendantOf(Thread.class.getCanonicalName()).named("join"),
+          instanceMethod().onDescendantOf(Future.class.getCanonicalName()).named("get"),
+          instanceMethod().onDescendantOf(CountDownLatch.class.getCanonicalName()).named("await"),
+          instanceMethod()
+              .onDescendantOf(BlockingQueue.class.getCanonicalName())
+              .namedAnyOf("put", "take"),
+          instanceMethod()
+              .onDescendantOfAny(
+                  InputStream.class.getCanonicalName(), Reader.class.getCanonicalName())
+              .namedAnyOf("read", "readAllBytes", "readNBytes", "transferTo"),
+          instanceMethod()
+              .onDescendantOf("java.sql.Statement")
+              .namedAnyOf("execute", "executeBatch", "executeQuery", "executeUpdate"),
+          instanceMethod().onDescendantOf("java.sql.ResultSet").named("next"));
+
+  private BlockingMethods() {}
+
+  /**
+   * Creates a {@link Matcher} of invocations of and references to well-known blocking methods, as
+   * well as any additional methods specified using the given flag.
+   *
+   * @param flags Any provided command line flags.
+   * @param extraBlockingMethodsFlag The name of the flag that lists additional blocking methods, in
+   *     the format accepted by {@link MethodMatcherFactory#create(java.util.Collection)}.
+   * @return A {@link Matcher} of blocking method invocations and method references.
+   */
+  public static Matcher<ExpressionTree> createMatcher(
+      ErrorProneFlags flags, String extraBlockingMethodsFlag) {
+    return anyOf(
+        WELL_KNOWN_BLOCKING_METHODS,
+        new MethodMatcherFactory().create(Flags.getList(flags, extraBlockingMethodsFlag)));
+  }
+}
@@ -1,17 +1,49 @@
 package tech.picnic.errorprone.bugpatterns.util;
 
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static java.util.Objects.requireNonNull;
 import static tech.picnic.errorprone.bugpatterns.util.JavaKeywords.isValidIdentifier;
 
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Table;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.suppliers.Supplier;
 import com.google.errorprone.util.ASTHelpers;
+import com.google.errorprone.util.FindIdentifiers;
+import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.ImportTree;
 import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Kinds.KindSelector;
 import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.code.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
 
 /** A set of helper methods for detecting conflicts that would be caused when applying fixes. */
 public final class ConflictDetection {
+  /**
+   * A per-compilation cache of the names assigned by {@link #findUnusedFieldName(String, ClassTree,
+   * Predicate, VisitorState)}, keyed by the class to which fields are added and their preferred
+   * name, such that each class is scanned for findings only once.
+   */
+  private static final Supplier<Table<ClassTree, String, Map<Tree, String>>> FIELD_NAMES =
+      VisitorState.memoize(state -> HashBasedTable.create());
+
   private ConflictDetection() {}
 
   /**
@@ -54,6 +86,140 @@ public final class ConflictDetection {
     return Optional.empty();
   }
 
+  /**
+   * Returns the given name, or else a variant thereof with a numeric suffix, such that a variable
+   * with the returned name would not clash with any variable in scope at the given {@link
+   * VisitorState}'s current path.
+   *
+   * <p>This method implements imperfect heuristics: it does not consider variables declared after
+   * the current path, nor variables introduced by other fixes.
+   *
+   * @param name The preferred name for a new variable or field.
+   * @param state The {@link VisitorState} to use when searching for conflicting variables.
+   * @return A valid identifier that does not yet reference a variable at the current path.
+   */
+  public static String findUnusedVariableName(String name, VisitorState state) {
+    return findUnusedVariableNames(name, state).findFirst().orElseThrow();
+  }
+
+  /**
+   * Returns the given name, or else a variant thereof with a numeric suffix, such that a variable
+   * with the returned name would not clash with any variable in scope at the given {@link
+   * VisitorState}'s current path, nor with any variable declared inside the given tree.
+   *
+   * <p>This variant should be used if the scope of the new variable will include the given tree,
+   * such as when introducing a lambda parameter for a block that declares its own local variables.
+   *
+   * @param name The preferred name for a new variable.
+   * @param scope The tree that will be in scope of the new variable.
+   * @param state The {@link VisitorState} to use when searching for conflicting variables.
+   * @return A valid identifier that does not yet reference a variable at the current path, and that
+   *     is not declared inside the given tree.
+   */
+  public static String findUnusedVariableNameFor(String name, Tree scope, VisitorState state) {
+    Set<String> declaredNames = new HashSet<>();
+    new TreeScanner<@Nullable Void, @Nullable Void>() {
+      @Override
+      public @Nullable Void visitVariable(VariableTree node, @Nullable Void unused) {
+        declaredNames.add(node.getName().toString());
+        return super.visitVariable(node, null);
+      }
+    }.scan(scope, null);
+
+    return findUnusedVariableNames(name, state)
+        .filter(candidate -> !declaredNames.contains(candidate))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  /**
+   * Returns the given name, or else a variant thereof with a numeric suffix, such that a field with
+   * the returned name would not clash with any variable in scope at the given {@link
+   * VisitorState}'s current path, nor with the fields introduced by fixes for other findings of the
+   * same kind.
+   *
+   * <p>Fixes for separate findings are computed independently. Therefore, if the fixes for multiple
+   * findings would introduce a field with the same preferred name to the same class, then each is
+   * assigned a distinct name: in the order in which the findings appear in the class, each finding
+   * is assigned the first name that is unused at its location and not yet assigned to a preceding
+   * finding.
+   *
+   * @param name The preferred name for the new field.
+   * @param clazz The class to which the field will be added.
+   * @param introducesSameField A predicate that, given a {@link VisitorState} pointing at another
+   *     tree inside the given class, tells whether a fix for a finding at that location would also
+   *     introduce a field with the given preferred name to the given class.
+   * @param state The {@link VisitorState} to use when searching for conflicting variables.
+   * @return A valid identifier that does not yet reference a variable at the current path, and that
+   *     is not returned for any other finding matched by the given predicate.
+   */
+  public static String findUnusedFieldName(
+      String name,
+      ClassTree clazz,
+      Predicate<VisitorState> introducesSameField,
+      VisitorState state) {
+    Tree current = state.getPath().getLeaf();
+    Table<ClassTree, String, Map<Tree, String>> fieldNames = FIELD_NAMES.get(state);
+    @Var Map<Tree, String> assignedNames = fieldNames.get(clazz, name);
+    if (assignedNames == null || !assignedNames.containsKey(current)) {
+      assignedNames = assignFieldNames(name, clazz, introducesSameField, state);
+      fieldNames.put(clazz, name, assignedNames);
+    }
+
+    return requireNonNull(assignedNames.get(current), "No name assigned to current finding");
+  }
+
+  private static Map<Tree, String> assignFieldNames(
+      String name,
+      ClassTree clazz,
+      Predicate<VisitorState> introducesSameField,
+      VisitorState state) {
+    Tree current = state.getPath().getLeaf();
+    List<TreePath> findings = new ArrayList<>();
+    new TreePathScanner<@Nullable Void, @Nullable Void>() {
+      @Override
+      public @Nullable Void scan(@Nullable Tree tree, @Nullable Void unused) {
+        if (tree == null) {
+          return null;
+        }
+
+        TreePath path = new TreePath(getCurrentPath(), tree);
+        if (tree.equals(current) || introducesSameField.test(state.withPath(path))) {
+          findings.add(path);
+        }
+
+        return super.scan(tree, null);
+      }
+    }.scan(TreePath.getPath(state.getPath().getCompilationUnit(), clazz), null);
+
+    Map<Tree, String> assignedNames = new HashMap<>();
+    Set<String> takenNames = new HashSet<>();
+    for (TreePath finding : findings) {
+      String fieldName =
+          findUnusedVariableNames(name, state.withPath(finding))
+              .filter(candidate -> !takenNames.contains(candidate))
+              .findFirst()
+              .orElseThrow();
+      takenNames.add(fieldName);
+      assignedNames.put(finding.getLeaf(), fieldName);
+    }
+    return assignedNames;
+  }
+
+  private static Stream<String> findUnusedVariableNames(String name, VisitorState state) {
+    ImmutableSet<String> variableNamesInScope =
+        FindIdentifiers.findAllIdents(state).stream()
+            .map(symbol -> symbol.getSimpleName().toString())
+            .collect(toImmutableSet());
+    return Stream.concat(
+            Stream.of(name), IntStream.iterate(2, i -> i + 1).mapToObj(i -> name + '_' + i))
+        .filter(JavaKeywords::isValidIdentifier)
+        .filter(
+            candidate ->
+                !variableNamesInScope.contains(candidate)
+                    && FindIdentifiers.findIdent(candidate, state, KindSelector.VAR) == null);
+  }
+
   private static boolean isExistingMethodName(Type clazz, String name, VisitorState state) {
     return ASTHelpers.matchingMethods(state.getName(name), method -> true, clazz, state.getTypes())
         .findAny()
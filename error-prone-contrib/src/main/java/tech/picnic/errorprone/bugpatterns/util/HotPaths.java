@@ -0,0 +1,69 @@
+package tech.picnic.errorprone.bugpatterns.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.ErrorProneOptions.Severity;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import tech.picnic.errorprone.refaster.annotation.HotPath;
+import tech.picnic.errorprone.refaster.matchers.IsInHotPath;
+
+/**
+ * Utility class that helps decide whether code is performance-critical, as indicated using the
+ * {@link HotPath} annotation.
+ *
+ * <p>Checks may use this class to hold such code to a higher standard.
+ */
+public final class HotPaths {
+  private static final Matcher<Tree> IS_IN_HOT_PATH = new IsInHotPath();
+
+  private HotPaths() {}
+
+  /**
+   * Tells whether the {@link VisitorState#getPath() current path} is located inside a method, class
+   * or package annotated with {@link HotPath}.
+   *
+   * @param state The context under consideration.
+   * @return {@code true} iff the current path is part of a hot path.
+   */
+  public static boolean isInHotPath(VisitorState state) {
+    TreePath path = state.getPath();
+    return path != null && IS_IN_HOT_PATH.matches(path.getLeaf(), state);
+  }
+
+  /**
+   * Overrides the severity of the given {@link Description} if the {@link VisitorState#getPath()
+   * current path} is part of a hot path.
+   *
+   * <p>The severity is not overridden if the user explicitly configured the severity of the given
+   * check (e.g. using {@code -Xep:CheckName:WARN}), as Error Prone would otherwise let the override
+   * take precedence over the user's choice.
+   *
+   * @param description The description of the finding at the current path.
+   * @param checker The check that reports the finding.
+   * @param severity The severity with which to report findings inside a hot path.
+   * @param state The context under consideration.
+   * @return The given description builder.
+   */
+  @SuppressWarnings("RestrictedApi" /* Escalation is the purpose of this method. */)
+  public static Description.Builder escalateInHotPath(
+      Description.Builder description,
+      BugChecker checker,
+      SeverityLevel severity,
+      VisitorState state) {
+    return isInHotPath(state) && !hasConfiguredSeverity(checker, state)
+        ? description.overrideSeverity(severity)
+        : description;
+  }
+
+  private static boolean hasConfiguredSeverity(BugChecker checker, VisitorState state) {
+    ImmutableMap<String, Severity> severities = state.errorProneOptions().getSeverityMap();
+    return checker.allNames().stream()
+        .map(severities::get)
+        .anyMatch(severity -> severity != null && severity != Severity.DEFAULT);
+  }
+}
@@ -1,14 +1,21 @@
 package tech.picnic.errorprone.bugpatterns.util;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.collect.ImmutableListMultimap.toImmutableListMultimap;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
 import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.Matchers;
+import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.ExpressionTree;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import java.util.Collection;
 import java.util.regex.Pattern;
 
@@ -36,21 +43,45 @@ public final class MethodMatcherFactory {
    *     the given signatures.
    */
   public Matcher<ExpressionTree> create(Collection<String> signatures) {
-    return anyOf(
+    ImmutableListMultimap<String, Matcher<ExpressionTree>> signatureMatchers =
         signatures.stream()
-            .map(MethodMatcherFactory::createMethodMatcher)
-            .collect(toImmutableSet()));
+            .map(MethodMatcherFactory::parseSignature)
+            .collect(
+                toImmutableListMultimap(
+                    signature -> signature.group(2), MethodMatcherFactory::createMethodMatcher));
+    ImmutableMap<String, Matcher<ExpressionTree>> matchersByMethodName =
+        ImmutableMap.copyOf(Maps.transformValues(signatureMatchers.asMap(), Matchers::anyOf));
+
+    /*
+     * Method invocations are first matched by method name, such that for most expressions a single
+     * hash lookup suffices, irrespective of the number of signatures. (An additional index by owner
+     * type is not feasible, as instance method signatures also match invocations on subtypes of the
+     * specified type.)
+     */
+    return (tree, state) -> {
+      Symbol symbol = ASTHelpers.getSymbol(tree);
+      if (!(symbol instanceof MethodSymbol)) {
+        return false;
+      }
+
+      Matcher<ExpressionTree> matcher = matchersByMethodName.get(symbol.getSimpleName().toString());
+      return matcher != null && matcher.matches(tree, state);
+    };
   }
 
   // XXX: It seems parse errors are silently swallowed. Double-check; if true, file a ticket.
-  // XXX: This (probably) doesn't work for methods with array type arguments; if true, implement a
-  // fix.
-  private static Matcher<ExpressionTree> createMethodMatcher(CharSequence signature) {
+  private static java.util.regex.Matcher parseSignature(CharSequence signature) {
     java.util.regex.Matcher m = METHOD_SIGNATURE.matcher(signature);
     checkArgument(m.matches(), "Not a valid method signature: %s", signature);
-    String className = m.group(1);
-    String methodName = m.group(2);
-    Iterable<String> parameterTypes = ARGUMENT_TYPE_SPLITTER.split(m.group(3));
+    return m;
+  }
+
+  // XXX: This (probably) doesn't work for methods with array type arguments; if true, implement a
+  // fix.
+  private static Matcher<ExpressionTree> createMethodMatcher(java.util.regex.Matcher signature) {
+    String className = signature.group(1);
+    String methodName = signature.group(2);
+    Iterable<String> parameterTypes = ARGUMENT_TYPE_SPLITTER.split(signature.group(3));
 
     return anyOf(
         instanceMethod().onDescendantOf(className).named(methodName).withParameters(parameterTypes),
@@ -4,13 +4,38 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Streams;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.annotations.Var;
+import com.google.errorprone.suppliers.Supplier;
+import com.google.errorprone.suppliers.Suppliers;
 import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.IdentifierTree;
 import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.TreeScanner;
+import com.sun.tools.javac.code.Source;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.type.TypeKind;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A collection of helper methods for working with the AST.
@@ -19,6 +44,18 @@ import java.util.Optional;
  * com.google.errorprone.util.ASTHelpers}.
  */
 public final class MoreASTHelpers {
+  private static final ImmutableList<Supplier<Type>> VIEW_TYPES =
+      ImmutableList.of(
+          Suppliers.typeFromString("java.lang.Iterable"),
+          Suppliers.typeFromString("java.util.Enumeration"),
+          Suppliers.typeFromString("java.util.Iterator"),
+          Suppliers.typeFromString("java.util.Map"),
+          Suppliers.typeFromString("java.util.Spliterator"),
+          Suppliers.typeFromString("java.util.stream.BaseStream"));
+
+  /** The first Java release in which inner classes may declare {@code static} members. */
+  private static final String STATIC_MEMBERS_IN_INNER_CLASSES_RELEASE = "16";
+
   private MoreASTHelpers() {}
 
   /**
@@ -67,6 +104,229 @@ public final class MoreASTHelpers {
         .map(MethodTree.class::cast);
   }
 
+  /**
+   * Returns the path to the innermost loop statement that repeatedly executes the given {@link
+   * VisitorState}'s current {@link VisitorState#getPath() path}.
+   *
+   * <p>The expression of an enhanced {@code for} loop and the initializer of a basic {@code for}
+   * loop are evaluated only once, and are thus not considered to be part of the loop. The search
+   * does not extend beyond the innermost enclosing method, class or lambda expression.
+   *
+   * @param state The {@link VisitorState} from which to derive the AST location of interest.
+   * @return The path to a {@code do}, {@code for} or {@code while} loop statement, if any.
+   */
+  public static Optional<TreePath> findEnclosingLoop(VisitorState state) {
+    @Var Tree child = state.getPath().getLeaf();
+    @Var TreePath path = state.getPath().getParentPath();
+    while (path != null && !isLoopBoundary(path.getLeaf())) {
+      if (isRepeatedlyExecutedLoopPart(path.getLeaf(), child)) {
+        return Optional.of(path);
+      }
+      child = path.getLeaf();
+      path = path.getParentPath();
+    }
+
+    return Optional.empty();
+  }
+
+  private static boolean isLoopBoundary(Tree tree) {
+    return tree instanceof ClassTree
+        || tree instanceof MethodTree
+        || tree instanceof LambdaExpressionTree;
+  }
+
+  private static boolean isRepeatedlyExecutedLoopPart(Tree loop, Tree child) {
+    switch (loop.getKind()) {
+      case DO_WHILE_LOOP:
+      case WHILE_LOOP:
+        return true;
+      case ENHANCED_FOR_LOOP:
+        return !child.equals(((EnhancedForLoopTree) loop).getExpression());
+      case FOR_LOOP:
+        return !((ForLoopTree) loop).getInitializer().contains(child);
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Returns the path to the innermost tree by virtue of which the given {@link VisitorState}'s
+   * current {@link VisitorState#getPath() path} is likely executed repeatedly.
+   *
+   * <p>This is the innermost loop, as determined by {@link #findEnclosingLoop(VisitorState)}, or
+   * else the enclosing lambda expression or method, excluding constructors. Absent a loop, code in
+   * constructors, initializer blocks and field initializers is executed only once per instance or
+   * class.
+   *
+   * @param state The {@link VisitorState} from which to derive the AST location of interest.
+   * @return The path to a loop statement, lambda expression or method, if any.
+   */
+  public static Optional<TreePath> findRepeatedlyExecutedScope(VisitorState state) {
+    Optional<TreePath> loop = findEnclosingLoop(state);
+    if (loop.isPresent()) {
+      return loop;
+    }
+
+    return Optional.ofNullable(
+            state.findPathToEnclosing(
+                LambdaExpressionTree.class, MethodTree.class, ClassTree.class))
+        .filter(
+            path ->
+                path.getLeaf() instanceof LambdaExpressionTree
+                    || (path.getLeaf() instanceof MethodTree
+                        && !ASTHelpers.getSymbol((MethodTree) path.getLeaf()).isConstructor()));
+  }
+
+  /**
+   * Returns the innermost class enclosing the given {@link VisitorState}'s current {@link
+   * VisitorState#getPath() path} in which a {@code private static} field can be declared.
+   *
+   * <p>Prior to Java 16, only top-level and {@code static} nested classes may declare such fields.
+   * As of Java 16, inner, local and anonymous classes may do so as well. Which rule applies is
+   * determined by the source level of the code under compilation.
+   *
+   * @param state The {@link VisitorState} from which to derive the AST location of interest.
+   * @return A class or enum that may declare {@code static} fields, if any.
+   */
+  public static Optional<ClassTree> findStaticFieldDeclarationTarget(VisitorState state) {
+    boolean allowsStaticMembersInInnerClasses =
+        isSourceAtLeast(STATIC_MEMBERS_IN_INNER_CLASSES_RELEASE, state);
+    for (Tree tree : state.getPath()) {
+      if (tree instanceof ClassTree) {
+        ClassSymbol symbol = ASTHelpers.getSymbol((ClassTree) tree);
+        boolean isClassOrEnum =
+            symbol.getKind() == ElementKind.CLASS || symbol.getKind() == ElementKind.ENUM;
+        boolean mayDeclareStaticMembers =
+            allowsStaticMembersInInnerClasses
+                || symbol.getNestingKind() == NestingKind.TOP_LEVEL
+                || (symbol.getNestingKind() == NestingKind.MEMBER && ASTHelpers.isStatic(symbol));
+        if (isClassOrEnum && mayDeclareStaticMembers) {
+          return Optional.of((ClassTree) tree);
+        }
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * Tells whether the code under compilation targets the given Java release or later.
+   *
+   * <p>This is determined by the {@code --release} option (or the equivalent {@code -source}
+   * option) with which the code is compiled.
+   *
+   * @param release The name of a Java release, such as {@code "16"}.
+   * @param state The context under consideration.
+   * @return {@code true} iff the source level is at least the given release; {@code false} in
+   *     particular if the compiler does not know about the given release.
+   */
+  public static boolean isSourceAtLeast(String release, VisitorState state) {
+    /* Older compilers do not know about newer releases, in which case the lookup yields `null`. */
+    Source minimum = Source.lookup(release);
+    return minimum != null && Source.instance(state.context).compareTo(minimum) >= 0;
+  }
+
+  /**
+   * Tells whether the object referenced by the given local variable is confined to the method or
+   * lambda expression in which the variable is declared.
+   *
+   * <p>This is the case if each reference to the variable is either the expression of an enhanced
+   * {@code for} loop, or the receiver of a method invocation. If such an invocation returns the
+   * referenced object itself or a (collection, iterator or stream) view of it, then the result of
+   * the invocation must in turn be discarded or confined. References from nested lambda expressions
+   * and classes are considered to escape, as these may be executed concurrently.
+   *
+   * @param variable The path to the local variable declaration of interest.
+   * @param state The {@link VisitorState} describing the context in which the given variable was
+   *     found.
+   * @return {@code false} if the given variable is not a local variable, or if the object it
+   *     references may be observed by code outside the declaring method or lambda expression.
+   */
+  public static boolean isNonEscapingLocalVariable(TreePath variable, VisitorState state) {
+    VarSymbol symbol = ASTHelpers.getSymbol((VariableTree) variable.getLeaf());
+    TreePath scope =
+        Streams.stream(variable)
+            .filter(MoreASTHelpers::isLoopBoundary)
+            .findFirst()
+            .filter(tree -> !(tree instanceof ClassTree))
+            .map(tree -> findPathTo(variable, tree))
+            .orElse(null);
+    if (scope == null || symbol.getKind() != ElementKind.LOCAL_VARIABLE) {
+      return false;
+    }
+
+    Type type = symbol.type;
+    return !Boolean.TRUE.equals(
+        new TreePathScanner<Boolean, @Nullable Void>() {
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            return symbol.equals(ASTHelpers.getSymbol(node))
+                && !isConfinedReference(getCurrentPath(), scope.getLeaf(), type, state);
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(scope, null));
+  }
+
+  private static TreePath findPathTo(TreePath path, Tree tree) {
+    @Var TreePath current = path;
+    while (!current.getLeaf().equals(tree)) {
+      current = current.getParentPath();
+    }
+    return current;
+  }
+
+  private static boolean isConfinedReference(
+      TreePath reference, Tree scope, Type type, VisitorState state) {
+    for (Tree tree : reference.getParentPath()) {
+      if (tree.equals(scope)) {
+        break;
+      }
+      if (isLoopBoundary(tree)) {
+        return false;
+      }
+    }
+
+    @Var TreePath path = reference;
+    while (true) {
+      Tree parent = path.getParentPath().getLeaf();
+      if (parent instanceof ExpressionStatementTree) {
+        return true;
+      }
+      if (parent instanceof EnhancedForLoopTree) {
+        return path.getLeaf().equals(((EnhancedForLoopTree) parent).getExpression());
+      }
+
+      TreePath invocation = path.getParentPath().getParentPath();
+      if (!(parent instanceof MemberSelectTree)
+          || !(invocation.getLeaf() instanceof MethodInvocationTree)) {
+        return false;
+      }
+
+      Type result = ASTHelpers.getResultType((MethodInvocationTree) invocation.getLeaf());
+      if (result == null) {
+        return false;
+      }
+      if (result.getKind() == TypeKind.VOID
+          || !(ASTHelpers.isSubtype(result, type, state) || isView(result, state))) {
+        return true;
+      }
+
+      /*
+       * The invocation returns the referenced object itself or a view of it; its usage must be
+       * confined too.
+       */
+      path = invocation;
+    }
+  }
+
+  private static boolean isView(Type type, VisitorState state) {
+    return VIEW_TYPES.stream().anyMatch(view -> ASTHelpers.isSubtype(type, view.get(state), state));
+  }
+
   /**
    * Tells whether the given trees are of the same type, after type erasure.
    *
@@ -79,4 +339,49 @@ public final class MoreASTHelpers {
   public static boolean areSameType(Tree treeA, Tree treeB, VisitorState state) {
     return ASTHelpers.isSameType(ASTHelpers.getType(treeA), ASTHelpers.getType(treeB), state);
   }
+
+  /**
+   * Tells whether the given expression or statement may be moved into the body of a lambda
+   * expression.
+   *
+   * <p>This is the case if the tree does not throw any checked exceptions, and if any local
+   * variable or parameter it references, other than those declared inside the tree itself, is
+   * effectively final. Callers that move statements must separately verify that these do not
+   * contain {@code break}, {@code continue} or {@code return} statements, as those would change
+   * meaning.
+   *
+   * @param tree The expression or statement of interest.
+   * @param state The {@link VisitorState} describing the context in which the given tree was found.
+   * @return {@code true} iff the given tree can be evaluated lazily by a lambda expression.
+   */
+  public static boolean canBeMovedIntoLambda(Tree tree, VisitorState state) {
+    if (ASTHelpers.getThrownExceptions(tree, state).stream()
+        .anyMatch(type -> ASTHelpers.isCheckedExceptionType(type, state))) {
+      return false;
+    }
+
+    List<Symbol> declaredVariables = new ArrayList<>();
+    return !Boolean.TRUE.equals(
+        new TreeScanner<Boolean, @Nullable Void>() {
+          @Override
+          public @Nullable Boolean visitVariable(VariableTree node, @Nullable Void unused) {
+            declaredVariables.add(ASTHelpers.getSymbol(node));
+            return super.visitVariable(node, null);
+          }
+
+          @Override
+          public Boolean visitIdentifier(IdentifierTree node, @Nullable Void unused) {
+            Symbol symbol = ASTHelpers.getSymbol(node);
+            return symbol != null
+                && ASTHelpers.isLocal(symbol)
+                && !declaredVariables.contains(symbol)
+                && !ASTHelpers.isConsideredFinal(symbol);
+          }
+
+          @Override
+          public Boolean reduce(@Nullable Boolean r1, @Nullable Boolean r2) {
+            return Boolean.TRUE.equals(r1) || Boolean.TRUE.equals(r2);
+          }
+        }.scan(tree, null));
+  }
 }
@@ -1,6 +1,9 @@
 package tech.picnic.errorprone.bugpatterns.util;
 
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.suppliers.Supplier;
@@ -12,6 +15,9 @@ import com.sun.tools.javac.code.Symbol.ModuleSymbol;
 import com.sun.tools.javac.code.Symtab;
 import com.sun.tools.javac.code.Type;
 import com.sun.tools.javac.util.Name;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import javax.lang.model.element.Modifier;
 
 /**
@@ -45,6 +51,15 @@ public enum ThirdPartyLibrary {
 
   private static final String IGNORE_CLASSPATH_COMPAT_FLAG =
       "ErrorProneSupport:IgnoreClasspathCompat";
+  private static final Supplier<Boolean> SHOULD_IGNORE_CLASSPATH =
+      VisitorState.memoize(ThirdPartyLibrary::shouldIgnoreClasspath);
+
+  /**
+   * A per-compilation cache of {@link #isKnownClass(String, VisitorState)} results, as class path
+   * lookups are relatively expensive and checks may perform the same lookup for many nodes.
+   */
+  private static final Supplier<Map<String, Boolean>> KNOWN_CLASSES =
+      VisitorState.memoize(state -> new HashMap<>());
 
   @SuppressWarnings("ImmutableEnumChecker" /* Supplier is deterministic. */)
   private final Supplier<Boolean> canUse;
@@ -78,7 +93,26 @@ public enum ThirdPartyLibrary {
    * @return {@code true} iff it is okay to assume or create a dependency on this type.
    */
   public static boolean canIntroduceUsage(String typeName, VisitorState state) {
-    return shouldIgnoreClasspath(state) || isKnownClass(typeName, state);
+    return SHOULD_IGNORE_CLASSPATH.get(state)
+        || KNOWN_CLASSES.get(state).computeIfAbsent(typeName, t -> isKnownClass(t, state));
+  }
+
+  /**
+   * Returns the subset of the given fully qualified types that are available on the current class
+   * path.
+   *
+   * <p>This method allows a check to resolve all types of interest at once, rather than invoking
+   * {@link #canIntroduceUsage(String, VisitorState)} for each type separately.
+   *
+   * @param typeNames The types of interest.
+   * @param state The context under consideration.
+   * @return The types on which it is okay to assume or create a dependency.
+   */
+  public static ImmutableSet<String> getIntroducibleTypes(
+      Collection<String> typeNames, VisitorState state) {
+    return typeNames.stream()
+        .filter(typeName -> canIntroduceUsage(typeName, state))
+        .collect(toImmutableSet());
   }
 
   /**
@@ -0,0 +1,29 @@
+package tech.picnic.errorprone.bugpatterns.util;
+
+import com.google.errorprone.VisitorState;
+
+/**
+ * Utility class that helps decide whether code may be executed on virtual threads.
+ *
+ * <p>Checks may use this class to flag constructs that are harmless on platform threads, but
+ * degrade performance on virtual threads.
+ */
+public final class VirtualThreads {
+  /** The first Java release in which virtual threads are a permanent feature. */
+  private static final String MINIMUM_RELEASE = "21";
+
+  private VirtualThreads() {}
+
+  /**
+   * Tells whether the code under compilation targets a Java release that supports virtual threads.
+   *
+   * <p>This is the case if the code is compiled with {@code --release 21} or later (or the
+   * equivalent {@code -source} option).
+   *
+   * @param state The context under consideration.
+   * @return {@code true} iff the source code may use virtual threads.
+   */
+  public static boolean isSupported(VisitorState state) {
+    return MoreASTHelpers.isSourceAtLeast(MINIMUM_RELEASE, state);
+  }
+}
@@ -41,7 +41,8 @@ final class CollectionRules {
           collection.size() == 0,
           collection.size() <= 0,
           collection.size() < 1,
-          Iterables.isEmpty(collection));
+          Iterables.isEmpty(collection),
+          collection.stream().findAny().isEmpty());
     }
 
     @BeforeTemplate
@@ -56,6 +57,22 @@ final class CollectionRules {
     }
   }
 
+  /**
+   * Prefer {@link Collection#isEmpty()} over testing whether a stream over the collection has any
+   * element, as the latter allocates a {@link Stream}.
+   */
+  static final class CollectionIsNotEmpty<T> {
+    @BeforeTemplate
+    boolean before(Collection<T> collection) {
+      return collection.stream().findAny().isPresent();
+    }
+
+    @AfterTemplate
+    boolean after(Collection<T> collection) {
+      return !collection.isEmpty();
+    }
+  }
+
   /** Prefer {@link Collection#size()} over more contrived alternatives. */
   static final class CollectionSize<T> {
     @BeforeTemplate
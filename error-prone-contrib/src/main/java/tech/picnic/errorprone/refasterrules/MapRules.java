@@ -5,12 +5,14 @@ import static java.util.Objects.requireNonNullElse;
 import com.google.errorprone.refaster.Refaster;
 import com.google.errorprone.refaster.annotation.AfterTemplate;
 import com.google.errorprone.refaster.annotation.BeforeTemplate;
+import com.google.errorprone.refaster.annotation.Matches;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
 import org.jspecify.annotations.Nullable;
 import tech.picnic.errorprone.refaster.annotation.OnlineDocumentation;
+import tech.picnic.errorprone.refaster.matchers.IsLikelyTrivialComputation;
 
 /** Refaster rules related to expressions dealing with {@link Map} instances. */
 @OnlineDocumentation
@@ -58,6 +60,54 @@ final class MapRules {
     }
   }
 
+  /**
+   * Prefer {@link Map#getOrDefault(Object, Object)} over a {@link Map#containsKey(Object)} check
+   * followed by a second lookup.
+   */
+  static final class MapContainsKeyGetOrDefault<K, V, T> {
+    @BeforeTemplate
+    V before(Map<K, V> map, T key, @Matches(IsLikelyTrivialComputation.class) V defaultValue) {
+      return map.containsKey(key) ? map.get(key) : defaultValue;
+    }
+
+    @AfterTemplate
+    V after(Map<K, V> map, T key, V defaultValue) {
+      return map.getOrDefault(key, defaultValue);
+    }
+  }
+
+  /**
+   * Prefer {@link Map#merge(Object, Object, java.util.function.BiFunction)} over separately looking
+   * up and updating an {@link Integer} count, as the former hashes the key only once.
+   */
+  static final class MapMergeIntegerSum<K> {
+    @BeforeTemplate
+    void before(Map<K, Integer> map, K key, int value) {
+      map.put(key, map.getOrDefault(key, 0) + value);
+    }
+
+    @AfterTemplate
+    void after(Map<K, Integer> map, K key, int value) {
+      map.merge(key, value, Integer::sum);
+    }
+  }
+
+  /**
+   * Prefer {@link Map#merge(Object, Object, java.util.function.BiFunction)} over separately looking
+   * up and updating a {@link Long} count, as the former hashes the key only once.
+   */
+  static final class MapMergeLongSum<K> {
+    @BeforeTemplate
+    void before(Map<K, Long> map, K key, long value) {
+      map.put(key, map.getOrDefault(key, 0L) + value);
+    }
+
+    @AfterTemplate
+    void after(Map<K, Long> map, K key, long value) {
+      map.merge(key, value, Long::sum);
+    }
+  }
+
   /** Prefer {@link Map#isEmpty()} over more contrived alternatives. */
   static final class MapIsEmpty<K, V> {
     @BeforeTemplate
@@ -68,6 +68,32 @@ final class OptionalRules {
     }
   }
 
+  /** Prefer a plain {@code null} check over one that allocates an {@link Optional}. */
+  static final class OptionalOfNullableIsEmpty<T> {
+    @BeforeTemplate
+    boolean before(@Nullable T object) {
+      return Optional.ofNullable(object).isEmpty();
+    }
+
+    @AfterTemplate
+    boolean after(@Nullable T object) {
+      return object == null;
+    }
+  }
+
+  /** Prefer a plain {@code null} check over one that allocates an {@link Optional}. */
+  static final class OptionalOfNullableIsPresent<T> {
+    @BeforeTemplate
+    boolean before(@Nullable T object) {
+      return Optional.ofNullable(object).isPresent();
+    }
+
+    @AfterTemplate
+    boolean after(@Nullable T object) {
+      return object != null;
+    }
+  }
+
   /** Prefer {@link Optional#orElseThrow()} over the less explicit {@link Optional#get()}. */
   static final class OptionalOrElseThrow<T> {
     @BeforeTemplate
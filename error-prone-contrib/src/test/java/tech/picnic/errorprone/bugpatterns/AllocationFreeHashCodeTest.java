@@ -0,0 +1,162 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class AllocationFreeHashCodeTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(AllocationFreeHashCode.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.Arrays;",
+            "import java.util.Objects;",
+            "import java.util.function.IntSupplier;",
+            "",
+            "class A {",
+            "  private final String s = \"foo\";",
+            "  private final int i = 1;",
+            "  private final Object[] array = new Object[0];",
+            "",
+            "  int hash() {",
+            "    return Objects.hash(s, i);",
+            "  }",
+            "",
+            "  static final class B {",
+            "    @Override",
+            "    public int hashCode() {",
+            "      IntSupplier supplier = () -> Objects.hash(1, 2);",
+            "      return Objects.hash(new Object[] {1, 2}) + Arrays.hashCode(new int[2]);",
+            "    }",
+            "  }",
+            "",
+            "  static final class C {",
+            "    @Override",
+            "    public int hashCode() {",
+            "      return Objects.hashCode(this);",
+            "    }",
+            "  }",
+            "",
+            "  @Override",
+            "  public int hashCode() {",
+            "    // BUG: Diagnostic contains:",
+            "    int hash = Objects.hash(s, i);",
+            "    // BUG: Diagnostic contains:",
+            "    hash += Arrays.hashCode(new Object[] {s, i});",
+            "    // BUG: Diagnostic contains:",
+            "    hash += Objects.hash(new int[] {i});",
+            "    // BUG: Diagnostic contains:",
+            "    return hash + Arrays.hashCode(new long[] {i});",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(AllocationFreeHashCode.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.util.Arrays;",
+            "import java.util.List;",
+            "import java.util.Objects;",
+            "",
+            "class A {",
+            "  private final String s = \"foo\";",
+            "  private final int i = 1;",
+            "  private final boolean b = true;",
+            "",
+            "  @Override",
+            "  public int hashCode() {",
+            "    return Objects.hash(s, i, b);",
+            "  }",
+            "",
+            "  static final class B {",
+            "    private final List<String> list = List.of();",
+            "    private final int hash = 1;",
+            "",
+            "    @Override",
+            "    public int hashCode() {",
+            "      if (list.isEmpty()) {",
+            "        return Arrays.hashCode(new long[] {hash});",
+            "      }",
+            "      return 7 * Objects.hash(list, hash, list.size());",
+            "    }",
+            "  }",
+            "",
+            "  static final class C {",
+            "    private final String s = null;",
+            "    private final int i = 1;",
+            "",
+            "    @Override",
+            "    public int hashCode() {",
+            "      if (s == null) return Objects.hash(i, i);",
+            "      switch (i) {",
+            "        case 0:",
+            "          if (s.isEmpty()) return Objects.hash(s);",
+            "          return Objects.hash(s, s);",
+            "        default:",
+            "          return Objects.hash(i);",
+            "      }",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.Arrays;",
+            "import java.util.List;",
+            "import java.util.Objects;",
+            "",
+            "class A {",
+            "  private final String s = \"foo\";",
+            "  private final int i = 1;",
+            "  private final boolean b = true;",
+            "",
+            "  @Override",
+            "  public int hashCode() {",
+            "    int hash = 1;",
+            "    hash = 31 * hash + Objects.hashCode(s);",
+            "    hash = 31 * hash + Integer.hashCode(i);",
+            "    hash = 31 * hash + Boolean.hashCode(b);",
+            "    return hash;",
+            "  }",
+            "",
+            "  static final class B {",
+            "    private final List<String> list = List.of();",
+            "    private final int hash = 1;",
+            "",
+            "    @Override",
+            "    public int hashCode() {",
+            "      if (list.isEmpty()) {",
+            "        int hash_2 = 1;",
+            "        hash_2 = 31 * hash_2 + Long.hashCode(hash);",
+            "        return hash_2;",
+            "      }",
+            "      return 7",
+            "          * (31 * (31 * (31 + Objects.hashCode(list)) + Integer.hashCode(hash))",
+            "              + Integer.hashCode(list.size()));",
+            "    }",
+            "  }",
+            "",
+            "  static final class C {",
+            "    private final String s = null;",
+            "    private final int i = 1;",
+            "",
+            "    @Override",
+            "    public int hashCode() {",
+            "      if (s == null) return 31 * (31 + Integer.hashCode(i)) + Integer.hashCode(i);",
+            "      switch (i) {",
+            "        case 0:",
+            "          if (s.isEmpty()) return 31 + Objects.hashCode(s);",
+            "          return 31 * (31 + Objects.hashCode(s)) + Objects.hashCode(s);",
+            "        default:",
+            "          return 31 + Integer.hashCode(i);",
+            "      }",
+            "    }",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
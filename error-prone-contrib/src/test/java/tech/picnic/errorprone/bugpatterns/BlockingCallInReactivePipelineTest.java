@@ -0,0 +1,143 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class BlockingCallInReactivePipelineTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(BlockingCallInReactivePipeline.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.io.InputStream;",
+            "import java.sql.ResultSet;",
+            "import java.util.concurrent.CompletableFuture;",
+            "import java.util.concurrent.Future;",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(Future<String> future, InputStream inputStream, ResultSet resultSet) {",
+            "    Mono<String> mono = Mono.just(\"foo\");",
+            "    mono.block();",
+            "    Mono.fromCallable(() -> mono.block());",
+            "    Mono.fromCallable(future::get);",
+            "    Flux.just(1).map(i -> i + 1);",
+            "    Flux.just(2).collectList().block();",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(3).map(i -> mono.block());",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(4).flatMap(i -> Mono.just(mono.block()));",
+            "    Flux.just(5)",
+            "        .doOnNext(",
+            "            i -> {",
+            "              try {",
+            "                // BUG: Diagnostic contains:",
+            "                Thread.sleep(i);",
+            "                // BUG: Diagnostic contains:",
+            "                future.get();",
+            "                // BUG: Diagnostic contains:",
+            "                inputStream.read();",
+            "                // BUG: Diagnostic contains:",
+            "                resultSet.next();",
+            "              } catch (Exception e) {",
+            "                throw new IllegalStateException(e);",
+            "              }",
+            "            });",
+            "    // BUG: Diagnostic contains:",
+            "    Mono.just(mono).map(Mono::block);",
+            "    // BUG: Diagnostic contains:",
+            "    Mono.just(mono).map(Mono::blockOptional);",
+            "    Flux.just(6)",
+            "        // BUG: Diagnostic contains:",
+            "        .filter(i -> Flux.just(i).blockFirst() != null);",
+            "",
+            "    Flux.just(7).doOnNext(i -> Mono.fromCallable(() -> mono.block()).subscribe());",
+            "    Flux.just(8)",
+            "        .doOnNext(",
+            "            i ->",
+            "                new Runnable() {",
+            "                  @Override",
+            "                  public void run() {",
+            "                    mono.block();",
+            "                  }",
+            "                }.run());",
+            "    Flux.just(9).map(i -> CompletableFuture.completedFuture(i).join());",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationWithExtraBlockingMethods() {
+    CompilationTestHelper.newInstance(BlockingCallInReactivePipeline.class, getClass())
+        .setArgs(
+            ImmutableList.of(
+                "-XepOpt:BlockingCallInReactivePipeline:ExtraBlockingMethods=A#fetch(int),java.util.concurrent.CompletableFuture#join()"))
+        .addSourceLines(
+            "A.java",
+            "import java.util.concurrent.CompletableFuture;",
+            "import reactor.core.publisher.Flux;",
+            "",
+            "class A {",
+            "  void m() {",
+            "    fetch(1);",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(2).map(this::fetch);",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(3).map(i -> fetch(i));",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(4).map(i -> CompletableFuture.completedFuture(i).join());",
+            "    Flux.just(5).map(i -> fetch(\"bar\"));",
+            "  }",
+            "",
+            "  String fetch(int i) {",
+            "    return \"foo\";",
+            "  }",
+            "",
+            "  String fetch(String s) {",
+            "    return s;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(BlockingCallInReactivePipeline.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(Mono<String> mono) {",
+            "    Mono.just(1).map(i -> mono.block());",
+            "    Flux.just(2).map(i -> mono.block());",
+            "    Flux.just(3).filter(i -> mono.block() != null);",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "import reactor.core.scheduler.Schedulers;",
+            "",
+            "class A {",
+            "  void m(Mono<String> mono) {",
+            "    Mono.just(1)",
+            "        .flatMap(",
+            "            i -> Mono.fromCallable(() -> mono.block()).subscribeOn(Schedulers.boundedElastic()));",
+            "    Flux.just(2)",
+            "        .concatMap(",
+            "            i -> Mono.fromCallable(() -> mono.block()).subscribeOn(Schedulers.boundedElastic()));",
+            "    Flux.just(3).filter(i -> mono.block() != null);",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,222 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class CoarseGrainedSynchronizationTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(CoarseGrainedSynchronization.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.Collections;",
+            "import java.util.HashMap;",
+            "import java.util.Hashtable;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Set;",
+            "import java.util.Vector;",
+            "import java.util.concurrent.ConcurrentHashMap;",
+            "",
+            "class A {",
+            "  // BUG: Diagnostic contains: `Hashtable` serializes all concurrent access",
+            "  private final Map<String, String> table = new Hashtable<>();",
+            "  // BUG: Diagnostic contains: `Collections#synchronizedList` serializes",
+            "  private final List<String> list = Collections.synchronizedList(new ArrayList<>());",
+            "  private final Set<String> set = Collections.synchronizedSet(Set.of());",
+            "  private final StringBuffer buffer = new StringBuffer();",
+            "  private final Map<String, String> cache = new HashMap<>();",
+            "  private final Map<String, String> concurrentCache = new ConcurrentHashMap<>();",
+            "",
+            "  // BUG: Diagnostic contains: storing the map in a `ConcurrentHashMap`",
+            "  synchronized String get(String key) {",
+            "    return cache.get(key);",
+            "  }",
+            "",
+            "  // BUG: Diagnostic contains: only accesses a `ConcurrentMap`",
+            "  synchronized String getConcurrent(String key) {",
+            "    return concurrentCache.computeIfAbsent(key, k -> k);",
+            "  }",
+            "",
+            "  synchronized String getTwice(String key) {",
+            "    cache.get(key);",
+            "    return cache.get(key);",
+            "  }",
+            "",
+            "  synchronized String getBuffer() {",
+            "    return buffer.toString();",
+            "  }",
+            "",
+            "  String getUnsynchronized(String key) {",
+            "    return cache.get(key);",
+            "  }",
+            "",
+            "  String m1() {",
+            "    // BUG: Diagnostic contains: use `StringBuilder` instead",
+            "    StringBuffer local = new StringBuffer();",
+            "    local.append(1).append(2);",
+            "    return local.toString();",
+            "  }",
+            "",
+            "  int m2() {",
+            "    // BUG: Diagnostic contains: use `HashMap` instead",
+            "    Map<String, String> local = new Hashtable<>();",
+            "    local.put(\"foo\", \"bar\");",
+            "    // BUG: Diagnostic contains: use `ArrayList` instead",
+            "    List<String> vector = new Vector<>();",
+            "    // BUG: Diagnostic contains: use the wrapped collection instead",
+            "    Set<String> wrapper = Collections.synchronizedSet(new java.util.HashSet<>());",
+            "    return local.size() + vector.size() + wrapper.size();",
+            "  }",
+            "",
+            "  StringBuffer m3() {",
+            "    StringBuffer local = new StringBuffer();",
+            "    return local.append(1);",
+            "  }",
+            "",
+            "  void m4(List<Map<String, String>> sink) {",
+            "    Map<String, String> local = new Hashtable<>();",
+            "    sink.add(local);",
+            "    Hashtable<String, String> environment = new Hashtable<>();",
+            "    sink.add(environment);",
+            "    new Thread(() -> new StringBuffer().append(1)).start();",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(CoarseGrainedSynchronization.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.Collections;",
+            "import java.util.Hashtable;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Vector;",
+            "import java.util.concurrent.ConcurrentHashMap;",
+            "",
+            "class A {",
+            "  private final Map<String, String> table = new Hashtable<>(16);",
+            "  private final Map<String, String> lock = new Hashtable<>();",
+            "  private final Map<String, String> cache = new ConcurrentHashMap<>();",
+            "  private final Map<String, String> guardedCache = new ConcurrentHashMap<>();",
+            "  private final Map<String, String> lockedCache = new ConcurrentHashMap<>();",
+            "",
+            "  synchronized String get(String key) {",
+            "    return cache.get(key);",
+            "  }",
+            "",
+            "  synchronized String getGuarded(String key) {",
+            "    return guardedCache.get(key);",
+            "  }",
+            "",
+            "  synchronized void putGuarded(String key, String value) {",
+            "    if (!guardedCache.containsKey(key)) {",
+            "      guardedCache.put(key, value);",
+            "    }",
+            "  }",
+            "",
+            "  synchronized String getLocked(String key) {",
+            "    return lockedCache.get(key);",
+            "  }",
+            "",
+            "  void clearLocked() {",
+            "    synchronized (this) {",
+            "      lockedCache.clear();",
+            "    }",
+            "  }",
+            "",
+            "  String m1(int i) {",
+            "    StringBuffer buffer = new StringBuffer(i);",
+            "    var other = new StringBuffer();",
+            "    CharSequence sequence = new StringBuffer(\"foo\");",
+            "    other.append(sequence.length());",
+            "    return buffer.append(other.length()).toString();",
+            "  }",
+            "",
+            "  int m2() {",
+            "    List<String> list = new Vector<>(10);",
+            "    List<String> vector = new Vector<>(10, 10);",
+            "    Vector<String> declared = new Vector<>();",
+            "    List<String> wrapped = Collections.synchronizedList(new ArrayList<>());",
+            "    return list.size() + vector.size() + declared.size() + wrapped.size();",
+            "  }",
+            "",
+            "  void m3() {",
+            "    synchronized (lock) {",
+            "      lock.clear();",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.Collections;",
+            "import java.util.Hashtable;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Vector;",
+            "import java.util.concurrent.ConcurrentHashMap;",
+            "",
+            "class A {",
+            "  private final Map<String, String> table = new ConcurrentHashMap<>(16);",
+            "  private final Map<String, String> lock = new Hashtable<>();",
+            "  private final Map<String, String> cache = new ConcurrentHashMap<>();",
+            "  private final Map<String, String> guardedCache = new ConcurrentHashMap<>();",
+            "  private final Map<String, String> lockedCache = new ConcurrentHashMap<>();",
+            "",
+            "  String get(String key) {",
+            "    return cache.get(key);",
+            "  }",
+            "",
+            "  synchronized String getGuarded(String key) {",
+            "    return guardedCache.get(key);",
+            "  }",
+            "",
+            "  synchronized void putGuarded(String key, String value) {",
+            "    if (!guardedCache.containsKey(key)) {",
+            "      guardedCache.put(key, value);",
+            "    }",
+            "  }",
+            "",
+            "  synchronized String getLocked(String key) {",
+            "    return lockedCache.get(key);",
+            "  }",
+            "",
+            "  void clearLocked() {",
+            "    synchronized (this) {",
+            "      lockedCache.clear();",
+            "    }",
+            "  }",
+            "",
+            "  String m1(int i) {",
+            "    StringBuilder buffer = new StringBuilder(i);",
+            "    var other = new StringBuilder();",
+            "    CharSequence sequence = new StringBuilder(\"foo\");",
+            "    other.append(sequence.length());",
+            "    return buffer.append(other.length()).toString();",
+            "  }",
+            "",
+            "  int m2() {",
+            "    List<String> list = new ArrayList<>(10);",
+            "    List<String> vector = new Vector<>(10, 10);",
+            "    Vector<String> declared = new Vector<>();",
+            "    List<String> wrapped = new ArrayList<>();",
+            "    return list.size() + vector.size() + declared.size() + wrapped.size();",
+            "  }",
+            "",
+            "  void m3() {",
+            "    synchronized (lock) {",
+            "      lock.clear();",
+            "    }",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
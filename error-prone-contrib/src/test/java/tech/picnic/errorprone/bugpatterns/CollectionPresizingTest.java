@@ -0,0 +1,211 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class CollectionPresizingTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(CollectionPresizing.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableList;",
+            "import com.google.common.collect.ImmutableMap;",
+            "import java.util.ArrayList;",
+            "import java.util.HashMap;",
+            "import java.util.HashSet;",
+            "import java.util.LinkedList;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Set;",
+            "",
+            "class A {",
+            "  private final List<String> field = List.of();",
+            "",
+            "  void m(List<String> list, String[] array, Iterable<String> iterable) {",
+            "    List<String> l1 = new ArrayList<>(list.size());",
+            "    for (String s : list) {",
+            "      l1.add(s);",
+            "    }",
+            "",
+            "    List<String> l2 = new ArrayList<>();",
+            "    for (String s : iterable) {",
+            "      l2.add(s);",
+            "    }",
+            "",
+            "    List<String> l3 = new ArrayList<>();",
+            "    for (String s : list) {",
+            "      if (!s.isEmpty()) {",
+            "        l3.add(s);",
+            "      }",
+            "    }",
+            "",
+            "    List<String> l4 = new ArrayList<>();",
+            "    for (String s : list) {",
+            "      l4.add(s);",
+            "      l4.add(s);",
+            "    }",
+            "",
+            "    List<String> l5 = new ArrayList<>();",
+            "    for (String s : List.of(\"foo\")) {",
+            "      l5.add(s);",
+            "    }",
+            "",
+            "    List<String> l6 = new LinkedList<>();",
+            "    for (String s : list) {",
+            "      l6.add(s);",
+            "    }",
+            "",
+            "    List<String> l7 = new ArrayList<>();",
+            "    for (String s : list) {",
+            "      l1.add(s);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    List<String> l8 = new ArrayList<>();",
+            "    for (String s : list) {",
+            "      l8.add(s);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    List<String> l9 = new ArrayList<>();",
+            "    for (String s : array) l9.add(s);",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    List<String> l10 = new ArrayList<>();",
+            "    for (String s : field) {",
+            "      l10.add(s);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    Map<String, Integer> map = new HashMap<>();",
+            "    for (String s : list) {",
+            "      map.put(s, s.length());",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    Set<String> set = new HashSet<>();",
+            "    for (String s : array) {",
+            "      set.add(s);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    ImmutableList.Builder<String> listBuilder = ImmutableList.builder();",
+            "    for (String s : list) {",
+            "      listBuilder.add(s);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    ImmutableMap.Builder<String, String> mapBuilder = ImmutableMap.builder();",
+            "    for (String s : list) {",
+            "      mapBuilder.put(s, s);",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationWithoutGuavaOnClasspath() {
+    CompilationTestHelper.newInstance(CollectionPresizing.class, getClass())
+        .withClasspath()
+        .addSourceLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.HashMap;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "",
+            "class A {",
+            "  void m(List<String> list) {",
+            "    // BUG: Diagnostic contains:",
+            "    List<String> l = new ArrayList<>();",
+            "    for (String s : list) {",
+            "      l.add(s);",
+            "    }",
+            "",
+            "    Map<String, Integer> map = new HashMap<>();",
+            "    for (String s : list) {",
+            "      map.put(s, s.length());",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(CollectionPresizing.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableSet;",
+            "import java.util.ArrayList;",
+            "import java.util.HashMap;",
+            "import java.util.LinkedHashSet;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Set;",
+            "",
+            "class A {",
+            "  void m(List<String> list, String[] array) {",
+            "    List<String> l = new ArrayList<String>();",
+            "    for (String s : list) {",
+            "      l.add(s);",
+            "    }",
+            "",
+            "    Map<String, Integer> map = new HashMap<>();",
+            "    for (String s : array) {",
+            "      map.put(s, s.length());",
+            "    }",
+            "",
+            "    Set<String> set = new LinkedHashSet<>();",
+            "    for (String s : list) {",
+            "      set.add(s);",
+            "    }",
+            "",
+            "    ImmutableSet.Builder<String> builder = ImmutableSet.<String>builder();",
+            "    for (String s : array) {",
+            "      builder.add(s);",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableSet;",
+            "import com.google.common.collect.Maps;",
+            "import com.google.common.collect.Sets;",
+            "import java.util.ArrayList;",
+            "import java.util.HashMap;",
+            "import java.util.LinkedHashSet;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Set;",
+            "",
+            "class A {",
+            "  void m(List<String> list, String[] array) {",
+            "    List<String> l = new ArrayList<String>(list.size());",
+            "    for (String s : list) {",
+            "      l.add(s);",
+            "    }",
+            "",
+            "    Map<String, Integer> map = Maps.newHashMapWithExpectedSize(array.length);",
+            "    for (String s : array) {",
+            "      map.put(s, s.length());",
+            "    }",
+            "",
+            "    Set<String> set = Sets.newLinkedHashSetWithExpectedSize(list.size());",
+            "    for (String s : list) {",
+            "      set.add(s);",
+            "    }",
+            "",
+            "    ImmutableSet.Builder<String> builder = ImmutableSet.<String>builderWithExpectedSize(array.length);",
+            "    for (String s : array) {",
+            "      builder.add(s);",
+            "    }",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
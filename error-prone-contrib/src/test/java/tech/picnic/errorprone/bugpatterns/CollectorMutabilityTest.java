@@ -5,6 +5,7 @@ import static com.google.errorprone.BugCheckerRefactoringTestHelper.FixChoosers.
 import com.google.errorprone.BugCheckerRefactoringTestHelper;
 import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
 import com.google.errorprone.CompilationTestHelper;
+import com.sun.tools.javac.main.Main.Result;
 import org.junit.jupiter.api.Test;
 
 final class CollectorMutabilityTest {
@@ -60,6 +61,26 @@ final class CollectorMutabilityTest {
         .doTest();
   }
 
+  @Test
+  void identificationInHotPath() {
+    CompilationTestHelper.newInstance(CollectorMutability.class, getClass())
+        .expectResult(Result.ERROR)
+        .addSourceLines(
+            "A.java",
+            "import java.util.stream.Collectors;",
+            "import java.util.stream.Stream;",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  @HotPath",
+            "  void m() {",
+            "    // BUG: Diagnostic contains:",
+            "    Stream.of(1).collect(Collectors.toList());",
+            "  }",
+            "}")
+        .doTest();
+  }
+
   @Test
   void identificationWithoutGuavaOnClasspath() {
     CompilationTestHelper.newInstance(CollectorMutability.class, getClass())
@@ -0,0 +1,151 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class CompletableFutureDefaultExecutorTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(CompletableFutureDefaultExecutor.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.concurrent.CompletableFuture;",
+            "import java.util.concurrent.CompletionStage;",
+            "import java.util.concurrent.ExecutorService;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(ExecutorService executor, Mono<String> mono) {",
+            "    CompletableFuture.supplyAsync(() -> \"foo\");",
+            "    CompletableFuture.supplyAsync(mono::toString);",
+            "    CompletableFuture.runAsync(() -> new Thread(() -> mono.block()).start());",
+            "    CompletableFuture.supplyAsync(() -> mono.block(), executor);",
+            "    CompletableFuture.runAsync(mono::block, executor);",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    CompletableFuture.supplyAsync(() -> mono.block().length());",
+            "    // BUG: Diagnostic contains:",
+            "    CompletableFuture.runAsync(mono::block);",
+            "    // BUG: Diagnostic contains:",
+            "    CompletableFuture.runAsync(",
+            "        () -> {",
+            "          try {",
+            "            Thread.sleep(1);",
+            "          } catch (InterruptedException e) {",
+            "            Thread.currentThread().interrupt();",
+            "          }",
+            "        });",
+            "",
+            "    CompletionStage<String> stage = CompletableFuture.completedFuture(\"foo\");",
+            "    stage.thenApply(s -> mono.block());",
+            "    stage.thenAcceptAsync(s -> {}, executor);",
+            "    stage.thenApplyAsync(s -> mono.block(), executor);",
+            "    // BUG: Diagnostic contains:",
+            "    stage.thenApplyAsync(",
+            "        s -> {",
+            "          String other = mono.block();",
+            "          return s + other;",
+            "        });",
+            "    // BUG: Diagnostic contains:",
+            "    stage.thenCombineAsync(stage, (a, b) -> a + mono.block());",
+            "    // BUG: Diagnostic contains:",
+            "    new CompletableFuture<String>().completeAsync(mono::block);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationWithExtraBlockingMethods() {
+    CompilationTestHelper.newInstance(CompletableFutureDefaultExecutor.class, getClass())
+        .setArgs(
+            ImmutableList.of(
+                "-XepOpt:CompletableFutureDefaultExecutor:ExtraBlockingMethods=A#fetch(int)"))
+        .addSourceLines(
+            "A.java",
+            "import java.util.concurrent.CompletableFuture;",
+            "",
+            "class A {",
+            "  void m() {",
+            "    CompletableFuture.supplyAsync(() -> fetch(\"foo\"));",
+            "    // BUG: Diagnostic contains:",
+            "    CompletableFuture.supplyAsync(() -> fetch(1));",
+            "  }",
+            "",
+            "  String fetch(int id) {",
+            "    return String.valueOf(id);",
+            "  }",
+            "",
+            "  String fetch(String id) {",
+            "    return id;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(CompletableFutureDefaultExecutor.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.util.concurrent.CompletableFuture;",
+            "import java.util.concurrent.ExecutorService;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  private static final Mono<String> MONO = Mono.just(\"foo\");",
+            "  private static final CompletableFuture<String> FUTURE =",
+            "      CompletableFuture.supplyAsync(() -> MONO.block());",
+            "  private final ExecutorService executor;",
+            "",
+            "  static {",
+            "    CompletableFuture.runAsync(() -> MONO.block());",
+            "  }",
+            "",
+            "  A(ExecutorService executor) {",
+            "    this.executor = executor;",
+            "  }",
+            "",
+            "  CompletableFuture<String> m1(Mono<String> mono) {",
+            "    return CompletableFuture.supplyAsync(mono::block).thenApplyAsync(s -> s + mono.block());",
+            "  }",
+            "",
+            "  static CompletableFuture<String> m2() {",
+            "    return CompletableFuture.supplyAsync(() -> MONO.block());",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.concurrent.CompletableFuture;",
+            "import java.util.concurrent.ExecutorService;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  private static final Mono<String> MONO = Mono.just(\"foo\");",
+            "  private static final CompletableFuture<String> FUTURE =",
+            "      CompletableFuture.supplyAsync(() -> MONO.block());",
+            "  private final ExecutorService executor;",
+            "",
+            "  static {",
+            "    CompletableFuture.runAsync(() -> MONO.block());",
+            "  }",
+            "",
+            "  A(ExecutorService executor) {",
+            "    this.executor = executor;",
+            "  }",
+            "",
+            "  CompletableFuture<String> m1(Mono<String> mono) {",
+            "    return CompletableFuture.supplyAsync(mono::block, executor)",
+            "        .thenApplyAsync(s -> s + mono.block(), executor);",
+            "  }",
+            "",
+            "  static CompletableFuture<String> m2() {",
+            "    return CompletableFuture.supplyAsync(() -> MONO.block());",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,181 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import com.sun.tools.javac.main.Main.Result;
+import org.junit.jupiter.api.Test;
+
+final class ConstantPatternCompilationTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(ConstantPatternCompilation.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.regex.Pattern;",
+            "",
+            "class A {",
+            "  private static final String REGEX = \"[a-z]+\";",
+            "  private static final Pattern PATTERN = Pattern.compile(\"foo\");",
+            "  private final boolean matches = \"bar\".matches(REGEX);",
+            "",
+            "  static {",
+            "    Pattern.compile(\"baz\");",
+            "  }",
+            "",
+            "  void m(String s, String regex, int flags) {",
+            "    s.matches(regex);",
+            "    s.replaceAll(regex, \"qux\");",
+            "    s.split(regex);",
+            "    Pattern.compile(regex);",
+            "    Pattern.compile(\"quux\", flags);",
+            "    s.split(\",\");",
+            "    s.split(\"\\\\.\");",
+            "    s.split(\",\", 2);",
+            "    s.replace(\"corge\", \"grault\");",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    s.matches(REGEX);",
+            "    // BUG: Diagnostic contains:",
+            "    s.matches(\"a\" + \"b*\");",
+            "    // BUG: Diagnostic contains:",
+            "    s.replaceAll(REGEX, \"garply\");",
+            "    // BUG: Diagnostic contains:",
+            "    s.replaceFirst(REGEX, s);",
+            "    // BUG: Diagnostic contains:",
+            "    s.split(\".\");",
+            "    // BUG: Diagnostic contains:",
+            "    s.split(\",\\\\s*\", 2);",
+            "    // BUG: Diagnostic contains:",
+            "    s.split(\"\\\\d\");",
+            "    // BUG: Diagnostic contains:",
+            "    Pattern.compile(REGEX);",
+            "    // BUG: Diagnostic contains:",
+            "    Pattern.compile(REGEX, Pattern.CASE_INSENSITIVE);",
+            "    // BUG: Diagnostic contains:",
+            "    Pattern.matches(REGEX, s);",
+            "    // BUG: Diagnostic contains:",
+            "    Runnable r = () -> s.matches(REGEX);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationInHotPath() {
+    CompilationTestHelper.newInstance(ConstantPatternCompilation.class, getClass())
+        .setArgs("-Werror")
+        .expectResult(Result.ERROR)
+        .addSourceLines(
+            "A.java",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  @HotPath",
+            "  boolean m(String s) {",
+            "    // BUG: Diagnostic contains:",
+            "    return s.matches(\"[a-z]+\");",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(ConstantPatternCompilation.class, getClass())
+        .setArgs("--release", "11")
+        .addInputLines(
+            "A.java",
+            "import java.util.regex.Pattern;",
+            "",
+            "class A {",
+            "  private static final int FLAGS = Pattern.CASE_INSENSITIVE;",
+            "",
+            "  boolean isIdentifier(String s) {",
+            "    return s.matches(\"[a-z]+\");",
+            "  }",
+            "",
+            "  String normalize(String s) {",
+            "    return s.replaceAll(\"\\\\s+\", \" \");",
+            "  }",
+            "",
+            "  boolean isValid(String s) {",
+            "    return s.matches(\"[a-z]+\") && !s.matches(\"x.*\");",
+            "  }",
+            "",
+            "  String[] parseHeader(String s) {",
+            "    int PARSE_HEADER_PATTERN = 1;",
+            "    return s.split(\",\\\\s*\", PARSE_HEADER_PATTERN);",
+            "  }",
+            "",
+            "  Pattern compile() {",
+            "    return Pattern.compile(\"foo\", Pattern.CASE_INSENSITIVE);",
+            "  }",
+            "",
+            "  Pattern compileWithFlags() {",
+            "    return Pattern.compile(\"foo\", FLAGS);",
+            "  }",
+            "",
+            "  class Inner {",
+            "    boolean matches(CharSequence s) {",
+            "      return Pattern.matches(\"bar\", s);",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.regex.Pattern;",
+            "",
+            "class A {",
+            "",
+            "  private static final Pattern IS_IDENTIFIER_PATTERN = Pattern.compile(\"[a-z]+\");",
+            "",
+            "  private static final Pattern NORMALIZE_PATTERN = Pattern.compile(\"\\\\s+\");",
+            "",
+            "  private static final Pattern IS_VALID_PATTERN = Pattern.compile(\"[a-z]+\");",
+            "",
+            "  private static final Pattern IS_VALID_PATTERN_2 = Pattern.compile(\"x.*\");",
+            "",
+            "  private static final Pattern PARSE_HEADER_PATTERN_2 = Pattern.compile(\",\\\\s*\");",
+            "",
+            "  private static final Pattern COMPILE_PATTERN =",
+            "      Pattern.compile(\"foo\", Pattern.CASE_INSENSITIVE);",
+            "",
+            "  private static final Pattern MATCHES_PATTERN = Pattern.compile(\"bar\");",
+            "",
+            "  private static final int FLAGS = Pattern.CASE_INSENSITIVE;",
+            "",
+            "  boolean isIdentifier(String s) {",
+            "    return IS_IDENTIFIER_PATTERN.matcher(s).matches();",
+            "  }",
+            "",
+            "  String normalize(String s) {",
+            "    return NORMALIZE_PATTERN.matcher(s).replaceAll(\" \");",
+            "  }",
+            "",
+            "  boolean isValid(String s) {",
+            "    return IS_VALID_PATTERN.matcher(s).matches() && !IS_VALID_PATTERN_2.matcher(s).matches();",
+            "  }",
+            "",
+            "  String[] parseHeader(String s) {",
+            "    int PARSE_HEADER_PATTERN = 1;",
+            "    return PARSE_HEADER_PATTERN_2.split(s, PARSE_HEADER_PATTERN);",
+            "  }",
+            "",
+            "  Pattern compile() {",
+            "    return COMPILE_PATTERN;",
+            "  }",
+            "",
+            "  Pattern compileWithFlags() {",
+            "    return Pattern.compile(\"foo\", FLAGS);",
+            "  }",
+            "",
+            "  class Inner {",
+            "    boolean matches(CharSequence s) {",
+            "      return MATCHES_PATTERN.matcher(s).matches();",
+            "    }",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,119 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class ContendedCounterTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(ContendedCounter.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.concurrent.atomic.AtomicInteger;",
+            "import java.util.concurrent.atomic.AtomicLong;",
+            "",
+            "class A {",
+            "  // BUG: Diagnostic contains: This `AtomicLong` is only used as a counter",
+            "  private static final AtomicLong REQUESTS = new AtomicLong();",
+            "  // BUG: Diagnostic contains: This `AtomicInteger` is only used as a counter",
+            "  private final AtomicInteger errors = new AtomicInteger(0);",
+            "  private final AtomicLong unused = new AtomicLong();",
+            "  private final AtomicLong readOnly = new AtomicLong();",
+            "  private final AtomicLong initialized = new AtomicLong(1);",
+            "  private final AtomicLong resultUsed = new AtomicLong();",
+            "  private final AtomicLong compareAndSet = new AtomicLong();",
+            "  private final AtomicLong escaping = new AtomicLong();",
+            "  private final AtomicLong reset = new AtomicLong();",
+            "  final AtomicLong nonPrivate = new AtomicLong();",
+            "  private AtomicLong nonFinal = new AtomicLong();",
+            "",
+            "  long m() {",
+            "    REQUESTS.incrementAndGet();",
+            "    errors.getAndAdd(2);",
+            "    readOnly.get();",
+            "    initialized.incrementAndGet();",
+            "    long id = resultUsed.incrementAndGet();",
+            "    compareAndSet.incrementAndGet();",
+            "    compareAndSet.compareAndSet(1, 2);",
+            "    escaping.incrementAndGet();",
+            "    reset.incrementAndGet();",
+            "    reset.set(1);",
+            "    nonPrivate.incrementAndGet();",
+            "    nonFinal.incrementAndGet();",
+            "    return REQUESTS.get() + errors.get() + id + sink(escaping);",
+            "  }",
+            "",
+            "  private static long sink(AtomicLong counter) {",
+            "    return counter.get();",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(ContendedCounter.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.util.concurrent.atomic.AtomicInteger;",
+            "import java.util.concurrent.atomic.AtomicLong;",
+            "",
+            "class A {",
+            "  private final AtomicLong hits = new AtomicLong();",
+            "  private final AtomicInteger misses = new AtomicInteger(0);",
+            "",
+            "  void record(boolean hit, int weight) {",
+            "    if (hit) {",
+            "      this.hits.incrementAndGet();",
+            "    } else {",
+            "      misses.addAndGet(weight);",
+            "      misses.getAndDecrement();",
+            "    }",
+            "  }",
+            "",
+            "  void reset() {",
+            "    hits.set(0);",
+            "    misses.lazySet(0);",
+            "  }",
+            "",
+            "  String describe() {",
+            "    long total = hits.get();",
+            "    int missCount = misses.get();",
+            "    return total + \"/\" + missCount + \"/\" + hits.doubleValue() + \"/\" + misses;",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.concurrent.atomic.AtomicInteger;",
+            "import java.util.concurrent.atomic.AtomicLong;",
+            "import java.util.concurrent.atomic.LongAdder;",
+            "",
+            "class A {",
+            "  private final LongAdder hits = new LongAdder();",
+            "  private final LongAdder misses = new LongAdder();",
+            "",
+            "  void record(boolean hit, int weight) {",
+            "    if (hit) {",
+            "      this.hits.increment();",
+            "    } else {",
+            "      misses.add(weight);",
+            "      misses.decrement();",
+            "    }",
+            "  }",
+            "",
+            "  void reset() {",
+            "    hits.reset();",
+            "    misses.reset();",
+            "  }",
+            "",
+            "  String describe() {",
+            "    long total = hits.sum();",
+            "    int missCount = misses.intValue();",
+            "    return total + \"/\" + missCount + \"/\" + hits.doubleValue() + \"/\" + misses;",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,132 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class EagerReactiveFallbackTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(EagerReactiveFallback.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  private static final String CONSTANT = \"foo\";",
+            "",
+            "  void m(String value) {",
+            "    Mono.just(value).switchIfEmpty(Mono.just(\"bar\"));",
+            "    Mono.just(value).switchIfEmpty(Mono.just(CONSTANT));",
+            "    Mono.just(value).switchIfEmpty(Mono.just(value.toString()));",
+            "    Mono.just(value).switchIfEmpty(Mono.fromSupplier(() -> compute(value)));",
+            "    Mono.just(value).switchIfEmpty(Mono.empty());",
+            "    Flux.just(value).switchIfEmpty(Flux.just(\"baz\", \"qux\"));",
+            "    Mono.just(value).defaultIfEmpty(value);",
+            "    Flux.just(value).defaultIfEmpty(\"quux\");",
+            "    Mono.just(value).onErrorReturn(\"corge\");",
+            "    Mono.just(value).onErrorResume(e -> Mono.just(compute(value)));",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    Mono.just(value).switchIfEmpty(Mono.just(compute(value)));",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(value).switchIfEmpty(Mono.just(compute(value)));",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(value).switchIfEmpty(Flux.just(compute(value)));",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(value).switchIfEmpty(Flux.just(\"grault\", compute(value)));",
+            "    // BUG: Diagnostic contains:",
+            "    Mono.just(value).defaultIfEmpty(compute(value));",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(value).defaultIfEmpty(value + compute(value));",
+            "    // BUG: Diagnostic contains:",
+            "    Mono.just(value).onErrorReturn(compute(value));",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(value).onErrorReturn(IllegalStateException.class, compute(value));",
+            "  }",
+            "",
+            "  String compute(String s) {",
+            "    return s;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(EagerReactiveFallback.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(String value) {",
+            "    Mono.just(value).switchIfEmpty(Mono.just(compute(value)));",
+            "    Flux.just(value).switchIfEmpty(Flux.just(compute(value)));",
+            "    Flux.just(value).switchIfEmpty(Flux.just(\"foo\", compute(value)));",
+            "    Mono.just(value).defaultIfEmpty(compute(value));",
+            "    Flux.just(value).onErrorReturn(compute(value));",
+            "  }",
+            "",
+            "  void m2(Throwable e) {",
+            "    Mono.just(\"bar\").onErrorReturn(compute(\"qux\"));",
+            "  }",
+            "",
+            "  void m3(String value) throws Exception {",
+            "    String mutable = value;",
+            "    mutable = compute(mutable);",
+            "    Mono.just(value).switchIfEmpty(Mono.just(compute(mutable)));",
+            "    Mono.just(value).defaultIfEmpty(computeChecked(value));",
+            "    Flux.just(value).switchIfEmpty(Flux.just(\"quux\", computeChecked(value)));",
+            "    Flux.just(value).onErrorReturn(compute(mutable));",
+            "  }",
+            "",
+            "  String compute(String s) {",
+            "    return s;",
+            "  }",
+            "",
+            "  String computeChecked(String s) throws Exception {",
+            "    return s;",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(String value) {",
+            "    Mono.just(value).switchIfEmpty(Mono.fromSupplier(() -> compute(value)));",
+            "    Flux.just(value).switchIfEmpty(Mono.fromSupplier(() -> compute(value)));",
+            "    Flux.just(value).switchIfEmpty(Flux.defer(() -> Flux.just(\"foo\", compute(value))));",
+            "    Mono.just(value).switchIfEmpty(Mono.fromSupplier(() -> compute(value)));",
+            "    Flux.just(value).onErrorResume(e -> Mono.fromSupplier(() -> compute(value)));",
+            "  }",
+            "",
+            "  void m2(Throwable e) {",
+            "    Mono.just(\"bar\").onErrorReturn(compute(\"qux\"));",
+            "  }",
+            "",
+            "  void m3(String value) throws Exception {",
+            "    String mutable = value;",
+            "    mutable = compute(mutable);",
+            "    Mono.just(value).switchIfEmpty(Mono.just(compute(mutable)));",
+            "    Mono.just(value).defaultIfEmpty(computeChecked(value));",
+            "    Flux.just(value).switchIfEmpty(Flux.just(\"quux\", computeChecked(value)));",
+            "    Flux.just(value).onErrorReturn(compute(mutable));",
+            "  }",
+            "",
+            "  String compute(String s) {",
+            "    return s;",
+            "  }",
+            "",
+            "  String computeChecked(String s) throws Exception {",
+            "    return s;",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,139 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class EnumKeyedCollectionTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(EnumKeyedCollection.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import static java.util.stream.Collectors.toMap;",
+            "import static java.util.stream.Collectors.toSet;",
+            "",
+            "import com.google.common.collect.ImmutableMap;",
+            "import com.google.common.collect.ImmutableSet;",
+            "import com.google.common.collect.Maps;",
+            "import com.google.common.collect.Sets;",
+            "import java.math.RoundingMode;",
+            "import java.util.EnumMap;",
+            "import java.util.HashMap;",
+            "import java.util.HashSet;",
+            "import java.util.LinkedHashSet;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Set;",
+            "import java.util.TreeMap;",
+            "import java.util.stream.Stream;",
+            "",
+            "class A {",
+            "  <E extends Enum<E>> void m(List<RoundingMode> list, Map<RoundingMode, String> map) {",
+            "    Set<String> s1 = new HashSet<>();",
+            "    HashSet<RoundingMode> s2 = new HashSet<>();",
+            "    Set<RoundingMode> s3 = new LinkedHashSet<>();",
+            "    Set<RoundingMode> s4 = new HashSet<>(list);",
+            "    Set<E> s5 = new HashSet<>();",
+            "    Set<RoundingMode> s6 = new HashSet<>() {};",
+            "    Set<String> s7 = Stream.of(\"foo\").collect(toSet());",
+            "    ImmutableSet<RoundingMode> s8 = ImmutableSet.of();",
+            "    ImmutableSet<RoundingMode> s9 = ImmutableSet.copyOf(new RoundingMode[0]);",
+            "    Map<String, RoundingMode> m1 = new HashMap<>();",
+            "    Map<RoundingMode, String> m2 = new HashMap<>(map);",
+            "    ImmutableMap<RoundingMode, String> m3 = ImmutableMap.of(RoundingMode.UP, \"foo\");",
+            "    Map<RoundingMode, String> m4 =",
+            "        list.stream()",
+            "            .collect(toMap(r -> r, r -> \"foo\", (a, b) -> a, () -> new EnumMap<>(RoundingMode.class)));",
+            "    Map<RoundingMode, String> m5 =",
+            "        list.stream().collect(toMap(r -> r, r -> \"foo\", (a, b) -> a, TreeMap::new));",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    Set<RoundingMode> s10 = new HashSet<>();",
+            "    // BUG: Diagnostic contains:",
+            "    Set<RoundingMode> s11 = Sets.newHashSet();",
+            "    // BUG: Diagnostic contains:",
+            "    Set<RoundingMode> s12 = list.stream().collect(toSet());",
+            "    // BUG: Diagnostic contains:",
+            "    ImmutableSet<RoundingMode> s13 = ImmutableSet.of(RoundingMode.UP);",
+            "    // BUG: Diagnostic contains:",
+            "    ImmutableSet<RoundingMode> s14 = ImmutableSet.copyOf(list);",
+            "    // BUG: Diagnostic contains:",
+            "    Map<RoundingMode, String> m6 = new HashMap<RoundingMode, String>();",
+            "    // BUG: Diagnostic contains:",
+            "    Map<RoundingMode, String> m7 = Maps.newHashMap();",
+            "    // BUG: Diagnostic contains:",
+            "    Map<RoundingMode, String> m8 = list.stream().collect(toMap(r -> r, r -> \"foo\"));",
+            "    // BUG: Diagnostic contains:",
+            "    ImmutableMap<RoundingMode, String> m9 = ImmutableMap.copyOf(map);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(EnumKeyedCollection.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableMap;",
+            "import com.google.common.collect.ImmutableSet;",
+            "import java.math.RoundingMode;",
+            "import java.util.HashMap;",
+            "import java.util.HashSet;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Set;",
+            "import java.util.stream.Collectors;",
+            "",
+            "class A {",
+            "  void m(List<RoundingMode> list, Map<RoundingMode, String> map) {",
+            "    Set<RoundingMode> s1 = new HashSet<>();",
+            "    Set<RoundingMode> s2 = list.stream().collect(Collectors.toSet());",
+            "    ImmutableSet<RoundingMode> s3 = ImmutableSet.of(RoundingMode.UP, RoundingMode.DOWN);",
+            "    ImmutableSet<RoundingMode> s4 = ImmutableSet.copyOf(list);",
+            "",
+            "    Map<RoundingMode, String> m1 = new HashMap<RoundingMode, String>();",
+            "    Map<RoundingMode, String> m2 =",
+            "        list.stream().collect(Collectors.toMap(r -> r, r -> \"foo\", (a, b) -> a));",
+            "    ImmutableMap<RoundingMode, String> m3 = ImmutableMap.copyOf(map);",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import static com.google.common.collect.Maps.immutableEnumMap;",
+            "import static com.google.common.collect.Sets.immutableEnumSet;",
+            "import static java.util.stream.Collectors.toCollection;",
+            "",
+            "import com.google.common.collect.ImmutableMap;",
+            "import com.google.common.collect.ImmutableSet;",
+            "import java.math.RoundingMode;",
+            "import java.util.EnumMap;",
+            "import java.util.EnumSet;",
+            "import java.util.HashMap;",
+            "import java.util.HashSet;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.Set;",
+            "import java.util.stream.Collectors;",
+            "",
+            "class A {",
+            "  void m(List<RoundingMode> list, Map<RoundingMode, String> map) {",
+            "    Set<RoundingMode> s1 = EnumSet.noneOf(RoundingMode.class);",
+            "    Set<RoundingMode> s2 = list.stream().collect(toCollection(() -> EnumSet.noneOf(RoundingMode.class)));",
+            "    ImmutableSet<RoundingMode> s3 = immutableEnumSet(RoundingMode.UP, RoundingMode.DOWN);",
+            "    ImmutableSet<RoundingMode> s4 = immutableEnumSet(list);",
+            "",
+            "    Map<RoundingMode, String> m1 = new EnumMap<>(RoundingMode.class);",
+            "    Map<RoundingMode, String> m2 =",
+            "        list.stream()",
+            "            .collect(",
+            "                Collectors.toMap(",
+            "                    r -> r, r -> \"foo\", (a, b) -> a, () -> new EnumMap<>(RoundingMode.class)));",
+            "    ImmutableMap<RoundingMode, String> m3 = immutableEnumMap(map);",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,235 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class EnumValuesCachingTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(EnumValuesCaching.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.math.RoundingMode;",
+            "import java.util.List;",
+            "import java.util.function.Supplier;",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  private static final RoundingMode[] MODES = RoundingMode.values();",
+            "  private static final Supplier<Integer> COUNT = () -> RoundingMode.values().length;",
+            "",
+            "  static {",
+            "    for (int i = 0; i < 2; i++) {",
+            "      for (RoundingMode mode : RoundingMode.values()) {",
+            "        System.out.println(mode);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  RoundingMode[] m1() {",
+            "    return RoundingMode.values();",
+            "  }",
+            "",
+            "  void m2() {",
+            "    for (RoundingMode mode : RoundingMode.values()) {",
+            "      System.out.println(mode);",
+            "    }",
+            "  }",
+            "",
+            "  RoundingMode m3(String name) {",
+            "    for (RoundingMode mode : RoundingMode.values()) {",
+            "      Supplier<RoundingMode> supplier =",
+            "          () -> {",
+            "            return mode;",
+            "          };",
+            "    }",
+            "    return null;",
+            "  }",
+            "",
+            "  void m4(List<String> list) {",
+            "    for (String s : list) {",
+            "      // BUG: Diagnostic contains: allocates a new array",
+            "      System.out.println(RoundingMode.values().length);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains: allocates a new array",
+            "    list.forEach(s -> System.out.println(RoundingMode.values()[0]));",
+            "  }",
+            "",
+            "  RoundingMode m5(String name) {",
+            "    // BUG: Diagnostic contains: consider indexing the values",
+            "    for (RoundingMode mode : RoundingMode.values()) {",
+            "      if (mode.name().equals(name)) {",
+            "        return mode;",
+            "      }",
+            "    }",
+            "    return null;",
+            "  }",
+            "",
+            "  @HotPath",
+            "  RoundingMode[] m6() {",
+            "    // BUG: Diagnostic contains: allocates a new array",
+            "    return RoundingMode.values();",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(EnumValuesCaching.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.math.RoundingMode;",
+            "import java.time.DayOfWeek;",
+            "import java.util.List;",
+            "import java.util.concurrent.TimeUnit;",
+            "",
+            "class A {",
+            "  private static final DayOfWeek[] DAYS = DayOfWeek.values();",
+            "",
+            "  void m1(List<String> list) {",
+            "    for (String s : list) {",
+            "      for (RoundingMode mode : RoundingMode.values()) {",
+            "        System.out.println(s + mode);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  TimeUnit m2(int ordinal) {",
+            "    for (int i = 0; i < 1; i++) {",
+            "      return TimeUnit.values()[ordinal];",
+            "    }",
+            "    return null;",
+            "  }",
+            "",
+            "  void m3(List<String> list) {",
+            "    list.forEach(s -> System.out.println(List.of(RoundingMode.values())));",
+            "  }",
+            "",
+            "  void m4(List<String> list) {",
+            "    for (String s : list) {",
+            "      for (DayOfWeek day : DayOfWeek.values()) {",
+            "        System.out.println(s + day);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  void m5(List<String> list) {",
+            "    list.forEach(",
+            "        s -> {",
+            "          for (RoundingMode mode : RoundingMode.values()) {",
+            "            System.out.println(s + mode);",
+            "          }",
+            "          for (TimeUnit unit : TimeUnit.values()) {",
+            "            System.out.println(s + unit);",
+            "          }",
+            "        });",
+            "  }",
+            "",
+            "  void m6(List<String> list) {",
+            "    for (String ROUNDING_MODE_VALUES : list) {",
+            "      for (RoundingMode mode : RoundingMode.values()) {",
+            "        System.out.println(ROUNDING_MODE_VALUES + mode);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  enum E {",
+            "    FOO,",
+            "    BAR;",
+            "",
+            "    static E fromString(String value) {",
+            "      for (E e : values()) {",
+            "        if (e.toString().equals(value)) {",
+            "          return e;",
+            "        }",
+            "      }",
+            "      throw new IllegalArgumentException(value);",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableList;",
+            "import java.math.RoundingMode;",
+            "import java.time.DayOfWeek;",
+            "import java.util.List;",
+            "import java.util.concurrent.TimeUnit;",
+            "",
+            "class A {",
+            "  private static final DayOfWeek[] DAYS = DayOfWeek.values();",
+            "",
+            "  void m1(List<String> list) {",
+            "    for (String s : list) {",
+            "      for (RoundingMode mode : ROUNDING_MODE_VALUES) {",
+            "        System.out.println(s + mode);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  TimeUnit m2(int ordinal) {",
+            "    for (int i = 0; i < 1; i++) {",
+            "      return TIME_UNIT_VALUES[ordinal];",
+            "    }",
+            "    return null;",
+            "  }",
+            "",
+            "  void m3(List<String> list) {",
+            "    list.forEach(s -> System.out.println(List.of(RoundingMode.values())));",
+            "  }",
+            "",
+            "  void m4(List<String> list) {",
+            "    for (String s : list) {",
+            "      for (DayOfWeek day : DAYS) {",
+            "        System.out.println(s + day);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  void m5(List<String> list) {",
+            "    list.forEach(",
+            "        s -> {",
+            "          for (RoundingMode mode : ROUNDING_MODE_VALUES) {",
+            "            System.out.println(s + mode);",
+            "          }",
+            "          for (TimeUnit unit : TIME_UNIT_VALUES) {",
+            "            System.out.println(s + unit);",
+            "          }",
+            "        });",
+            "  }",
+            "",
+            "  void m6(List<String> list) {",
+            "    for (String ROUNDING_MODE_VALUES : list) {",
+            "      for (RoundingMode mode : RoundingMode.values()) {",
+            "        System.out.println(ROUNDING_MODE_VALUES + mode);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  enum E {",
+            "    FOO,",
+            "    BAR;",
+            "",
+            "    static E fromString(String value) {",
+            "      for (E e : VALUES) {",
+            "        if (e.toString().equals(value)) {",
+            "          return e;",
+            "        }",
+            "      }",
+            "      throw new IllegalArgumentException(value);",
+            "    }",
+            "",
+            "    private static final ImmutableList<E> VALUES = ImmutableList.copyOf(E.values());",
+            "  }",
+            "",
+            "  private static final ImmutableList<RoundingMode> ROUNDING_MODE_VALUES =",
+            "      ImmutableList.copyOf(RoundingMode.values());",
+            "",
+            "  private static final TimeUnit[] TIME_UNIT_VALUES = TimeUnit.values();",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,217 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class ExpensiveObjectConstructionTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(ExpensiveObjectConstruction.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.text.SimpleDateFormat;",
+            "import java.time.format.DateTimeFormatter;",
+            "import java.util.Random;",
+            "import java.util.function.Supplier;",
+            "import javax.xml.bind.JAXBContext;",
+            "import javax.xml.bind.JAXBException;",
+            "import org.springframework.web.client.RestTemplate;",
+            "import org.springframework.web.reactive.function.client.WebClient;",
+            "",
+            "class A {",
+            "  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(\"yyyy\");",
+            "  private final RestTemplate restTemplate = new RestTemplate();",
+            "  private final Supplier<Random> random = () -> new Random(1);",
+            "",
+            "  static {",
+            "    new Random().nextInt();",
+            "  }",
+            "",
+            "  A() {",
+            "    new RestTemplate();",
+            "  }",
+            "",
+            "  A(int count) {",
+            "    for (int i = 0; i < count; i++) {",
+            "      // BUG: Diagnostic contains:",
+            "      new RestTemplate();",
+            "    }",
+            "  }",
+            "",
+            "  void m(String pattern, long seed) throws JAXBException {",
+            "    DateTimeFormatter.ofPattern(pattern);",
+            "    new Random(seed);",
+            "    new SimpleDateFormat(pattern);",
+            "    WebClient.create(pattern);",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    DateTimeFormatter.ofPattern(\"yyyy\");",
+            "    // BUG: Diagnostic contains: `ThreadLocalRandom.current()`",
+            "    new Random();",
+            "    // BUG: Diagnostic contains: share a `static final` `DateTimeFormatter` instead",
+            "    new SimpleDateFormat(\"yyyy\");",
+            "    // BUG: Diagnostic contains:",
+            "    WebClient.create();",
+            "    // BUG: Diagnostic contains:",
+            "    WebClient.create(\"http://localhost\");",
+            "    // BUG: Diagnostic contains:",
+            "    new RestTemplate();",
+            "    // BUG: Diagnostic contains:",
+            "    JAXBContext.newInstance(A.class);",
+            "    // BUG: Diagnostic contains:",
+            "    Supplier<Random> supplier = () -> new Random();",
+            "",
+            "    new Random().setSeed(seed);",
+            "    Random reseeded = new Random();",
+            "    reseeded.setSeed(seed);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationWithExtraTypes() {
+    CompilationTestHelper.newInstance(ExpensiveObjectConstruction.class, getClass())
+        .setArgs(ImmutableList.of("-XepOpt:ExpensiveObjectConstruction:ExtraTypes=A.Expensive"))
+        .addSourceLines(
+            "A.java",
+            "class A {",
+            "  void m() {",
+            "    // BUG: Diagnostic contains:",
+            "    new Expensive();",
+            "    new Cheap();",
+            "  }",
+            "",
+            "  static final class Expensive {}",
+            "",
+            "  static final class Cheap {}",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(ExpensiveObjectConstruction.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.time.LocalDate;",
+            "import java.time.format.DateTimeFormatter;",
+            "import java.util.Random;",
+            "import javax.xml.bind.JAXBContext;",
+            "import javax.xml.bind.JAXBException;",
+            "import org.springframework.web.client.RestTemplate;",
+            "",
+            "class A {",
+            "  private static final String PATTERN = \"yyyy\";",
+            "",
+            "  String m1(LocalDate date) {",
+            "    return DateTimeFormatter.ofPattern(\"yyyy-MM-dd\").format(date);",
+            "  }",
+            "",
+            "  String m2() {",
+            "    return new RestTemplate().getForObject(\"http://localhost\", String.class)",
+            "        + new RestTemplate().getForObject(\"http://localhost:8080\", String.class);",
+            "  }",
+            "",
+            "  Object m3() throws JAXBException {",
+            "    return JAXBContext.newInstance(A.class).createUnmarshaller();",
+            "  }",
+            "",
+            "  int m4() {",
+            "    Random random = new Random();",
+            "    return new Random().nextInt() + random.nextInt(10);",
+            "  }",
+            "",
+            "  String m5(LocalDate date) {",
+            "    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(\"yyyy\");",
+            "    return DateTimeFormatter.ofPattern(PATTERN).format(date) + formatter.format(date);",
+            "  }",
+            "",
+            "  Random m6() {",
+            "    Random random = new Random();",
+            "    return random;",
+            "  }",
+            "",
+            "  int m7() {",
+            "    return new RestTemplate().getInterceptors().size();",
+            "  }",
+            "",
+            "  enum E {",
+            "    FOO;",
+            "",
+            "    E() {",
+            "      for (int i = 0; i < 2; i++) {",
+            "        DateTimeFormatter.ofPattern(\"yyyy-MM-dd\").format(LocalDate.EPOCH);",
+            "      }",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.time.LocalDate;",
+            "import java.time.format.DateTimeFormatter;",
+            "import java.util.Random;",
+            "import java.util.concurrent.ThreadLocalRandom;",
+            "import javax.xml.bind.JAXBContext;",
+            "import javax.xml.bind.JAXBException;",
+            "import org.springframework.web.client.RestTemplate;",
+            "",
+            "class A {",
+            "",
+            "  private static final DateTimeFormatter DATE_TIME_FORMATTER =",
+            "      DateTimeFormatter.ofPattern(\"yyyy-MM-dd\");",
+            "",
+            "  private static final RestTemplate REST_TEMPLATE = new RestTemplate();",
+            "",
+            "  private static final RestTemplate REST_TEMPLATE_2 = new RestTemplate();",
+            "",
+            "  private static final String PATTERN = \"yyyy\";",
+            "",
+            "  String m1(LocalDate date) {",
+            "    return DATE_TIME_FORMATTER.format(date);",
+            "  }",
+            "",
+            "  String m2() {",
+            "    return REST_TEMPLATE.getForObject(\"http://localhost\", String.class)",
+            "        + REST_TEMPLATE_2.getForObject(\"http://localhost:8080\", String.class);",
+            "  }",
+            "",
+            "  Object m3() throws JAXBException {",
+            "    return JAXBContext.newInstance(A.class).createUnmarshaller();",
+            "  }",
+            "",
+            "  int m4() {",
+            "    Random random = ThreadLocalRandom.current();",
+            "    return ThreadLocalRandom.current().nextInt() + random.nextInt(10);",
+            "  }",
+            "",
+            "  String m5(LocalDate date) {",
+            "    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(\"yyyy\");",
+            "    return DateTimeFormatter.ofPattern(PATTERN).format(date) + formatter.format(date);",
+            "  }",
+            "",
+            "  Random m6() {",
+            "    Random random = new Random();",
+            "    return random;",
+            "  }",
+            "",
+            "  int m7() {",
+            "    return new RestTemplate().getInterceptors().size();",
+            "  }",
+            "",
+            "  enum E {",
+            "    FOO;",
+            "",
+            "    E() {",
+            "      for (int i = 0; i < 2; i++) {",
+            "        DateTimeFormatter.ofPattern(\"yyyy-MM-dd\").format(LocalDate.EPOCH);",
+            "      }",
+            "    }",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
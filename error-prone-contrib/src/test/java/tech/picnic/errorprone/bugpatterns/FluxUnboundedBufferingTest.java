@@ -0,0 +1,61 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class FluxUnboundedBufferingTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(FluxUnboundedBuffering.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableList;",
+            "import java.time.Duration;",
+            "import java.util.function.Function;",
+            "import java.util.stream.Collectors;",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(Flux<String> flux) {",
+            "    Flux.just(\"foo\").collectList();",
+            "    Flux.fromIterable(ImmutableList.of(1)).collectMap(Function.identity());",
+            "    Flux.range(0, 10).map(i -> i * 2).filter(i -> i > 2).buffer();",
+            "    (Flux.just(1)).cache();",
+            "    Mono.just(2).flux().collectSortedList();",
+            "    flux.take(3).collectList();",
+            "    flux.buffer(4);",
+            "    flux.cache(5);",
+            "    flux.cache(Duration.ZERO);",
+            "    flux.reduce(\"\", String::concat);",
+            "    flux.collect(StringBuilder::new, StringBuilder::append);",
+            "    Flux.just(\"bar\").sort().collectList();",
+            "    Flux.just(\"baz\").collect(Collectors.toList());",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    flux.collectList();",
+            "    // BUG: Diagnostic contains:",
+            "    flux.map(String::length).collectMap(Function.identity(), Function.identity());",
+            "    // BUG: Diagnostic contains:",
+            "    flux.collectMultimap(String::length);",
+            "    // BUG: Diagnostic contains:",
+            "    flux.buffer();",
+            "    // BUG: Diagnostic contains:",
+            "    flux.cache();",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.interval(Duration.ofSeconds(1)).collectList();",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(6).repeat().collectList();",
+            "    // BUG: Diagnostic contains:",
+            "    Flux.just(7).concatMap(i -> flux).collectList();",
+            "    // BUG: Diagnostic contains:",
+            "    flux.collect(Collectors.toList());",
+            "    // BUG: Diagnostic contains:",
+            "    flux.sort();",
+            "    // BUG: Diagnostic contains:",
+            "    flux.filter(String::isEmpty).sort(String.CASE_INSENSITIVE_ORDER);",
+            "  }",
+            "}")
+        .doTest();
+  }
+}
@@ -0,0 +1,216 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class InefficientListUsageTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(InefficientListUsage.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.Collection;",
+            "import java.util.Deque;",
+            "import java.util.LinkedList;",
+            "import java.util.List;",
+            "import java.util.Queue;",
+            "",
+            "class A {",
+            "  // BUG: Diagnostic contains: Prefer `ArrayDeque` over `LinkedList`",
+            "  private final Queue<String> queue = new LinkedList<>();",
+            "  // BUG: Diagnostic contains: Prefer `ArrayList` over `LinkedList`",
+            "  private final List<String> list = new LinkedList<>();",
+            "  private final LinkedList<String> linkedList = new LinkedList<>();",
+            "  private final Object object = new LinkedList<>();",
+            "  private final List<String> anonymous = new LinkedList<>() {};",
+            "",
+            "  void m(ArrayList<String> arrayList, List<String> other) {",
+            "    // BUG: Diagnostic contains: Prefer `ArrayDeque` over `LinkedList`",
+            "    Deque<String> deque = new LinkedList<>(other);",
+            "    // BUG: Diagnostic contains: Prefer `ArrayList` over `LinkedList`",
+            "    Collection<String> collection = new LinkedList<>();",
+            "",
+            "    arrayList.remove(0);",
+            "    arrayList.add(0, \"foo\");",
+            "    linkedList.get(1);",
+            "",
+            "    for (int i = 0; i < linkedList.size(); i++) {",
+            "      linkedList.get(0);",
+            "      // BUG: Diagnostic contains: Index-based lookups on a `LinkedList`",
+            "      linkedList.get(i);",
+            "      other.get(i);",
+            "      other.remove(0);",
+            "      arrayList.remove(1);",
+            "      arrayList.add(1, \"foo\");",
+            "      // BUG: Diagnostic contains: Inserting or removing the first element",
+            "      arrayList.remove(0);",
+            "      // BUG: Diagnostic contains: Inserting or removing the first element",
+            "      arrayList.add(0, \"foo\");",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains: Prefer `ArrayList` over `LinkedList`",
+            "    List<String> local = new LinkedList<>();",
+            "    while (!local.isEmpty()) {",
+            "      // BUG: Diagnostic contains: Index-based lookups on a `LinkedList`",
+            "      local.get(local.size() - 1);",
+            "    }",
+            "",
+            "    List<String> reassigned = new ArrayList<>();",
+            "    reassigned = other;",
+            "    while (!reassigned.isEmpty()) {",
+            "      reassigned.remove(0);",
+            "    }",
+            "",
+            "    List<String> insertedInto = new LinkedList<>();",
+            "    insertedInto.add(0, \"foo\");",
+            "    List<String> removedFrom = new LinkedList<>();",
+            "    removedFrom.remove(\"bar\");",
+            "    List<String> escaping = new LinkedList<>();",
+            "    m(arrayList, escaping);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(InefficientListUsage.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableList;",
+            "import java.util.ArrayList;",
+            "import java.util.Collection;",
+            "import java.util.Deque;",
+            "import java.util.LinkedList;",
+            "import java.util.List;",
+            "import java.util.Queue;",
+            "",
+            "class A {",
+            "  private final Queue<String> queue = new LinkedList<>();",
+            "  private final Collection<Integer> collection = new LinkedList<Integer>(List.of(1));",
+            "",
+            "  int m1(ImmutableList<String> input) {",
+            "    List<String> pending = new ArrayList<>(input);",
+            "    int count = 0;",
+            "    while (!pending.isEmpty()) {",
+            "      String next = pending.remove(0);",
+            "      if (next.isEmpty()) {",
+            "        pending.add(0, next + next);",
+            "      }",
+            "      pending.add(next);",
+            "      count += pending.get(0).length();",
+            "    }",
+            "    for (String s : pending) {",
+            "      count += s.length();",
+            "    }",
+            "    return count;",
+            "  }",
+            "",
+            "  void m2() {",
+            "    ArrayList<Integer> stack = new ArrayList<>();",
+            "    for (int i = 0; i < 10; i++) {",
+            "      stack.add(0, i);",
+            "    }",
+            "    stack.clear();",
+            "  }",
+            "",
+            "  List<String> m3() {",
+            "    List<String> escaping = new ArrayList<>();",
+            "    for (int i = 0; i < 10; i++) {",
+            "      escaping.add(0, \"foo\");",
+            "    }",
+            "    return escaping;",
+            "  }",
+            "",
+            "  void m4(String nullable, List<String> input) {",
+            "    Queue<String> withNull = new LinkedList<>();",
+            "    withNull.offer(nullable);",
+            "    Deque<String> copy = new LinkedList<>(input);",
+            "    Deque<String> nonNull = new LinkedList<>(List.of(\"foo\"));",
+            "    nonNull.push(\"bar\");",
+            "    nonNull.addAll(ImmutableList.of(\"baz\"));",
+            "    for (String s : nonNull) {",
+            "      nonNull.offerLast(s + s);",
+            "    }",
+            "  }",
+            "",
+            "  void m5(List<String> input) {",
+            "    List<String> pending = new ArrayList<>(input);",
+            "    for (int i = 0; i < 10; i++) {",
+            "      pending.add(0, \"foo\");",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableList;",
+            "import java.util.ArrayDeque;",
+            "import java.util.ArrayList;",
+            "import java.util.Collection;",
+            "import java.util.Deque;",
+            "import java.util.LinkedList;",
+            "import java.util.List;",
+            "import java.util.Queue;",
+            "",
+            "class A {",
+            "  private final Queue<String> queue = new ArrayDeque<>();",
+            "  private final Collection<Integer> collection = new ArrayList<Integer>(List.of(1));",
+            "",
+            "  int m1(ImmutableList<String> input) {",
+            "    Deque<String> pending = new ArrayDeque<>(input);",
+            "    int count = 0;",
+            "    while (!pending.isEmpty()) {",
+            "      String next = pending.removeFirst();",
+            "      if (next.isEmpty()) {",
+            "        pending.addFirst(next + next);",
+            "      }",
+            "      pending.add(next);",
+            "      count += pending.getFirst().length();",
+            "    }",
+            "    for (String s : pending) {",
+            "      count += s.length();",
+            "    }",
+            "    return count;",
+            "  }",
+            "",
+            "  void m2() {",
+            "    ArrayDeque<Integer> stack = new ArrayDeque<>();",
+            "    for (int i = 0; i < 10; i++) {",
+            "      stack.addFirst(i);",
+            "    }",
+            "    stack.clear();",
+            "  }",
+            "",
+            "  List<String> m3() {",
+            "    List<String> escaping = new ArrayList<>();",
+            "    for (int i = 0; i < 10; i++) {",
+            "      escaping.add(0, \"foo\");",
+            "    }",
+            "    return escaping;",
+            "  }",
+            "",
+            "  void m4(String nullable, List<String> input) {",
+            "    Queue<String> withNull = new LinkedList<>();",
+            "    withNull.offer(nullable);",
+            "    Deque<String> copy = new LinkedList<>(input);",
+            "    Deque<String> nonNull = new ArrayDeque<>(List.of(\"foo\"));",
+            "    nonNull.push(\"bar\");",
+            "    nonNull.addAll(ImmutableList.of(\"baz\"));",
+            "    for (String s : nonNull) {",
+            "      nonNull.offerLast(s + s);",
+            "    }",
+            "  }",
+            "",
+            "  void m5(List<String> input) {",
+            "    List<String> pending = new ArrayList<>(input);",
+            "    for (int i = 0; i < 10; i++) {",
+            "      pending.add(0, \"foo\");",
+            "    }",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,174 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.FixChoosers;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class LinearLookupInLoopTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(LinearLookupInLoop.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.Collection;",
+            "import java.util.List;",
+            "import java.util.Optional;",
+            "import java.util.Set;",
+            "import java.util.function.Predicate;",
+            "",
+            "class A {",
+            "  private final List<String> field = new ArrayList<>();",
+            "",
+            "  void m(List<String> list, Set<String> set, Collection<String> collection) {",
+            "    list.contains(\"foo\");",
+            "    for (String s : list) {",
+            "      set.contains(s);",
+            "      List<String> local = new ArrayList<>();",
+            "      local.contains(s);",
+            "      List.of(\"foo\").contains(s);",
+            "    }",
+            "",
+            "    List<String> other = list;",
+            "    for (String s : list) {",
+            "      other.contains(s);",
+            "      other = new ArrayList<>();",
+            "    }",
+            "",
+            "    for (String s : collection) {",
+            "      // BUG: Diagnostic contains:",
+            "      list.contains(s);",
+            "      // BUG: Diagnostic contains:",
+            "      list.indexOf(s);",
+            "      // BUG: Diagnostic contains:",
+            "      list.lastIndexOf(s);",
+            "      // BUG: Diagnostic contains:",
+            "      list.remove(s);",
+            "      list.remove(0);",
+            "      // BUG: Diagnostic contains:",
+            "      this.field.contains(s);",
+            "      // BUG: Diagnostic contains:",
+            "      collection.contains(s);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    collection.removeIf(s -> list.contains(s));",
+            "    // BUG: Diagnostic contains:",
+            "    collection.stream().anyMatch(s -> list.contains(s));",
+            "",
+            "    Predicate<String> predicate = s -> list.contains(s);",
+            "    Optional.of(\"bar\").filter(s -> list.contains(s));",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacementFirstSuggestedFix() {
+    BugCheckerRefactoringTestHelper.newInstance(LinearLookupInLoop.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  int m1(List<String> list, List<String> other) {",
+            "    int count = 0;",
+            "    for (String s : other) {",
+            "      if (list.contains(s) && !list.isEmpty() && !list.contains(s + s)) {",
+            "        count++;",
+            "      }",
+            "    }",
+            "    return count;",
+            "  }",
+            "",
+            "  void m2(List<String> list, List<String> other) {",
+            "    for (String s : other) {",
+            "      if (list.contains(s)) {",
+            "        list.add(s);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  void m3(List<? extends Number> list, List<Integer> other) {",
+            "    for (Integer i : other) {",
+            "      list.contains(i);",
+            "    }",
+            "  }",
+            "",
+            "  long m4(List<String> list, List<String> other) {",
+            "    return other.stream().filter(list::contains).filter(s -> list.contains(s)).count();",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.HashSet;",
+            "import java.util.List;",
+            "import java.util.Set;",
+            "",
+            "class A {",
+            "  int m1(List<String> list, List<String> other) {",
+            "    int count = 0;",
+            "    Set<String> listSet = new HashSet<>(list);",
+            "    for (String s : other) {",
+            "      if (listSet.contains(s) && !list.isEmpty() && !listSet.contains(s + s)) {",
+            "        count++;",
+            "      }",
+            "    }",
+            "    return count;",
+            "  }",
+            "",
+            "  void m2(List<String> list, List<String> other) {",
+            "    for (String s : other) {",
+            "      if (list.contains(s)) {",
+            "        list.add(s);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  void m3(List<? extends Number> list, List<Integer> other) {",
+            "    for (Integer i : other) {",
+            "      list.contains(i);",
+            "    }",
+            "  }",
+            "",
+            "  long m4(List<String> list, List<String> other) {",
+            "    Set<String> listSet = new HashSet<>(list);",
+            "    return other.stream().filter(list::contains).filter(s -> listSet.contains(s)).count();",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+
+  @Test
+  void replacementSecondSuggestedFix() {
+    BugCheckerRefactoringTestHelper.newInstance(LinearLookupInLoop.class, getClass())
+        .setFixChooser(FixChoosers.SECOND)
+        .addInputLines(
+            "A.java",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  private final List<String> list = List.of();",
+            "",
+            "  void m(List<String> other) {",
+            "    other.removeIf(s -> this.list.contains(s));",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import com.google.common.collect.ImmutableSet;",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  private final List<String> list = List.of();",
+            "",
+            "  void m(List<String> other) {",
+            "    ImmutableSet<String> listSet = ImmutableSet.copyOf(this.list);",
+            "    other.removeIf(s -> listSet.contains(s));",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
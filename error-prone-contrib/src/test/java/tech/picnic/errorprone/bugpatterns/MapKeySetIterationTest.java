@@ -0,0 +1,213 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.FixChoosers;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class MapKeySetIterationTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(MapKeySetIteration.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.Map;",
+            "import java.util.TreeMap;",
+            "",
+            "class A {",
+            "  private final Map<String, Integer> field = new TreeMap<>();",
+            "",
+            "  void m(Map<String, Integer> map, Map<String, Integer> other) {",
+            "    for (String key : map.keySet()) {",
+            "      System.out.println(key);",
+            "    }",
+            "",
+            "    for (String key : map.keySet()) {",
+            "      System.out.println(other.get(key));",
+            "    }",
+            "",
+            "    for (String key : map.keySet()) {",
+            "      System.out.println(map.get(\"foo\"));",
+            "    }",
+            "",
+            "    for (String key : map.values().toString().split(\",\")) {",
+            "      System.out.println(map.get(key));",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    for (String key : map.keySet()) {",
+            "      System.out.println(map.get(key));",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    for (String key : field.keySet()) System.out.println(key + field.get(key));",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    for (String key : this.field.keySet()) {",
+            "      System.out.println(field.get(key));",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacementFirstSuggestedFix() {
+    BugCheckerRefactoringTestHelper.newInstance(MapKeySetIteration.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.io.IOException;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "",
+            "class A {",
+            "  void m1(Map<String, List<Integer>> map) {",
+            "    for (String key : map.keySet()) {",
+            "      System.out.println(key + \"=\" + map.get(key));",
+            "    }",
+            "  }",
+            "",
+            "  void m2(Map<String, Integer> map) {",
+            "    for (String key : map.keySet()) {",
+            "      map.remove(map.get(key));",
+            "    }",
+            "  }",
+            "",
+            "  <K> void m3(Map<K, ? extends Number> map) {",
+            "    for (K key : map.keySet()) {",
+            "      System.out.println(map.get(key));",
+            "    }",
+            "  }",
+            "",
+            "  int m4(Map<String, Integer> map) {",
+            "    int sum = 0;",
+            "    for (String key : map.keySet()) {",
+            "      sum += map.get(key);",
+            "    }",
+            "    return sum;",
+            "  }",
+            "",
+            "  void m5(Map<String, Integer> map) throws IOException {",
+            "    for (String key : map.keySet()) {",
+            "      if (map.get(key) == null) {",
+            "        throw new IOException(key);",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  void m6(Map<String, Integer> map) {",
+            "    for (String key : map.keySet()) {",
+            "      String entry = key + \"=\" + map.get(key);",
+            "      System.out.println(entry);",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.io.IOException;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "",
+            "class A {",
+            "  void m1(Map<String, List<Integer>> map) {",
+            "    for (Map.Entry<String, List<Integer>> entry : map.entrySet()) {",
+            "      System.out.println(entry.getKey() + \"=\" + entry.getValue());",
+            "    }",
+            "  }",
+            "",
+            "  void m2(Map<String, Integer> map) {",
+            "    for (String key : map.keySet()) {",
+            "      map.remove(map.get(key));",
+            "    }",
+            "  }",
+            "",
+            "  <K> void m3(Map<K, ? extends Number> map) {",
+            "    map.forEach(",
+            "        (key, value) -> {",
+            "          System.out.println(value);",
+            "        });",
+            "  }",
+            "",
+            "  int m4(Map<String, Integer> map) {",
+            "    int sum = 0;",
+            "    for (Map.Entry<String, Integer> entry : map.entrySet()) {",
+            "      sum += entry.getValue();",
+            "    }",
+            "    return sum;",
+            "  }",
+            "",
+            "  void m5(Map<String, Integer> map) throws IOException {",
+            "    for (Map.Entry<String, Integer> entry : map.entrySet()) {",
+            "      if (entry.getValue() == null) {",
+            "        throw new IOException(entry.getKey());",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  void m6(Map<String, Integer> map) {",
+            "    for (Map.Entry<String, Integer> entry_2 : map.entrySet()) {",
+            "      String entry = entry_2.getKey() + \"=\" + entry_2.getValue();",
+            "      System.out.println(entry);",
+            "    }",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+
+  @Test
+  void replacementSecondSuggestedFix() {
+    BugCheckerRefactoringTestHelper.newInstance(MapKeySetIteration.class, getClass())
+        .setFixChooser(FixChoosers.SECOND)
+        .addInputLines(
+            "A.java",
+            "import java.util.Map;",
+            "",
+            "class A {",
+            "  void m1(Map<String, Integer> map) {",
+            "    for (String key : map.keySet()) {",
+            "      System.out.println(key + map.get(key));",
+            "    }",
+            "  }",
+            "",
+            "  void m2(Map<String, Integer> map) {",
+            "    for (String key : map.keySet()) System.out.println(map.get(key));",
+            "  }",
+            "",
+            "  void m3(Map<String, Integer> map) {",
+            "    for (String key : map.keySet()) {",
+            "      Integer value = map.get(key);",
+            "      System.out.println(key + value);",
+            "    }",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.Map;",
+            "",
+            "class A {",
+            "  void m1(Map<String, Integer> map) {",
+            "    map.forEach(",
+            "        (key, value) -> {",
+            "          System.out.println(key + value);",
+            "        });",
+            "  }",
+            "",
+            "  void m2(Map<String, Integer> map) {",
+            "    map.forEach(",
+            "        (key, value) -> {",
+            "          System.out.println(value);",
+            "        });",
+            "  }",
+            "",
+            "  void m3(Map<String, Integer> map) {",
+            "    map.forEach(",
+            "        (key, value_2) -> {",
+            "          Integer value = value_2;",
+            "          System.out.println(key + value);",
+            "        });",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,105 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class ReactiveRoundTripConversionTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(ReactiveRoundTripConversion.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import io.reactivex.Completable;",
+            "import io.reactivex.Flowable;",
+            "import io.reactivex.Maybe;",
+            "import io.reactivex.Single;",
+            "import reactor.adapter.rxjava.RxJava2Adapter;",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(Flowable<String> flowable, Mono<String> mono, Single<String> single) {",
+            "    RxJava2Adapter.flowableToFlux(flowable);",
+            "    flowable.as(RxJava2Adapter::flowableToFlux).map(String::length);",
+            "    RxJava2Adapter.fluxToFlowable(flowable.as(RxJava2Adapter::flowableToFlux).skip(1));",
+            "    RxJava2Adapter.singleToMono(RxJava2Adapter.monoToSingle(mono));",
+            "    RxJava2Adapter.singleToMono(RxJava2Adapter.monoToMaybe(mono).toSingle());",
+            "    RxJava2Adapter.completableToMono(RxJava2Adapter.monoToCompletable(mono));",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    RxJava2Adapter.fluxToFlowable(RxJava2Adapter.flowableToFlux(flowable));",
+            "    // BUG: Diagnostic contains:",
+            "    flowable.as(RxJava2Adapter::flowableToFlux).as(RxJava2Adapter::fluxToFlowable);",
+            "    // BUG: Diagnostic contains:",
+            "    RxJava2Adapter.monoToSingle(single.as(RxJava2Adapter::singleToMono));",
+            "    // BUG: Diagnostic contains:",
+            "    RxJava2Adapter.maybeToMono(RxJava2Adapter.monoToMaybe(mono));",
+            "    // BUG: Diagnostic contains:",
+            "    RxJava2Adapter.completableToMono(",
+            "        RxJava2Adapter.monoToCompletable(Mono.<Void>empty()));",
+            "",
+            "    Flux<String> flux = RxJava2Adapter.flowableToFlux(flowable);",
+            "    // BUG: Diagnostic contains:",
+            "    flux.as(RxJava2Adapter::fluxToFlowable);",
+            "",
+            "    Maybe<String> maybe = mono.as(RxJava2Adapter::monoToMaybe);",
+            "    maybe = Maybe.empty();",
+            "    RxJava2Adapter.maybeToMono(maybe);",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    RxJava2Adapter.monoToCompletable(completableAsMono());",
+            "    RxJava2Adapter.fluxToFlowable(fluxFromParameter(flowable));",
+            "    RxJava2Adapter.fluxToFlowable(indirectFlux());",
+            "  }",
+            "",
+            "  Mono<Void> completableAsMono() {",
+            "    return RxJava2Adapter.completableToMono(Completable.complete());",
+            "  }",
+            "",
+            "  Flux<String> fluxFromParameter(Flowable<String> flowable) {",
+            "    return RxJava2Adapter.flowableToFlux(flowable);",
+            "  }",
+            "",
+            "  Flux<String> indirectFlux() {",
+            "    Flux<String> flux = RxJava2Adapter.flowableToFlux(Flowable.just(\"foo\"));",
+            "    return flux;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(ReactiveRoundTripConversion.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import io.reactivex.Flowable;",
+            "import reactor.adapter.rxjava.RxJava2Adapter;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(Flowable<String> flowable, Mono<String> mono) {",
+            "    Flowable<String> f1 = RxJava2Adapter.fluxToFlowable(RxJava2Adapter.flowableToFlux(flowable));",
+            "    Flowable<String> f2 =",
+            "        flowable.as(RxJava2Adapter::flowableToFlux).as(RxJava2Adapter::fluxToFlowable).skip(1);",
+            "    Mono<String> m = mono.as(RxJava2Adapter::monoToMaybe).as(RxJava2Adapter::maybeToMono);",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import io.reactivex.Flowable;",
+            "import reactor.adapter.rxjava.RxJava2Adapter;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(Flowable<String> flowable, Mono<String> mono) {",
+            "    Flowable<String> f1 = flowable;",
+            "    Flowable<String> f2 = flowable.skip(1);",
+            "    Mono<String> m = mono;",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
@@ -0,0 +1,175 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class RedundantMapLookupTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(RedundantMapLookup.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "",
+            "class A {",
+            "  void m(Map<String, List<String>> map, Map<String, List<String>> other, String key) {",
+            "    if (map.containsKey(key)) {",
+            "      map.put(key, new ArrayList<>());",
+            "    }",
+            "    if (!map.containsKey(key)) {",
+            "      other.put(key, new ArrayList<>());",
+            "    }",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(\"foo\", new ArrayList<>());",
+            "    }",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(key, new ArrayList<>());",
+            "    } else {",
+            "      map.remove(key);",
+            "    }",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(key, new ArrayList<>());",
+            "      map.remove(key);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(key, new ArrayList<>());",
+            "    }",
+            "    // BUG: Diagnostic contains:",
+            "    if (!map.containsKey(\"bar\")) map.put(\"bar\", List.of());",
+            "",
+            "    List<String> l1 = map.get(key);",
+            "    if (l1 == null) {",
+            "      l1 = new ArrayList<>();",
+            "    }",
+            "",
+            "    List<String> l2 = map.get(key);",
+            "    if (l2 == null) {",
+            "      l2 = new ArrayList<>();",
+            "      other.put(key, l2);",
+            "    }",
+            "",
+            "    List<String> l3 = map.get(key);",
+            "    if (l3 != null) {",
+            "      l3 = new ArrayList<>();",
+            "      map.put(key, l3);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    List<String> l4 = map.get(key);",
+            "    if (l4 == null) {",
+            "      l4 = new ArrayList<>();",
+            "      map.put(key, l4);",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    List<String> l5 = map.get(key);",
+            "    if (null == l5) {",
+            "      l5 = new ArrayList<>();",
+            "      map.put(key, l5);",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(RedundantMapLookup.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.concurrent.Callable;",
+            "",
+            "class A {",
+            "  void m1(Map<String, List<String>> map, String key) {",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(key, List.of());",
+            "    }",
+            "    if (!(map.containsKey(\"foo\"))) {",
+            "      map.put(\"foo\", new ArrayList<>(map.size()));",
+            "    }",
+            "  }",
+            "",
+            "  List<String> m2(Map<String, List<String>> map, String key) {",
+            "    int size = 1;",
+            "    size++;",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(key, new ArrayList<>(size));",
+            "    }",
+            "",
+            "    List<String> list = map.get(key);",
+            "    if (list == null) {",
+            "      list = new ArrayList<>();",
+            "      map.put(key, list);",
+            "    }",
+            "    return list;",
+            "  }",
+            "",
+            "  void m3(Map<String, String> map, String key, Callable<String> loader) throws Exception {",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(key, String.valueOf(loader.call()));",
+            "    }",
+            "",
+            "    String value = map.get(key);",
+            "    if (value == null) {",
+            "      value = compute(map, key);",
+            "      map.put(key, value);",
+            "    }",
+            "  }",
+            "",
+            "  String compute(Map<String, String> map, String key) {",
+            "    return key;",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.List;",
+            "import java.util.Map;",
+            "import java.util.concurrent.Callable;",
+            "",
+            "class A {",
+            "  void m1(Map<String, List<String>> map, String key) {",
+            "    map.putIfAbsent(key, List.of());",
+            "    map.computeIfAbsent(\"foo\", key_2 -> new ArrayList<>(map.size()));",
+            "  }",
+            "",
+            "  List<String> m2(Map<String, List<String>> map, String key) {",
+            "    int size = 1;",
+            "    size++;",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(key, new ArrayList<>(size));",
+            "    }",
+            "",
+            "    List<String> list = map.computeIfAbsent(key, key_2 -> new ArrayList<>());",
+            "",
+            "    return list;",
+            "  }",
+            "",
+            "  void m3(Map<String, String> map, String key, Callable<String> loader) throws Exception {",
+            "    if (!map.containsKey(key)) {",
+            "      map.put(key, String.valueOf(loader.call()));",
+            "    }",
+            "",
+            "    String value = map.get(key);",
+            "    if (value == null) {",
+            "      value = compute(map, key);",
+            "      map.put(key, value);",
+            "    }",
+            "  }",
+            "",
+            "  String compute(Map<String, String> map, String key) {",
+            "    return key;",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
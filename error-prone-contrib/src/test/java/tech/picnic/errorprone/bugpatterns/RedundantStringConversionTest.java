@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugCheckerRefactoringTestHelper;
 import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
 import com.google.errorprone.CompilationTestHelper;
+import com.sun.tools.javac.main.Main.Result;
 import org.junit.jupiter.api.Test;
 
 // XXX: The tests below show that `String.valueOf((String) null)` may be simplified, but
@@ -33,6 +34,30 @@ final class RedundantStringConversionTest {
         .doTest();
   }
 
+  @Test
+  void identificationInHotPath() {
+    CompilationTestHelper.newInstance(RedundantStringConversion.class, getClass())
+        .setArgs("-Werror")
+        .expectResult(Result.ERROR)
+        .addSourceLines(
+            "A.java",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  String m1(String s) {",
+            "    // BUG: Diagnostic contains:",
+            "    return s.toString();",
+            "  }",
+            "",
+            "  @HotPath",
+            "  String m2(String s) {",
+            "    // BUG: Diagnostic contains:",
+            "    return s.toString();",
+            "  }",
+            "}")
+        .doTest();
+  }
+
   @Test
   void identificationWithinMutatingAssignment() {
     CompilationTestHelper.newInstance(RedundantStringConversion.class, getClass())
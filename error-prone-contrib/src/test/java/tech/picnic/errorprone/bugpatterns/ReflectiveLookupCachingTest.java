@@ -0,0 +1,82 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+
+final class ReflectiveLookupCachingTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(ReflectiveLookupCaching.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.lang.reflect.Field;",
+            "import java.lang.reflect.Method;",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  private static final Method METHOD;",
+            "  private static Field field;",
+            "",
+            "  static {",
+            "    try {",
+            "      METHOD = String.class.getMethod(\"length\");",
+            "    } catch (NoSuchMethodException e) {",
+            "      throw new IllegalStateException(e);",
+            "    }",
+            "  }",
+            "",
+            "  private final Class<?> clazz;",
+            "",
+            "  A() throws ReflectiveOperationException {",
+            "    clazz = Class.forName(\"java.lang.String\");",
+            "  }",
+            "",
+            "  Object m1(String value) throws ReflectiveOperationException {",
+            "    // BUG: Diagnostic contains: use a `static final` `MethodHandle` instead",
+            "    return String.class.getMethod(\"length\").invoke(value);",
+            "  }",
+            "",
+            "  Object m2(Object value) throws ReflectiveOperationException {",
+            "    // BUG: Diagnostic contains: use a `static final` `VarHandle` instead",
+            "    return A.class.getDeclaredField(\"clazz\").get(value);",
+            "  }",
+            "",
+            "  void m3(List<String> values) throws ReflectiveOperationException {",
+            "    for (String value : values) {",
+            "      // BUG: Diagnostic contains: use a `static final` `MethodHandle` instead",
+            "      String.class.getDeclaredConstructor(String.class).newInstance(value);",
+            "    }",
+            "  }",
+            "",
+            "  Class<?> m4() throws ClassNotFoundException {",
+            "    // BUG: Diagnostic contains:",
+            "    return Class.forName(\"java.lang.String\");",
+            "  }",
+            "",
+            "  Runnable m5() {",
+            "    return () -> {",
+            "      try {",
+            "        // BUG: Diagnostic contains:",
+            "        Class.forName(\"java.lang.Integer\");",
+            "      } catch (ClassNotFoundException e) {",
+            "        throw new IllegalStateException(e);",
+            "      }",
+            "    };",
+            "  }",
+            "",
+            "  Field m6() throws NoSuchFieldException {",
+            "    if (field == null) {",
+            "      field = A.class.getDeclaredField(\"clazz\");",
+            "    }",
+            "    return field;",
+            "  }",
+            "",
+            "  Object m7(Class<?> type, String name) throws ReflectiveOperationException {",
+            "    Class.forName(name);",
+            "    String.class.getMethod(name);",
+            "    return type.getMethod(\"toString\");",
+            "  }",
+            "}")
+        .doTest();
+  }
+}
@@ -0,0 +1,282 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.FixChoosers;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import com.sun.tools.javac.main.Main.Result;
+import org.junit.jupiter.api.Test;
+
+final class StringConcatenationInLoopTest {
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(StringConcatenationInLoop.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  private String field = \"\";",
+            "",
+            "  void m(List<String> list, int count) {",
+            "    String s = \"\";",
+            "    s += \"foo\";",
+            "    s = s + \"bar\";",
+            "    int total = 0;",
+            "    for (String e : list) {",
+            "      total += e.length();",
+            "      String line = \"\";",
+            "      line += e;",
+            "      line = line + e;",
+            "      s = e + s;",
+            "      s = \"baz\" + e;",
+            "      // BUG: Diagnostic contains:",
+            "      s += e;",
+            "      // BUG: Diagnostic contains:",
+            "      s = s + e;",
+            "      // BUG: Diagnostic contains:",
+            "      s = s + e + \"qux\";",
+            "      // BUG: Diagnostic contains:",
+            "      field += e;",
+            "      for (int i = 0; i < count; i++) {",
+            "        // BUG: Diagnostic contains:",
+            "        line += i;",
+            "      }",
+            "    }",
+            "",
+            "    while (s.isEmpty()) {",
+            "      // BUG: Diagnostic contains:",
+            "      s += count;",
+            "    }",
+            "",
+            "    do {",
+            "      // BUG: Diagnostic contains:",
+            "      s += count;",
+            "    } while (s.isEmpty());",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    list.forEach(e -> field += e);",
+            "    list.stream().map(e -> e + field).forEach(e -> {});",
+            "    Runnable r = () -> field += \"quux\";",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationInHotPath() {
+    CompilationTestHelper.newInstance(StringConcatenationInLoop.class, getClass())
+        .setArgs("-Werror")
+        .addSourceLines(
+            "A.java",
+            "import java.util.List;",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  @HotPath",
+            "  String m(List<String> list) {",
+            "    String s = \"\";",
+            "    for (String e : list) {",
+            "      // BUG: Diagnostic contains:",
+            "      s += e;",
+            "    }",
+            "    return s;",
+            "  }",
+            "}")
+        .expectResult(Result.ERROR)
+        .doTest();
+  }
+
+  @Test
+  void replacementFirstSuggestedFix() {
+    BugCheckerRefactoringTestHelper.newInstance(StringConcatenationInLoop.class, getClass())
+        .addInputLines(
+            "A.java",
+            "import java.io.IOException;",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  String m1(List<String> list) {",
+            "    String s = \"\";",
+            "    for (String e : list) {",
+            "      s += e;",
+            "    }",
+            "    return s;",
+            "  }",
+            "",
+            "  String m2(List<Integer> list) {",
+            "    String s = \"\";",
+            "    for (Integer e : list) {",
+            "      s = s + e;",
+            "    }",
+            "    return s;",
+            "  }",
+            "",
+            "  String m3(String[] array) {",
+            "    String s = \"\";",
+            "    for (String e : array) s += e.trim();",
+            "    return s;",
+            "  }",
+            "",
+            "  String m4(int count) {",
+            "    String s = \"prefix\";",
+            "    for (int i = 0; i < count; i++) {",
+            "      s += i;",
+            "    }",
+            "    return s;",
+            "  }",
+            "",
+            "  String m5(List<String> list) {",
+            "    String s = \"\";",
+            "    for (String e : list) {",
+            "      s += e;",
+            "      s += \",\";",
+            "    }",
+            "    return s;",
+            "  }",
+            "",
+            "  String m6(List<String> list) {",
+            "    String separator = \",\";",
+            "    separator = separator.trim();",
+            "    String s = \"\";",
+            "    for (String e : list) {",
+            "      s += e + separator;",
+            "    }",
+            "    return s;",
+            "  }",
+            "",
+            "  String m7(List<String> list) throws IOException {",
+            "    String s = \"\";",
+            "    for (String e : list) {",
+            "      s += read(e);",
+            "    }",
+            "    return s;",
+            "  }",
+            "",
+            "  String m8(char[] chars, int count) {",
+            "    String s = \"\";",
+            "    for (int i = 0; i < count; i++) {",
+            "      s += chars;",
+            "    }",
+            "    return s;",
+            "  }",
+            "",
+            "  String read(String e) throws IOException {",
+            "    return e;",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import static java.util.stream.Collectors.joining;",
+            "",
+            "import java.io.IOException;",
+            "import java.util.Arrays;",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  String m1(List<String> list) {",
+            "    String s = String.join(\"\", list);",
+            "",
+            "    return s;",
+            "  }",
+            "",
+            "  String m2(List<Integer> list) {",
+            "    String s = list.stream().map(e -> String.valueOf(e)).collect(joining());",
+            "",
+            "    return s;",
+            "  }",
+            "",
+            "  String m3(String[] array) {",
+            "    String s = Arrays.stream(array).map(e -> e.trim()).collect(joining());",
+            "",
+            "    return s;",
+            "  }",
+            "",
+            "  String m4(int count) {",
+            "    StringBuilder sBuilder = new StringBuilder(\"prefix\");",
+            "    for (int i = 0; i < count; i++) {",
+            "      sBuilder.append(i);",
+            "    }",
+            "    String s = sBuilder.toString();",
+            "    return s;",
+            "  }",
+            "",
+            "  String m5(List<String> list) {",
+            "    String s = \"\";",
+            "    for (String e : list) {",
+            "      s += e;",
+            "      s += \",\";",
+            "    }",
+            "    return s;",
+            "  }",
+            "",
+            "  String m6(List<String> list) {",
+            "    String separator = \",\";",
+            "    separator = separator.trim();",
+            "    StringBuilder sBuilder = new StringBuilder();",
+            "    for (String e : list) {",
+            "      sBuilder.append(e + separator);",
+            "    }",
+            "    String s = sBuilder.toString();",
+            "    return s;",
+            "  }",
+            "",
+            "  String m7(List<String> list) throws IOException {",
+            "    StringBuilder sBuilder = new StringBuilder();",
+            "    for (String e : list) {",
+            "      sBuilder.append(read(e));",
+            "    }",
+            "    String s = sBuilder.toString();",
+            "    return s;",
+            "  }",
+            "",
+            "  String m8(char[] chars, int count) {",
+            "    StringBuilder sBuilder = new StringBuilder();",
+            "    for (int i = 0; i < count; i++) {",
+            "      sBuilder.append(String.valueOf((Object) chars));",
+            "    }",
+            "    String s = sBuilder.toString();",
+            "    return s;",
+            "  }",
+            "",
+            "  String read(String e) throws IOException {",
+            "    return e;",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+
+  @Test
+  void replacementSecondSuggestedFix() {
+    BugCheckerRefactoringTestHelper.newInstance(StringConcatenationInLoop.class, getClass())
+        .setFixChooser(FixChoosers.SECOND)
+        .addInputLines(
+            "A.java",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  String m(List<String> list) {",
+            "    String s = \"\";",
+            "    for (String e : list) {",
+            "      s += e;",
+            "    }",
+            "    return s;",
+            "  }",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  String m(List<String> list) {",
+            "    StringBuilder sBuilder = new StringBuilder();",
+            "    for (String e : list) {",
+            "      sBuilder.append(e);",
+            "    }",
+            "    String s = sBuilder.toString();",
+            "    return s;",
+            "  }",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
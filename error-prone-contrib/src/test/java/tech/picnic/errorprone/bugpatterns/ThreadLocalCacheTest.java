@@ -0,0 +1,54 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+final class ThreadLocalCacheTest {
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(ThreadLocalCache.class, getClass())
+        .setArgs("--release", "21")
+        .addSourceLines(
+            "A.java",
+            "import java.text.SimpleDateFormat;",
+            "",
+            "class A {",
+            "  private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();",
+            "  private static final ThreadLocal<StringBuilder> OTHER =",
+            "      new ThreadLocal<>() {",
+            "        @Override",
+            "        public void remove() {}",
+            "      };",
+            "",
+            "  private static final ThreadLocal<SimpleDateFormat> FORMAT =",
+            "      // BUG: Diagnostic contains:",
+            "      ThreadLocal.withInitial(() -> new SimpleDateFormat(\"yyyy-MM-dd\"));",
+            "",
+            "  private static final ThreadLocal<StringBuilder> BUILDER =",
+            "      // BUG: Diagnostic contains:",
+            "      new ThreadLocal<>() {",
+            "        @Override",
+            "        protected StringBuilder initialValue() {",
+            "          return new StringBuilder();",
+            "        }",
+            "      };",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationBeforeJava21() {
+    CompilationTestHelper.newInstance(ThreadLocalCache.class, getClass())
+        .setArgs("--release", "17")
+        .addSourceLines(
+            "A.java",
+            "class A {",
+            "  private static final ThreadLocal<StringBuilder> BUILDER =",
+            "      ThreadLocal.withInitial(StringBuilder::new);",
+            "}")
+        .doTest();
+  }
+}
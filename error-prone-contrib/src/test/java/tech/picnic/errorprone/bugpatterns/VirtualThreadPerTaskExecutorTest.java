@@ -0,0 +1,89 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.BugCheckerRefactoringTestHelper;
+import com.google.errorprone.BugCheckerRefactoringTestHelper.TestMode;
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+final class VirtualThreadPerTaskExecutorTest {
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(VirtualThreadPerTaskExecutor.class, getClass())
+        .setArgs("--release", "21")
+        .addSourceLines(
+            "A.java",
+            "import java.util.concurrent.ExecutorService;",
+            "import java.util.concurrent.Executors;",
+            "import java.util.concurrent.ThreadFactory;",
+            "",
+            "class A {",
+            "  void m(ThreadFactory threadFactory) {",
+            "    Executors.newSingleThreadExecutor();",
+            "    Executors.newWorkStealingPool();",
+            "    Executors.newScheduledThreadPool(1);",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    Executors.newCachedThreadPool();",
+            "    // BUG: Diagnostic contains:",
+            "    Executors.newCachedThreadPool(threadFactory);",
+            "    // BUG: Diagnostic contains:",
+            "    Executors.newFixedThreadPool(1);",
+            "    // BUG: Diagnostic contains:",
+            "    Executors.newFixedThreadPool(1, threadFactory);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationBeforeJava21() {
+    CompilationTestHelper.newInstance(VirtualThreadPerTaskExecutor.class, getClass())
+        .setArgs("--release", "17")
+        .addSourceLines(
+            "A.java",
+            "import java.util.concurrent.Executors;",
+            "",
+            "class A {",
+            "  void m() {",
+            "    Executors.newCachedThreadPool();",
+            "    Executors.newFixedThreadPool(1);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  @Test
+  void replacement() {
+    BugCheckerRefactoringTestHelper.newInstance(VirtualThreadPerTaskExecutor.class, getClass())
+        .setArgs("--release", "21")
+        .addInputLines(
+            "A.java",
+            "import static java.util.concurrent.Executors.newCachedThreadPool;",
+            "",
+            "import java.util.concurrent.ExecutorService;",
+            "import java.util.concurrent.Executors;",
+            "",
+            "class A {",
+            "  private final ExecutorService executor = Executors.newCachedThreadPool();",
+            "  private final ExecutorService other = newCachedThreadPool();",
+            "  private final ExecutorService fixed = Executors.newFixedThreadPool(4);",
+            "}")
+        .addOutputLines(
+            "A.java",
+            "import static java.util.concurrent.Executors.newCachedThreadPool;",
+            "",
+            "import java.util.concurrent.ExecutorService;",
+            "import java.util.concurrent.Executors;",
+            "",
+            "class A {",
+            "  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();",
+            "  private final ExecutorService other = newVirtualThreadPerTaskExecutor();",
+            "  private final ExecutorService fixed = Executors.newFixedThreadPool(4);",
+            "}")
+        .doTest(TestMode.TEXT_MATCH);
+  }
+}
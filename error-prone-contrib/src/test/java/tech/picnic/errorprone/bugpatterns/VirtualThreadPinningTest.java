@@ -0,0 +1,115 @@
+package tech.picnic.errorprone.bugpatterns;
+
+import com.google.errorprone.CompilationTestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+final class VirtualThreadPinningTest {
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  @Test
+  void identification() {
+    CompilationTestHelper.newInstance(VirtualThreadPinning.class, getClass())
+        .setArgs("--release", "21")
+        .addSourceLines(
+            "A.java",
+            "import java.io.IOException;",
+            "import java.io.InputStream;",
+            "import java.util.concurrent.ExecutionException;",
+            "import java.util.concurrent.Future;",
+            "",
+            "class A {",
+            "  private final Object lock = new Object();",
+            "",
+            "  synchronized int m1() {",
+            "    return 1;",
+            "  }",
+            "",
+            "  // BUG: Diagnostic contains: invokes blocking method `InputStream#read`",
+            "  synchronized int m2(InputStream in) throws IOException {",
+            "    return in.read();",
+            "  }",
+            "",
+            "  String m3(Future<String> future) throws ExecutionException, InterruptedException {",
+            "    synchronized (lock) {",
+            "      future.isDone();",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains: invokes blocking method `Future#get`",
+            "    synchronized (lock) {",
+            "      return future.get();",
+            "    }",
+            "  }",
+            "",
+            "  void m4() throws InterruptedException {",
+            "    // BUG: Diagnostic contains: invokes blocking method `Object#wait`",
+            "    synchronized (lock) {",
+            "      lock.wait();",
+            "    }",
+            "  }",
+            "",
+            "  synchronized void m5(InputStream in) {",
+            "    new Thread(",
+            "            () -> {",
+            "              try {",
+            "                in.read();",
+            "              } catch (IOException e) {",
+            "                throw new IllegalStateException(e);",
+            "              }",
+            "            })",
+            "        .start();",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    synchronized (lock) {",
+            "      try {",
+            "        Thread.sleep(1);",
+            "      } catch (InterruptedException e) {",
+            "        Thread.currentThread().interrupt();",
+            "      }",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  @Test
+  void identificationWithExtraBlockingMethods() {
+    CompilationTestHelper.newInstance(VirtualThreadPinning.class, getClass())
+        .setArgs("--release", "21", "-XepOpt:VirtualThreadPinning:ExtraBlockingMethods=A#fetch()")
+        .addSourceLines(
+            "A.java",
+            "class A {",
+            "  synchronized String m1() {",
+            "    return toString();",
+            "  }",
+            "",
+            "  // BUG: Diagnostic contains: invokes blocking method `A#fetch`",
+            "  synchronized String m2() {",
+            "    return fetch();",
+            "  }",
+            "",
+            "  String fetch() {",
+            "    return \"foo\";",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void identificationBeforeJava21() {
+    CompilationTestHelper.newInstance(VirtualThreadPinning.class, getClass())
+        .setArgs("--release", "17")
+        .addSourceLines(
+            "A.java",
+            "import java.io.IOException;",
+            "import java.io.InputStream;",
+            "",
+            "class A {",
+            "  synchronized int m(InputStream in) throws IOException {",
+            "    return in.read();",
+            "  }",
+            "}")
+        .doTest();
+  }
+}
@@ -0,0 +1,114 @@
+package tech.picnic.errorprone.bugpatterns.util;
+
+import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.CompilationTestHelper;
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.MemberReferenceTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MethodInvocationTree;
+import javax.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+final class BlockingMethodsTest {
+  @Test
+  void createMatcher() {
+    CompilationTestHelper.newInstance(CreateMatcherTestChecker.class, getClass())
+        .setArgs(ImmutableList.of("-XepOpt:CreateMatcherTestChecker:Extra=A#fetch(int)"))
+        .addSourceLines(
+            "A.java",
+            "import java.io.InputStream;",
+            "import java.util.concurrent.BlockingQueue;",
+            "import java.util.concurrent.Future;",
+            "import java.util.function.Supplier;",
+            "import reactor.core.publisher.Flux;",
+            "import reactor.core.publisher.Mono;",
+            "",
+            "class A {",
+            "  void m(",
+            "      Mono<String> mono,",
+            "      Flux<String> flux,",
+            "      Future<String> future,",
+            "      BlockingQueue<String> queue,",
+            "      InputStream in)",
+            "      throws Exception {",
+            "    mono.subscribe();",
+            "    future.isDone();",
+            "    queue.offer(\"foo\");",
+            "    in.close();",
+            "    fetch(\"foo\");",
+            "",
+            "    // BUG: Diagnostic contains:",
+            "    mono.block();",
+            "    // BUG: Diagnostic contains:",
+            "    flux.blockFirst();",
+            "    // BUG: Diagnostic contains:",
+            "    future.get();",
+            "    // BUG: Diagnostic contains:",
+            "    queue.take();",
+            "    // BUG: Diagnostic contains:",
+            "    in.read();",
+            "    // BUG: Diagnostic contains:",
+            "    Thread.sleep(1);",
+            "    // BUG: Diagnostic contains:",
+            "    fetch(1);",
+            "    // BUG: Diagnostic contains:",
+            "    Supplier<String> supplier = mono::block;",
+            "  }",
+            "",
+            "  String fetch(int id) {",
+            "    return String.valueOf(id);",
+            "  }",
+            "",
+            "  String fetch(String id) {",
+            "    return id;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  /**
+   * A {@link BugChecker} that flags invocations of and references to methods matched by {@link
+   * BlockingMethods#createMatcher(ErrorProneFlags, String)}.
+   */
+  @BugPattern(severity = ERROR, summary = "Interacts with `BlockingMethods` for testing purposes")
+  public static final class CreateMatcherTestChecker extends BugChecker
+      implements MemberReferenceTreeMatcher, MethodInvocationTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    private final Matcher<ExpressionTree> matcher;
+
+    /** Instantiates a default {@link CreateMatcherTestChecker} instance. */
+    CreateMatcherTestChecker() {
+      this(ErrorProneFlags.empty());
+    }
+
+    /**
+     * Instantiates a customized {@link CreateMatcherTestChecker} instance.
+     *
+     * @param flags Any provided command line flags.
+     */
+    @Inject
+    CreateMatcherTestChecker(ErrorProneFlags flags) {
+      matcher = BlockingMethods.createMatcher(flags, "CreateMatcherTestChecker:Extra");
+    }
+
+    @Override
+    public Description matchMemberReference(MemberReferenceTree tree, VisitorState state) {
+      return matcher.matches(tree, state) ? describeMatch(tree) : Description.NO_MATCH;
+    }
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+      return matcher.matches(tree, state) ? describeMatch(tree) : Description.NO_MATCH;
+    }
+  }
+}
@@ -7,10 +7,14 @@ import com.google.errorprone.CompilationTestHelper;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ReturnTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ReturnTree;
 import com.sun.tools.javac.code.Symbol.MethodSymbol;
+import java.util.function.Predicate;
 import org.junit.jupiter.api.Test;
 
 final class ConflictDetectionTest {
@@ -54,6 +58,92 @@ final class ConflictDetectionTest {
         .doTest();
   }
 
+  @Test
+  void findUnusedVariableName() {
+    CompilationTestHelper.newInstance(UnusedVariableNameFlagger.class, getClass())
+        .addSourceLines(
+            "pkg/A.java",
+            "package pkg;",
+            "",
+            "import static pkg.B.VALUE_3;",
+            "",
+            "class A extends B {",
+            "  private static final int OTHER = 0;",
+            "",
+            "  int m1() {",
+            "    // BUG: Diagnostic contains: VALUE_4",
+            "    return OTHER;",
+            "  }",
+            "",
+            "  int m2(int VALUE_4) {",
+            "    // BUG: Diagnostic contains: VALUE_5",
+            "    return VALUE_4;",
+            "  }",
+            "",
+            "  int m3() {",
+            "    int VALUE_4 = 0;",
+            "    Runnable r =",
+            "        new Runnable() {",
+            "          @Override",
+            "          public void run() {",
+            "            int VALUE_5 = 1;",
+            "          }",
+            "        };",
+            "    // BUG: Diagnostic contains: VALUE_5",
+            "    return VALUE_4;",
+            "  }",
+            "}")
+        .addSourceLines(
+            "pkg/B.java",
+            "package pkg;",
+            "",
+            "class B {",
+            "  static final int VALUE_3 = 3;",
+            "  protected int VALUE;",
+            "  protected int VALUE_2;",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void findUnusedFieldName() {
+    CompilationTestHelper.newInstance(UnusedFieldNameFlagger.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "class A {",
+            "  private static final int VALUE_2 = 0;",
+            "",
+            "  int m1() {",
+            "    int VALUE = 1;",
+            "    // BUG: Diagnostic contains: VALUE_3",
+            "    return VALUE;",
+            "  }",
+            "",
+            "  int m2() {",
+            "    // BUG: Diagnostic contains: VALUE",
+            "    return 2;",
+            "  }",
+            "",
+            "  int m3() {",
+            "    // BUG: Diagnostic contains: VALUE_4",
+            "    return VALUE_2;",
+            "  }",
+            "",
+            "  static class B {",
+            "    int m4() {",
+            "      // BUG: Diagnostic contains: VALUE_5",
+            "      return 4;",
+            "    }",
+            "  }",
+            "",
+            "  int m5() {",
+            "    // BUG: Diagnostic contains: VALUE_6",
+            "    return 5;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
   /**
    * A {@link BugChecker} that uses {@link ConflictDetection#findMethodRenameBlocker(MethodSymbol,
    * String, VisitorState)} to flag methods of which the name cannot be suffixed with a {@code t}.
@@ -70,4 +160,42 @@ final class ConflictDetectionTest {
           .orElse(Description.NO_MATCH);
     }
   }
+
+  /**
+   * A {@link BugChecker} that uses {@link ConflictDetection#findUnusedVariableName(String,
+   * VisitorState)} to flag {@code return} statements with the first available variable name
+   * starting with {@code VALUE}.
+   */
+  @BugPattern(summary = "Interacts with `ConflictDetection` for testing purposes", severity = ERROR)
+  public static final class UnusedVariableNameFlagger extends BugChecker
+      implements ReturnTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchReturn(ReturnTree tree, VisitorState state) {
+      return buildDescription(tree)
+          .setMessage(ConflictDetection.findUnusedVariableName("VALUE", state))
+          .build();
+    }
+  }
+
+  /**
+   * A {@link BugChecker} that uses {@link ConflictDetection#findUnusedFieldName(String, ClassTree,
+   * Predicate, VisitorState)} to flag {@code return} statements with the name of a field starting
+   * with {@code VALUE} that would be introduced to the outermost class.
+   */
+  @BugPattern(summary = "Interacts with `ConflictDetection` for testing purposes", severity = ERROR)
+  public static final class UnusedFieldNameFlagger extends BugChecker implements ReturnTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchReturn(ReturnTree tree, VisitorState state) {
+      ClassTree clazz = (ClassTree) state.getPath().getCompilationUnit().getTypeDecls().get(0);
+      return buildDescription(tree)
+          .setMessage(
+              ConflictDetection.findUnusedFieldName(
+                  "VALUE", clazz, s -> s.getPath().getLeaf() instanceof ReturnTree, state))
+          .build();
+    }
+  }
 }
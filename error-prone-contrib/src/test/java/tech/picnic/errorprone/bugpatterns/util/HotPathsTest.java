@@ -0,0 +1,131 @@
+package tech.picnic.errorprone.bugpatterns.util;
+
+import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
+import static com.google.errorprone.BugPattern.SeverityLevel.SUGGESTION;
+
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.CompilationTestHelper;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.ReturnTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.sun.source.tree.ReturnTree;
+import com.sun.tools.javac.main.Main.Result;
+import org.junit.jupiter.api.Test;
+
+final class HotPathsTest {
+  @Test
+  void isInHotPath() {
+    CompilationTestHelper.newInstance(IsInHotPathTestChecker.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  int m1() {",
+            "    // BUG: Diagnostic contains: false",
+            "    return 1;",
+            "  }",
+            "",
+            "  @HotPath",
+            "  int m2() {",
+            "    // BUG: Diagnostic contains: true",
+            "    return 2;",
+            "  }",
+            "",
+            "  @HotPath",
+            "  static class Nested {",
+            "    int m3() {",
+            "      // BUG: Diagnostic contains: true",
+            "      return 3;",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void escalateInHotPath() {
+    CompilationTestHelper.newInstance(EscalateInHotPathTestChecker.class, getClass())
+        .expectResult(Result.ERROR)
+        .addSourceLines(
+            "A.java",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  int m1() {",
+            "    // BUG: Diagnostic contains:",
+            "    return 1;",
+            "  }",
+            "",
+            "  @HotPath",
+            "  int m2() {",
+            "    // BUG: Diagnostic contains:",
+            "    return 2;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void escalateInHotPathWithConfiguredSeverity() {
+    CompilationTestHelper.newInstance(EscalateInHotPathTestChecker.class, getClass())
+        .setArgs("-Xep:EscalateInHotPathTestChecker:WARN")
+        .expectResult(Result.OK)
+        .addSourceLines(
+            "A.java",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  @HotPath",
+            "  int m() {",
+            "    // BUG: Diagnostic contains:",
+            "    return 1;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void escalateOutsideHotPath() {
+    CompilationTestHelper.newInstance(EscalateInHotPathTestChecker.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "class A {",
+            "  int m() {",
+            "    // BUG: Diagnostic contains:",
+            "    return 1;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  /**
+   * A {@link BugChecker} that flags {@code return} statements, indicating whether they are part of
+   * a hot path.
+   */
+  @BugPattern(severity = ERROR, summary = "Interacts with `HotPaths` for testing purposes")
+  public static final class IsInHotPathTestChecker extends BugChecker implements ReturnTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchReturn(ReturnTree tree, VisitorState state) {
+      return buildDescription(tree).setMessage(String.valueOf(HotPaths.isInHotPath(state))).build();
+    }
+  }
+
+  /**
+   * A {@link BugChecker} that flags {@code return} statements, escalating the severity of findings
+   * inside a hot path.
+   */
+  @BugPattern(severity = SUGGESTION, summary = "Interacts with `HotPaths` for testing purposes")
+  public static final class EscalateInHotPathTestChecker extends BugChecker
+      implements ReturnTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchReturn(ReturnTree tree, VisitorState state) {
+      return HotPaths.escalateInHotPath(buildDescription(tree), this, ERROR, state).build();
+    }
+  }
+}
@@ -27,6 +27,7 @@ final class MethodMatcherFactoryTest {
               ImmutableList.of(
                   "com.example.A#m1()",
                   "com.example.A#m2(java.lang.String)",
+                  "com.example.sub.B#m1(java.lang.String)",
                   "com.example.sub.B#m3(int,int)"));
 
   private static Stream<Arguments> createWithMalformedSignaturesTestCases() {
@@ -160,6 +161,7 @@ final class MethodMatcherFactoryTest {
             "    new A().m3(\"\");",
             "    new A().m3(0, 0);",
             "    B.m1();",
+            "    // BUG: Diagnostic contains:",
             "    B.m1(\"\");",
             "    B.m1(0, 0);",
             "    B.m2();",
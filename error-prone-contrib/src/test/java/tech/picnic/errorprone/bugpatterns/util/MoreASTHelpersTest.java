@@ -8,18 +8,27 @@ import com.google.errorprone.BugPattern;
 import com.google.errorprone.CompilationTestHelper;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.CompilationUnitTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.ExpressionStatementTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.ReturnTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
 import com.google.errorprone.matchers.Description;
+import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.ReturnTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
 import java.util.List;
 import java.util.function.BiFunction;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
 
 final class MoreASTHelpersTest {
   @Test
@@ -118,6 +127,263 @@ final class MoreASTHelpersTest {
         .doTest();
   }
 
+  @Test
+  void findEnclosingLoop() {
+    CompilationTestHelper.newInstance(FindEnclosingLoopTestChecker.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  void m(List<String> list) {",
+            "    toString();",
+            "",
+            "    for (String s : list) {",
+            "      // BUG: Diagnostic contains: ENHANCED_FOR_LOOP",
+            "      toString();",
+            "    }",
+            "",
+            "    for (Object o : List.of(toString())) {}",
+            "",
+            "    // BUG: Diagnostic contains: FOR_LOOP",
+            "    for (int i = toString().length(); i < hashCode(); i++) {",
+            "      // BUG: Diagnostic contains: FOR_LOOP",
+            "      toString();",
+            "    }",
+            "",
+            "    // BUG: Diagnostic contains: WHILE_LOOP",
+            "    while (toString().isEmpty()) {",
+            "      do {",
+            "        // BUG: Diagnostic contains: DO_WHILE_LOOP",
+            "        toString();",
+            "        // BUG: Diagnostic contains: DO_WHILE_LOOP",
+            "      } while (list.isEmpty());",
+            "",
+            "      // BUG: Diagnostic contains: WHILE_LOOP",
+            "      list.forEach(e -> toString());",
+            "      new Object() {",
+            "        @Override",
+            "        public String toString() {",
+            "          return super.toString();",
+            "        }",
+            "      };",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void findRepeatedlyExecutedScope() {
+    CompilationTestHelper.newInstance(FindRepeatedlyExecutedScopeTestChecker.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.List;",
+            "",
+            "class A {",
+            "  private final int length = toString().length();",
+            "",
+            "  static {",
+            "    List.of().toString();",
+            "    for (int i = 0; i < 2; i++) {",
+            "      // BUG: Diagnostic contains: FOR_LOOP",
+            "      List.of().toString();",
+            "    }",
+            "  }",
+            "",
+            "  A() {",
+            "    toString();",
+            "    // BUG: Diagnostic contains: LAMBDA_EXPRESSION",
+            "    Runnable r = () -> toString();",
+            "  }",
+            "",
+            "  void m(List<String> list) {",
+            "    // BUG: Diagnostic contains: METHOD",
+            "    toString();",
+            "",
+            "    for (String s : list) {",
+            "      // BUG: Diagnostic contains: ENHANCED_FOR_LOOP",
+            "      toString();",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void isSourceAtLeast() {
+    CompilationTestHelper.newInstance(IsSourceAtLeastTestChecker.class, getClass())
+        .setArgs("--release", "17")
+        .addSourceLines(
+            "A.java", "// BUG: Diagnostic contains: {11=true, 17=true, 99=false}", "class A {}")
+        .doTest();
+  }
+
+  @Test
+  void findStaticFieldDeclarationTarget() {
+    CompilationTestHelper.newInstance(FindStaticFieldDeclarationTargetTestChecker.class, getClass())
+        .setArgs("--release", "11")
+        .addSourceLines(
+            "A.java",
+            "class A {",
+            "  void m() {",
+            "    // BUG: Diagnostic contains: A",
+            "    toString();",
+            "",
+            "    new Object() {",
+            "      @Override",
+            "      public String toString() {",
+            "        // BUG: Diagnostic contains: A",
+            "        return super.toString();",
+            "      }",
+            "    };",
+            "  }",
+            "",
+            "  static class B {",
+            "    void m() {",
+            "      // BUG: Diagnostic contains: B",
+            "      toString();",
+            "    }",
+            "  }",
+            "",
+            "  class C {",
+            "    void m() {",
+            "      // BUG: Diagnostic contains: A",
+            "      toString();",
+            "    }",
+            "  }",
+            "",
+            "  enum D {",
+            "    E;",
+            "",
+            "    void m() {",
+            "      // BUG: Diagnostic contains: D",
+            "      toString();",
+            "    }",
+            "  }",
+            "",
+            "  interface F {",
+            "    default void m() {",
+            "      // BUG: Diagnostic contains: A",
+            "      toString();",
+            "    }",
+            "  }",
+            "}",
+            "",
+            "interface G {",
+            "  default void m() {",
+            "    toString();",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  @EnabledForJreRange(min = JRE.JAVA_17)
+  void findStaticFieldDeclarationTargetJava16() {
+    CompilationTestHelper.newInstance(FindStaticFieldDeclarationTargetTestChecker.class, getClass())
+        .setArgs("--release", "17")
+        .addSourceLines(
+            "A.java",
+            "class A {",
+            "  void m() {",
+            "    // BUG: Diagnostic contains: A",
+            "    toString();",
+            "",
+            "    class B {",
+            "      void m() {",
+            "        // BUG: Diagnostic contains: B",
+            "        toString();",
+            "      }",
+            "    }",
+            "  }",
+            "",
+            "  class C {",
+            "    void m() {",
+            "      // BUG: Diagnostic contains: C",
+            "      toString();",
+            "    }",
+            "  }",
+            "",
+            "  interface D {",
+            "    default void m() {",
+            "      // BUG: Diagnostic contains: A",
+            "      toString();",
+            "    }",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  void isNonEscapingLocalVariable() {
+    CompilationTestHelper.newInstance(IsNonEscapingLocalVariableTestChecker.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.ArrayList;",
+            "import java.util.List;",
+            "import java.util.function.Supplier;",
+            "",
+            "class A {",
+            "  private final List<String> field = new ArrayList<>();",
+            "",
+            "  int negative1(List<String> parameter) {",
+            "    return parameter.size();",
+            "  }",
+            "",
+            "  List<String> negative2() {",
+            "    List<String> list = new ArrayList<>();",
+            "    return list;",
+            "  }",
+            "",
+            "  void negative3() {",
+            "    List<String> list = new ArrayList<>();",
+            "    field.addAll(list);",
+            "  }",
+            "",
+            "  Iterable<String> negative4() {",
+            "    List<String> list = new ArrayList<>();",
+            "    return list.subList(0, 1);",
+            "  }",
+            "",
+            "  StringBuilder negative5() {",
+            "    StringBuilder builder = new StringBuilder();",
+            "    return builder.append(1).append(2);",
+            "  }",
+            "",
+            "  Supplier<Integer> negative6() {",
+            "    List<String> list = new ArrayList<>();",
+            "    return () -> list.size();",
+            "  }",
+            "",
+            "  int positive1() {",
+            "    // BUG: Diagnostic contains:",
+            "    List<String> list = new ArrayList<>();",
+            "    list.add(\"foo\");",
+            "    for (String s : list) {",
+            "      list.contains(s);",
+            "    }",
+            "    return list.size() + list.subList(0, 1).size();",
+            "  }",
+            "",
+            "  String positive2() {",
+            "    // BUG: Diagnostic contains:",
+            "    StringBuilder builder = new StringBuilder();",
+            "    builder.append(1).append(2);",
+            "    return builder.append(3).toString();",
+            "  }",
+            "",
+            "  Supplier<Integer> positive3() {",
+            "    return () -> {",
+            "      // BUG: Diagnostic contains:",
+            "      List<String> list = new ArrayList<>();",
+            "      return list.size();",
+            "    };",
+            "  }",
+            "}")
+        .doTest();
+  }
+
   @Test
   void areSameType() {
     CompilationTestHelper.newInstance(AreSameTypeTestChecker.class, getClass())
@@ -137,6 +403,35 @@ final class MoreASTHelpersTest {
         .doTest();
   }
 
+  @Test
+  void canBeMovedIntoLambda() {
+    CompilationTestHelper.newInstance(CanBeMovedIntoLambdaTestChecker.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.List;",
+            "import java.util.concurrent.Callable;",
+            "",
+            "class A {",
+            "  String field = \"foo\";",
+            "",
+            "  void m(String param, List<String> list, Callable<String> callable) throws Exception {",
+            "    String effectivelyFinal = \"bar\";",
+            "    String reassigned = \"baz\";",
+            "    reassigned = \"qux\";",
+            "",
+            "    // BUG: Diagnostic contains: true",
+            "    String positive1 = param + field + effectivelyFinal;",
+            "    // BUG: Diagnostic contains: true",
+            "    String positive2 = list.stream().map(s -> s + param).findFirst().orElse(null);",
+            "    // BUG: Diagnostic contains: false",
+            "    String negative1 = reassigned.toUpperCase();",
+            "    // BUG: Diagnostic contains: false",
+            "    String negative2 = callable.call();",
+            "  }",
+            "}")
+        .doTest();
+  }
+
   private static String createMethodSearchDiagnosticsMessage(
       BiFunction<String, VisitorState, Object> valueFunction, VisitorState state) {
     return Maps.toMap(ImmutableSet.of("foo", "bar", "baz"), key -> valueFunction.apply(key, state))
@@ -206,6 +501,96 @@ final class MoreASTHelpersTest {
     }
   }
 
+  /**
+   * A {@link BugChecker} that delegates to {@link MoreASTHelpers#findEnclosingLoop(VisitorState)}.
+   */
+  @BugPattern(summary = "Interacts with `MoreASTHelpers` for testing purposes", severity = ERROR)
+  public static final class FindEnclosingLoopTestChecker extends BugChecker
+      implements MethodInvocationTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+      return MoreASTHelpers.findEnclosingLoop(state)
+          .map(loop -> buildDescription(tree).setMessage(loop.getLeaf().getKind().name()).build())
+          .orElse(Description.NO_MATCH);
+    }
+  }
+
+  /**
+   * A {@link BugChecker} that delegates to {@link
+   * MoreASTHelpers#findRepeatedlyExecutedScope(VisitorState)}.
+   */
+  @BugPattern(summary = "Interacts with `MoreASTHelpers` for testing purposes", severity = ERROR)
+  public static final class FindRepeatedlyExecutedScopeTestChecker extends BugChecker
+      implements MethodInvocationTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+      return MoreASTHelpers.findRepeatedlyExecutedScope(state)
+          .map(scope -> buildDescription(tree).setMessage(scope.getLeaf().getKind().name()).build())
+          .orElse(Description.NO_MATCH);
+    }
+  }
+
+  /**
+   * A {@link BugChecker} that delegates to {@link MoreASTHelpers#isSourceAtLeast(String,
+   * VisitorState)}.
+   */
+  @BugPattern(summary = "Interacts with `MoreASTHelpers` for testing purposes", severity = ERROR)
+  public static final class IsSourceAtLeastTestChecker extends BugChecker
+      implements CompilationUnitTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchCompilationUnit(CompilationUnitTree tree, VisitorState state) {
+      return buildDescription(tree)
+          .setMessage(
+              Maps.toMap(
+                      ImmutableSet.of("11", "17", "99"),
+                      release -> MoreASTHelpers.isSourceAtLeast(release, state))
+                  .toString())
+          .build();
+    }
+  }
+
+  /**
+   * A {@link BugChecker} that delegates to {@link
+   * MoreASTHelpers#findStaticFieldDeclarationTarget(VisitorState)}.
+   */
+  @BugPattern(summary = "Interacts with `MoreASTHelpers` for testing purposes", severity = ERROR)
+  public static final class FindStaticFieldDeclarationTargetTestChecker extends BugChecker
+      implements MethodInvocationTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+      return MoreASTHelpers.findStaticFieldDeclarationTarget(state)
+          .map(
+              target ->
+                  buildDescription(tree).setMessage(target.getSimpleName().toString()).build())
+          .orElse(Description.NO_MATCH);
+    }
+  }
+
+  /**
+   * A {@link BugChecker} that delegates to {@link
+   * MoreASTHelpers#isNonEscapingLocalVariable(TreePath, VisitorState)}.
+   */
+  @BugPattern(summary = "Interacts with `MoreASTHelpers` for testing purposes", severity = ERROR)
+  public static final class IsNonEscapingLocalVariableTestChecker extends BugChecker
+      implements VariableTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchVariable(VariableTree tree, VisitorState state) {
+      return MoreASTHelpers.isNonEscapingLocalVariable(state.getPath(), state)
+          ? describeMatch(tree)
+          : Description.NO_MATCH;
+    }
+  }
+
   /**
    * A {@link BugChecker} that delegates to {@link MoreASTHelpers#areSameType(Tree, Tree,
    * VisitorState)}.
@@ -224,4 +609,24 @@ final class MoreASTHelpersTest {
           : Description.NO_MATCH;
     }
   }
+
+  /**
+   * A {@link BugChecker} that delegates to {@link
+   * MoreASTHelpers#canBeMovedIntoLambda(ExpressionTree, VisitorState)}.
+   */
+  @BugPattern(summary = "Interacts with `MoreASTHelpers` for testing purposes", severity = ERROR)
+  public static final class CanBeMovedIntoLambdaTestChecker extends BugChecker
+      implements VariableTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchVariable(VariableTree tree, VisitorState state) {
+      ExpressionTree initializer = tree.getInitializer();
+      return initializer == null || !tree.getName().toString().matches("(positive|negative)\\d")
+          ? Description.NO_MATCH
+          : buildDescription(tree)
+              .setMessage(String.valueOf(MoreASTHelpers.canBeMovedIntoLambda(initializer, state)))
+              .build();
+    }
+  }
 }
@@ -98,6 +98,32 @@ final class ThirdPartyLibraryTest {
         .doTest();
   }
 
+  @Test
+  void getIntroducibleTypes() {
+    CompilationTestHelper.newInstance(GetIntroducibleTypesTestChecker.class, getClass())
+        .withClasspath(ImmutableList.class, Flux.class)
+        .addSourceLines(
+            "A.java",
+            "// BUG: Diagnostic contains: [com.google.common.collect.ImmutableList,",
+            "// reactor.core.publisher.Flux]",
+            "class A {}")
+        .doTest();
+  }
+
+  @Test
+  void getIntroducibleTypesIgnoreClasspathCompat() {
+    CompilationTestHelper.newInstance(GetIntroducibleTypesTestChecker.class, getClass())
+        .setArgs("-XepOpt:ErrorProneSupport:IgnoreClasspathCompat=true")
+        .withClasspath()
+        .addSourceLines(
+            "A.java",
+            "// BUG: Diagnostic contains: [com.google.common.collect.ImmutableList,",
+            "// com.google.common.collect.ImmutableEnumSet, org.assertj.core.api.Assertions,",
+            "// reactor.core.publisher.Flux]",
+            "class A {}")
+        .doTest();
+  }
+
   /**
    * Flags classes with a diagnostics message that indicates, for each {@link ThirdPartyLibrary}
    * element, whether they can be used.
@@ -149,4 +175,27 @@ final class ThirdPartyLibraryTest {
           .build();
     }
   }
+
+  /**
+   * Flags classes with a diagnostics message that lists the result of {@link
+   * ThirdPartyLibrary#getIntroducibleTypes(java.util.Collection, VisitorState)} for selected types.
+   */
+  @BugPattern(severity = ERROR, summary = "Interacts with `ThirdPartyLibrary` for testing purposes")
+  public static final class GetIntroducibleTypesTestChecker extends BugChecker
+      implements ClassTreeMatcher {
+    private static final long serialVersionUID = 1L;
+    private static final ImmutableList<String> TYPES =
+        ImmutableList.of(
+            ImmutableList.class.getCanonicalName(),
+            "com.google.common.collect.ImmutableEnumSet",
+            "org.assertj.core.api.Assertions",
+            "reactor.core.publisher.Flux");
+
+    @Override
+    public Description matchClass(ClassTree tree, VisitorState state) {
+      return buildDescription(tree)
+          .setMessage(ThirdPartyLibrary.getIntroducibleTypes(TYPES, state).toString())
+          .build();
+    }
+  }
 }
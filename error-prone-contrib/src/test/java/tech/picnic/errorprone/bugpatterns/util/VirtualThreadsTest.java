@@ -0,0 +1,50 @@
+package tech.picnic.errorprone.bugpatterns.util;
+
+import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
+
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.CompilationTestHelper;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.CompilationUnitTreeMatcher;
+import com.google.errorprone.matchers.Description;
+import com.sun.source.tree.CompilationUnitTree;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+final class VirtualThreadsTest {
+  @EnabledForJreRange(min = JRE.JAVA_21)
+  @Test
+  void isSupported() {
+    CompilationTestHelper.newInstance(IsSupportedTestChecker.class, getClass())
+        .setArgs("--release", "21")
+        .addSourceLines("A.java", "// BUG: Diagnostic contains: true", "class A {}")
+        .doTest();
+  }
+
+  @Test
+  void isNotSupported() {
+    CompilationTestHelper.newInstance(IsSupportedTestChecker.class, getClass())
+        .setArgs("--release", "17")
+        .addSourceLines("A.java", "// BUG: Diagnostic contains: false", "class A {}")
+        .doTest();
+  }
+
+  /**
+   * A {@link BugChecker} that flags compilation units, indicating whether they may use virtual
+   * threads.
+   */
+  @BugPattern(severity = ERROR, summary = "Interacts with `VirtualThreads` for testing purposes")
+  public static final class IsSupportedTestChecker extends BugChecker
+      implements CompilationUnitTreeMatcher {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Description matchCompilationUnit(CompilationUnitTree tree, VisitorState state) {
+      return buildDescription(tree)
+          .setMessage(String.valueOf(VirtualThreads.isSupported(state)))
+          .build();
+    }
+  }
+}
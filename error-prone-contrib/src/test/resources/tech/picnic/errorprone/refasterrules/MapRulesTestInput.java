@@ -28,6 +28,22 @@ final class MapRulesTest implements RefasterRuleCollectionTestCase {
     return requireNonNullElse(ImmutableMap.of(1, "foo").get("bar"), "baz");
   }
 
+  String testMapContainsKeyGetOrDefault() {
+    return ImmutableMap.of(1, "foo").containsKey("bar")
+        ? ImmutableMap.of(1, "foo").get("bar")
+        : "baz";
+  }
+
+  void testMapMergeIntegerSum() {
+    Map<String, Integer> map = new HashMap<>();
+    map.put("foo", map.getOrDefault("foo", 0) + 1);
+  }
+
+  void testMapMergeLongSum() {
+    Map<String, Long> map = new HashMap<>();
+    map.put("foo", map.getOrDefault("foo", 0L) + 2L);
+  }
+
   ImmutableSet<Boolean> testMapIsEmpty() {
     return ImmutableSet.of(
         ImmutableMap.of("foo", 1).keySet().isEmpty(),
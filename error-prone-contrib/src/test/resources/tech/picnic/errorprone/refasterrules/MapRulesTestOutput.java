@@ -29,6 +29,20 @@ final class MapRulesTest implements RefasterRuleCollectionTestCase {
     return ImmutableMap.of(1, "foo").getOrDefault("bar", "baz");
   }
 
+  String testMapContainsKeyGetOrDefault() {
+    return ImmutableMap.of(1, "foo").getOrDefault("bar", "baz");
+  }
+
+  void testMapMergeIntegerSum() {
+    Map<String, Integer> map = new HashMap<>();
+    map.merge("foo", 1, Integer::sum);
+  }
+
+  void testMapMergeLongSum() {
+    Map<String, Long> map = new HashMap<>();
+    map.merge("foo", 2L, Long::sum);
+  }
+
   ImmutableSet<Boolean> testMapIsEmpty() {
     return ImmutableSet.of(
         ImmutableMap.of("foo", 1).isEmpty(),
@@ -27,6 +27,16 @@ final class OptionalRulesTest implements RefasterRuleCollectionTestCase {
     return ImmutableSet.of(!Optional.empty().isEmpty(), !Optional.of("foo").isEmpty());
   }
 
+  ImmutableSet<Boolean> testOptionalOfNullableIsEmpty() {
+    return ImmutableSet.of(
+        Optional.ofNullable(toString()).isEmpty(), Optional.ofNullable(getClass()).isEmpty());
+  }
+
+  ImmutableSet<Boolean> testOptionalOfNullableIsPresent() {
+    return ImmutableSet.of(
+        Optional.ofNullable(toString()).isPresent(), Optional.ofNullable(getClass()).isPresent());
+  }
+
   String testOptionalOrElseThrow() {
     return Optional.of("foo").get();
   }
@@ -27,6 +27,14 @@ final class OptionalRulesTest implements RefasterRuleCollectionTestCase {
     return ImmutableSet.of(Optional.empty().isPresent(), Optional.of("foo").isPresent());
   }
 
+  ImmutableSet<Boolean> testOptionalOfNullableIsEmpty() {
+    return ImmutableSet.of(toString() == null, getClass() == null);
+  }
+
+  ImmutableSet<Boolean> testOptionalOfNullableIsPresent() {
+    return ImmutableSet.of(toString() != null, getClass() != null);
+  }
+
   String testOptionalOrElseThrow() {
     return Optional.of("foo").orElseThrow();
   }
@@ -0,0 +1,21 @@
+package tech.picnic.errorprone.refaster.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that the annotated code is performance-critical.
+ *
+ * <p>Checks and Refaster rules may hold code inside a hot path to a higher standard, for example by
+ * reporting avoidable allocations with a higher severity, or by suggesting rewrites that trade some
+ * readability for efficiency. An annotation on a class applies to all methods and nested classes
+ * declared in it, while an annotation on a package applies to all classes in that package (but not
+ * to classes in subpackages).
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.CONSTRUCTOR, ElementType.METHOD, ElementType.PACKAGE, ElementType.TYPE})
+public @interface HotPath {}
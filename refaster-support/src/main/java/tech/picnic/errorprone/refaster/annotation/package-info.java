@@ -1,7 +1,7 @@
 /**
  * A collection of annotations that can be placed on Refaster rule classes and Refaster rule
  * collection classes, thus influencing the way in which associated rule matches are reported in
- * non-patch mode.
+ * non-patch mode, as well as annotations that influence how rules treat the annotated code.
  */
 @com.google.errorprone.annotations.CheckReturnValue
 @org.jspecify.annotations.NullMarked
@@ -0,0 +1,61 @@
+package tech.picnic.errorprone.refaster.matchers;
+
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.util.ASTHelpers;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.PackageSymbol;
+import org.jspecify.annotations.Nullable;
+import tech.picnic.errorprone.refaster.annotation.HotPath;
+
+/**
+ * A matcher of trees located inside code that is marked as performance-critical using {@link
+ * HotPath}.
+ *
+ * <p>The matched tree itself is not inspected; instead the {@link VisitorState#getPath() current
+ * path} is used to identify the enclosing method or class, which is considered hot if it, any of
+ * its enclosing elements or its package is annotated with {@link HotPath}.
+ */
+public final class IsInHotPath implements Matcher<Tree> {
+  private static final long serialVersionUID = 1L;
+  private static final String HOT_PATH = HotPath.class.getCanonicalName();
+
+  /** Instantiates a new {@link IsInHotPath} instance. */
+  public IsInHotPath() {}
+
+  @Override
+  public boolean matches(Tree tree, VisitorState state) {
+    TreePath path = state.getPath();
+    if (path == null) {
+      return false;
+    }
+
+    for (Tree enclosing : path) {
+      if (enclosing instanceof MethodTree) {
+        return isHot(ASTHelpers.getSymbol((MethodTree) enclosing), state);
+      }
+      if (enclosing instanceof ClassTree) {
+        return isHot(ASTHelpers.getSymbol((ClassTree) enclosing), state);
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean isHot(@Nullable Symbol symbol, VisitorState state) {
+    if (symbol == null) {
+      return false;
+    }
+
+    if (ASTHelpers.hasAnnotation(symbol, HOT_PATH, state)) {
+      return true;
+    }
+
+    /* Annotations on a package do not apply to its subpackages. */
+    return !(symbol instanceof PackageSymbol) && isHot(symbol.owner, state);
+  }
+}
@@ -0,0 +1,111 @@
+package tech.picnic.errorprone.refaster.matchers;
+
+import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
+
+import com.google.errorprone.BugPattern;
+import com.google.errorprone.CompilationTestHelper;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.sun.source.tree.ReturnTree;
+import org.junit.jupiter.api.Test;
+
+final class IsInHotPathTest {
+  @Test
+  void matches() {
+    CompilationTestHelper.newInstance(MatcherTestChecker.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "import java.util.function.Supplier;",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;",
+            "",
+            "class A {",
+            "  String negative1() {",
+            "    return toString();",
+            "  }",
+            "",
+            "  Supplier<String> negative2() {",
+            "    return () -> {",
+            "      return toString();",
+            "    };",
+            "  }",
+            "",
+            "  @HotPath",
+            "  String positive1() {",
+            "    // BUG: Diagnostic contains:",
+            "    return toString();",
+            "  }",
+            "",
+            "  @HotPath",
+            "  Supplier<String> positive2() {",
+            "    // BUG: Diagnostic contains:",
+            "    return () -> {",
+            "      // BUG: Diagnostic contains:",
+            "      return toString();",
+            "    };",
+            "  }",
+            "",
+            "  @HotPath",
+            "  Object positive3() {",
+            "    // BUG: Diagnostic contains:",
+            "    return new Object() {",
+            "      @Override",
+            "      public String toString() {",
+            "        // BUG: Diagnostic contains:",
+            "        return \"foo\";",
+            "      }",
+            "    };",
+            "  }",
+            "",
+            "  @HotPath",
+            "  static final class Nested {",
+            "    String positive4() {",
+            "      // BUG: Diagnostic contains:",
+            "      return toString();",
+            "    }",
+            "  }",
+            "}")
+        .addSourceLines(
+            "pkg/hot/package-info.java",
+            "@HotPath",
+            "package pkg.hot;",
+            "",
+            "import tech.picnic.errorprone.refaster.annotation.HotPath;")
+        .addSourceLines(
+            "pkg/hot/B.java",
+            "package pkg.hot;",
+            "",
+            "class B {",
+            "  String positive5() {",
+            "    // BUG: Diagnostic contains:",
+            "    return toString();",
+            "  }",
+            "}")
+        .addSourceLines(
+            "pkg/hot/sub/C.java",
+            "package pkg.hot.sub;",
+            "",
+            "class C {",
+            "  String negative3() {",
+            "    return toString();",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  /** A {@link BugChecker} that simply delegates to {@link IsInHotPath}. */
+  @BugPattern(
+      summary = "Flags return statement expressions matched by `IsInHotPath`",
+      severity = ERROR)
+  public static final class MatcherTestChecker extends AbstractMatcherTestChecker {
+    private static final long serialVersionUID = 1L;
+
+    // XXX: This is a false positive reported by Checkstyle. See
+    // https://github.com/checkstyle/checkstyle/issues/10161#issuecomment-1242732120.
+    @SuppressWarnings("RedundantModifier")
+    public MatcherTestChecker() {
+      super(
+          (expressionTree, state) ->
+              state.getPath().getParentPath().getLeaf() instanceof ReturnTree
+                  && new IsInHotPath().matches(expressionTree, state));
+    }
+  }
+}